@@ -16,22 +16,64 @@ java {
     }
 }
 
+val jmhVersion = "1.37"
+
+// DenseByteGrid's SIMD kernel uses the incubating Vector API; without the module it falls back to scalar code.
+// OffHeapGrid uses java.lang.foreign, which is a preview API in Java 21.
+val jvmFlags = listOf("--add-modules", "jdk.incubator.vector", "--enable-preview")
+
+tasks.withType<JavaCompile>().configureEach {
+    options.release.set(21)
+    options.compilerArgs.addAll(jvmFlags)
+}
+
+// Benchmarks live in src/jmh/java and see the main classes, including package-private ones
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
 dependencies {
     testImplementation(platform("org.junit:junit-bom:6.0.0-RC3"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testImplementation("org.junit.jupiter:junit-jupiter-params")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     testImplementation("org.assertj:assertj-core:3.27.5")
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:$jmhVersion")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
 }
 
 tasks.test {
     useJUnitPlatform()
+    jvmArgs(jvmFlags)
     testLogging {
         events("passed", "skipped", "failed")
         showStandardStreams = false
     }
 }
 
+// Run with: ./gradlew jmh [-Pjmh.includes=SoupBenchmark] [-Pjmh.args="-f 1 -wi 2"]
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks with the GC profiler."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    jvmArgs(jvmFlags)
+    val includes = providers.gradleProperty("jmh.includes").orElse(".*")
+    val extraArgs = providers.gradleProperty("jmh.args").orElse("")
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(includes.get(), "-prof", "gc", "-rf", "json",
+            "-rff", layout.buildDirectory.file("reports/jmh/results.json").get().asFile.path) +
+            extraArgs.get().split(" ").filter { it.isNotBlank() }
+    })
+    doFirst {
+        layout.buildDirectory.dir("reports/jmh").get().asFile.mkdirs()
+    }
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
     reports {
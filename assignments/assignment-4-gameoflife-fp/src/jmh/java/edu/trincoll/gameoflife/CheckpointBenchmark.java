@@ -0,0 +1,68 @@
+package edu.trincoll.gameoflife;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and restoring a 10<sup>8</sup>-cell board as a {@link Checkpoint}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CheckpointBenchmark {
+
+    private static final int SIZE = 10_000;
+
+    @Param({"0.01", "0.35"})
+    double density;
+
+    private Grid soup;
+    private Path directory;
+    private Path saved;
+    private Path scratch;
+
+    @Setup
+    public void setUp() throws IOException {
+        soup = Soups.random(SIZE, SIZE, density, 42L);
+        directory = Files.createTempDirectory("checkpoint-benchmark");
+        saved = directory.resolve("saved.ckpt");
+        scratch = directory.resolve("scratch.ckpt");
+        Checkpoint.save(soup, GameRules.conway(), saved);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(saved);
+        Files.deleteIfExists(scratch);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public Path save() throws IOException {
+        Checkpoint.save(soup, GameRules.conway(), scratch);
+        return scratch;
+    }
+
+    @Benchmark
+    public Checkpoint.Snapshot load() throws IOException {
+        return Checkpoint.load(saved);
+    }
+}
@@ -0,0 +1,64 @@
+package edu.trincoll.gameoflife;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+
+/**
+ * Small, well-known patterns from {@link Pattern}, where per-call overhead
+ * rather than cell throughput dominates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternBenchmark {
+
+    @Param({"BLOCK", "BLINKER", "BEACON", "PULSAR", "GLIDER", "LIGHTWEIGHT_SPACESHIP"})
+    Pattern pattern;
+
+    private final GameRules rules = GameRules.conway();
+    private final PatternDetector detector = new PatternDetector();
+    private final PatternTransformer transformer = new PatternTransformer();
+    private Grid grid;
+
+    @Setup
+    public void setUp() {
+        grid = pattern.toGrid();
+    }
+
+    @Benchmark
+    public Grid parse() {
+        return new Grid(pattern.getPattern());
+    }
+
+    @Benchmark
+    public Grid evolve() {
+        return grid.evolveWith(rules);
+    }
+
+    @Benchmark
+    public Optional<Integer> findPeriod() {
+        return detector.findPeriod(grid, rules, 20);
+    }
+
+    @Benchmark
+    public Grid rotate90() {
+        return transformer.rotate90(grid);
+    }
+
+    @Benchmark
+    public Grid canonicalForm() {
+        return CanonicalForm.of(grid);
+    }
+}
@@ -0,0 +1,87 @@
+package edu.trincoll.gameoflife;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grid operations on random soups of several sizes and densities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SoupBenchmark {
+
+    @Param({"64", "256", "1024"})
+    int size;
+
+    @Param({"0.1", "0.35", "0.6"})
+    double density;
+
+    private final GameRules rules = GameRules.conway();
+    private final GridAnalyzer analyzer = new GridAnalyzer();
+    private Grid soup;
+    private DenseByteGrid dense;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        soup = Soups.random(size, size, density, 42L);
+        text = soup.toString();
+        dense = DenseByteGrid.from(soup);
+    }
+
+    @Benchmark
+    public Grid evolve() {
+        return soup.evolveWith(rules);
+    }
+
+    /**
+     * Steps the byte-per-cell board in place; the soup keeps evolving across invocations.
+     */
+    @Benchmark
+    public int evolveDense() {
+        dense.step(rules);
+        return dense.countLiveCells();
+    }
+
+    /**
+     * A range-5 rule, whose cost per cell should match range 1.
+     */
+    @Benchmark
+    public Grid evolveLargerThanLife() {
+        return LargerThanLife.evolve(soup, LargerThanLifeRule.BOSCO);
+    }
+
+    @Benchmark
+    public Grid parse() {
+        return new Grid(text);
+    }
+
+    @Benchmark
+    public void countLiveNeighbors(Blackhole blackhole) {
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                blackhole.consume(soup.countLiveNeighbors(Cell.of(row, col)));
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<Integer, List<Cell>> groupByNeighborCount() {
+        return analyzer.groupByNeighborCount(soup);
+    }
+}
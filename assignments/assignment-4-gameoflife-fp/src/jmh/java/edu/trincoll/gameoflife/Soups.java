@@ -0,0 +1,25 @@
+package edu.trincoll.gameoflife;
+
+import java.util.SplittableRandom;
+
+/**
+ * Reproducible random soups shared by the benchmarks.
+ */
+final class Soups {
+
+    private Soups() {
+    }
+
+    static Grid random(int rows, int cols, double density, long seed) {
+        var random = new SplittableRandom(seed);
+        var grid = new Grid(rows, cols);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (random.nextDouble() < density) {
+                    grid.setCellState(Cell.of(row, col), CellState.ALIVE);
+                }
+            }
+        }
+        return grid;
+    }
+}
@@ -0,0 +1,310 @@
+package edu.trincoll.gameoflife;
+
+/**
+ * Word-parallel Life kernel shared by the bit-packed engines.
+ * <p>
+ * Each {@code long} holds 64 horizontally adjacent cells, with column {@code c}
+ * stored in bit {@code c & 63} of word {@code c >>> 6}. The eight neighbours of
+ * every cell in a word are summed with bit-sliced full adders into four count
+ * planes, so one pass over a word evaluates 64 cells at once.
+ */
+final class BitKernel {
+
+    private BitKernel() {
+    }
+
+    /**
+     * Shifts a word so that every bit lines up with its western neighbour
+     * (column - 1), pulling the top bit of the previous word in at bit 0.
+     */
+    static long west(long word, long previous) {
+        return (word << 1) | (previous >>> 63);
+    }
+
+    /**
+     * Shifts a word so that every bit lines up with its eastern neighbour
+     * (column + 1), pulling the low bit of the next word in at bit 63.
+     */
+    static long east(long word, long next) {
+        return (word >>> 1) | (next << 63);
+    }
+
+    /**
+     * Computes the next state of 64 cells from their eight aligned neighbour words.
+     *
+     * @param birth bit {@code n} set if a dead cell with {@code n} neighbours is born
+     * @param survival bit {@code n} set if a live cell with {@code n} neighbours survives
+     */
+    static long evolve(long nw, long n, long ne,
+                       long w, long center, long e,
+                       long sw, long s, long se,
+                       int birth, int survival) {
+        // First layer: three adders reduce the eight inputs to weight-1 and weight-2 bits
+        long x1 = nw ^ n;
+        long sumA = x1 ^ ne;
+        long carryA = (nw & n) | (ne & x1);
+        long x2 = w ^ e;
+        long sumB = x2 ^ sw;
+        long carryB = (w & e) | (sw & x2);
+        long sumC = s ^ se;
+        long carryC = s & se;
+
+        // Weight 1
+        long x3 = sumA ^ sumB;
+        long bit0 = x3 ^ sumC;
+        long carryD = (sumA & sumB) | (sumC & x3);
+
+        // Weight 2: carryA + carryB + carryC + carryD
+        long x4 = carryA ^ carryB;
+        long partial = x4 ^ carryC;
+        long carryE = (carryA & carryB) | (carryC & x4);
+        long bit1 = partial ^ carryD;
+        long carryF = partial & carryD;
+
+        // Weight 4 and 8
+        long bit2 = carryE ^ carryF;
+        long bit3 = carryE & carryF;
+
+        return applyRule(center, bit0, bit1, bit2, bit3, birth, survival);
+    }
+
+    /**
+     * Applies birth and survival masks to bit-sliced neighbour counts.
+     * Births on zero neighbours are never applied, matching the original sparse
+     * evaluation which only ever considered live cells and their neighbours.
+     */
+    static long applyRule(long alive, long bit0, long bit1, long bit2, long bit3,
+                          int birth, int survival) {
+        long result = 0L;
+        int masks = (birth & ~1) | survival;
+        for (int count = 0; count <= 8; count++) {
+            if ((masks & (1 << count)) == 0) {
+                continue;
+            }
+            long equal = ((count & 1) != 0 ? bit0 : ~bit0)
+                & ((count & 2) != 0 ? bit1 : ~bit1)
+                & ((count & 4) != 0 ? bit2 : ~bit2)
+                & ((count & 8) != 0 ? bit3 : ~bit3);
+            long eligible = 0L;
+            if (count != 0 && (birth & (1 << count)) != 0) {
+                eligible |= ~alive;
+            }
+            if ((survival & (1 << count)) != 0) {
+                eligible |= alive;
+            }
+            result |= equal & eligible;
+        }
+        return result;
+    }
+
+    /**
+     * Steps one row of a row-major packed board.
+     *
+     * @param src source words
+     * @param aboveOffset offset of the row above, or -1 if there is none
+     * @param rowOffset offset of the row being stepped
+     * @param belowOffset offset of the row below, or -1 if there is none
+     * @param dst destination words
+     * @param dstOffset offset of the destination row
+     * @param words number of words per row
+     * @param lastMask mask of valid bits in the last word of the row
+     */
+    static void stepRow(long[] src, int aboveOffset, int rowOffset, int belowOffset,
+                        long[] dst, int dstOffset, int words, long lastMask,
+                        int birth, int survival) {
+        long abovePrev = 0L, rowPrev = 0L, belowPrev = 0L;
+        long above = aboveOffset < 0 ? 0L : src[aboveOffset];
+        long row = src[rowOffset];
+        long below = belowOffset < 0 ? 0L : src[belowOffset];
+
+        for (int i = 0; i < words; i++) {
+            boolean last = i == words - 1;
+            long aboveNext = last || aboveOffset < 0 ? 0L : src[aboveOffset + i + 1];
+            long rowNext = last ? 0L : src[rowOffset + i + 1];
+            long belowNext = last || belowOffset < 0 ? 0L : src[belowOffset + i + 1];
+
+            long next = evolve(
+                west(above, abovePrev), above, east(above, aboveNext),
+                west(row, rowPrev), row, east(row, rowNext),
+                west(below, belowPrev), below, east(below, belowNext),
+                birth, survival);
+            dst[dstOffset + i] = last ? next & lastMask : next;
+
+            abovePrev = above;
+            rowPrev = row;
+            belowPrev = below;
+            above = aboveNext;
+            row = rowNext;
+            below = belowNext;
+        }
+    }
+
+    /**
+     * Steps one row of a board whose left and right edges are joined. Each of
+     * the three source rows takes the cells beyond its edges from a halo row:
+     * the row itself on a torus, its mirror image on a Klein bottle. A halo
+     * offset of -1 leaves that row's edges hard.
+     *
+     * @param aboveHalo offset of the row wrapping around the row above, or -1
+     * @param rowHalo offset of the row wrapping around the stepped row, or -1
+     * @param belowHalo offset of the row wrapping around the row below, or -1
+     * @param cols number of cells per row
+     */
+    static void stepRowWrapped(long[] src, int aboveOffset, int rowOffset, int belowOffset,
+                               int aboveHalo, int rowHalo, int belowHalo,
+                               long[] dst, int dstOffset, int words, int cols,
+                               int birth, int survival) {
+        int lastBit = (cols - 1) & 63;
+        long lastMask = lastWordMask(cols);
+        long abovePrev = wrapWest(src, aboveHalo, words, lastBit);
+        long rowPrev = wrapWest(src, rowHalo, words, lastBit);
+        long belowPrev = wrapWest(src, belowHalo, words, lastBit);
+        long aboveWrap = wrapEast(src, aboveHalo, lastBit);
+        long rowWrap = wrapEast(src, rowHalo, lastBit);
+        long belowWrap = wrapEast(src, belowHalo, lastBit);
+        long above = aboveOffset < 0 ? 0L : src[aboveOffset];
+        long row = src[rowOffset];
+        long below = belowOffset < 0 ? 0L : src[belowOffset];
+
+        for (int i = 0; i < words; i++) {
+            boolean last = i == words - 1;
+            long aboveNext = last || aboveOffset < 0 ? 0L : src[aboveOffset + i + 1];
+            long rowNext = last ? 0L : src[rowOffset + i + 1];
+            long belowNext = last || belowOffset < 0 ? 0L : src[belowOffset + i + 1];
+
+            long next = evolve(
+                west(above, abovePrev), above, east(above, aboveNext) | (last ? aboveWrap : 0L),
+                west(row, rowPrev), row, east(row, rowNext) | (last ? rowWrap : 0L),
+                west(below, belowPrev), below, east(below, belowNext) | (last ? belowWrap : 0L),
+                birth, survival);
+            dst[dstOffset + i] = last ? next & lastMask : next;
+
+            abovePrev = above;
+            rowPrev = row;
+            belowPrev = below;
+            above = aboveNext;
+            row = rowNext;
+            below = belowNext;
+        }
+    }
+
+    /**
+     * Steps rows {@code [fromRow, toRow)} of a hard-edged packed board.
+     *
+     * @return the number of live cells written to the destination rows
+     */
+    static int stepRows(long[] src, long[] dst, int rows, int words, long lastMask,
+                        int fromRow, int toRow, int birth, int survival) {
+        int population = 0;
+        for (int row = fromRow; row < toRow; row++) {
+            int offset = row * words;
+            stepRow(src,
+                row > 0 ? offset - words : -1,
+                offset,
+                row < rows - 1 ? offset + words : -1,
+                dst, offset, words, lastMask, birth, survival);
+            population += bitCount(dst, offset, words);
+        }
+        return population;
+    }
+
+    /**
+     * Writes the bit-sliced neighbour counts of one row of a hard-edged packed
+     * board: bit {@code k} of {@code planes[k]} is weight {@code 2^k} of the count.
+     * The sum uses the same adders as {@link #evolve}; bits past the last column
+     * are cleared. Halo offsets join the left and right edges as in
+     * {@link #stepRowWrapped}; pass -1 for hard edges.
+     *
+     * @param planes four destination planes laid out like the board
+     */
+    static void countRow(long[] src, int aboveOffset, int rowOffset, int belowOffset,
+                         int aboveHalo, int rowHalo, int belowHalo,
+                         long[][] planes, int words, int cols) {
+        int lastBit = (cols - 1) & 63;
+        long lastMask = lastWordMask(cols);
+        long abovePrev = wrapWest(src, aboveHalo, words, lastBit);
+        long rowPrev = wrapWest(src, rowHalo, words, lastBit);
+        long belowPrev = wrapWest(src, belowHalo, words, lastBit);
+        long aboveWrap = wrapEast(src, aboveHalo, lastBit);
+        long rowWrap = wrapEast(src, rowHalo, lastBit);
+        long belowWrap = wrapEast(src, belowHalo, lastBit);
+        long above = aboveOffset < 0 ? 0L : src[aboveOffset];
+        long row = src[rowOffset];
+        long below = belowOffset < 0 ? 0L : src[belowOffset];
+
+        for (int i = 0; i < words; i++) {
+            boolean last = i == words - 1;
+            long aboveNext = last || aboveOffset < 0 ? 0L : src[aboveOffset + i + 1];
+            long rowNext = last ? 0L : src[rowOffset + i + 1];
+            long belowNext = last || belowOffset < 0 ? 0L : src[belowOffset + i + 1];
+
+            long nw = west(above, abovePrev), ne = east(above, aboveNext) | (last ? aboveWrap : 0L);
+            long w = west(row, rowPrev), e = east(row, rowNext) | (last ? rowWrap : 0L);
+            long sw = west(below, belowPrev), se = east(below, belowNext) | (last ? belowWrap : 0L);
+
+            long x1 = nw ^ above;
+            long sumA = x1 ^ ne;
+            long carryA = (nw & above) | (ne & x1);
+            long x2 = w ^ e;
+            long sumB = x2 ^ sw;
+            long carryB = (w & e) | (sw & x2);
+            long sumC = below ^ se;
+            long carryC = below & se;
+            long x3 = sumA ^ sumB;
+            long carryD = (sumA & sumB) | (sumC & x3);
+            long x4 = carryA ^ carryB;
+            long partial = x4 ^ carryC;
+            long carryE = (carryA & carryB) | (carryC & x4);
+            long carryF = partial & carryD;
+
+            long mask = last ? lastMask : -1L;
+            planes[0][rowOffset + i] = (x3 ^ sumC) & mask;
+            planes[1][rowOffset + i] = (partial ^ carryD) & mask;
+            planes[2][rowOffset + i] = (carryE ^ carryF) & mask;
+            planes[3][rowOffset + i] = carryE & carryF & mask;
+
+            abovePrev = above;
+            rowPrev = row;
+            belowPrev = below;
+            above = aboveNext;
+            row = rowNext;
+            below = belowNext;
+        }
+    }
+
+    /**
+     * Returns the word to the west of a row's first word when the row wraps:
+     * the halo row's last cell in bit 63, or nothing for a hard edge.
+     */
+    private static long wrapWest(long[] src, int haloOffset, int words, int lastBit) {
+        return haloOffset < 0 ? 0L : ((src[haloOffset + words - 1] >>> lastBit) & 1L) << 63;
+    }
+
+    /**
+     * Returns the halo row's first cell moved to the last column's bit, which is
+     * the eastern neighbour of the last cell when the row wraps.
+     */
+    private static long wrapEast(long[] src, int haloOffset, int lastBit) {
+        return haloOffset < 0 ? 0L : (src[haloOffset] & 1L) << lastBit;
+    }
+
+    static int bitCount(long[] words, int offset, int length) {
+        int count = 0;
+        for (int i = offset; i < offset + length; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the mask of valid bits in the last word of a row of {@code cols} cells.
+     */
+    static long lastWordMask(int cols) {
+        int remainder = cols & 63;
+        return remainder == 0 ? -1L : (1L << remainder) - 1;
+    }
+
+    static int wordsFor(int cols) {
+        return (cols + 63) >>> 6;
+    }
+}
@@ -0,0 +1,61 @@
+package edu.trincoll.gameoflife;
+
+/**
+ * Word-level operations on rows of packed cells, shared by the transforms.
+ * Rows use {@link Grid}'s layout: column {@code c} is bit {@code c & 63} of
+ * word {@code c >>> 6}.
+ */
+final class BitMatrix {
+
+    private BitMatrix() {
+    }
+
+    /**
+     * Transposes a 64x64 bit matrix in place, where bit {@code j} of word
+     * {@code i} is element (i, j). Each round swaps the off-diagonal blocks of
+     * every 2j x 2j block with masked XORs, halving j from 32 to 1.
+     */
+    static void transpose64(long[] block) {
+        long mask = 0x0000_0000_FFFF_FFFFL;
+        for (int j = 32; j != 0; j >>>= 1, mask ^= mask << j) {
+            for (int k = 0; k < 64; k = ((k | j) + 1) & ~j) {
+                long swap = ((block[k] >>> j) ^ block[k | j]) & mask;
+                block[k] ^= swap << j;
+                block[k | j] ^= swap;
+            }
+        }
+    }
+
+    /**
+     * Copies a row shifted by {@code shift} columns (positive moves cells to
+     * higher columns) into a destination row; cells shifted outside the
+     * destination's words are dropped, vacated columns are dead.
+     */
+    static void shiftRow(long[] src, int srcOffset, int srcWords,
+                         long[] dst, int dstOffset, int dstWords, int shift) {
+        int wordShift = shift >> 6;
+        int bitShift = shift & 63;
+        for (int i = 0; i < dstWords; i++) {
+            int s = i - wordShift;
+            long word = s >= 0 && s < srcWords ? src[srcOffset + s] : 0L;
+            if (bitShift != 0) {
+                long lower = s - 1 >= 0 && s - 1 < srcWords ? src[srcOffset + s - 1] : 0L;
+                word = (word << bitShift) | (lower >>> (64 - bitShift));
+            }
+            dst[dstOffset + i] = word;
+        }
+    }
+
+    /**
+     * Writes a row of {@code cols} cells mirrored left to right: every word is
+     * bit-reversed, the word order is reversed, and the result is shifted down
+     * past the padding that followed the last column.
+     */
+    static void reverseRow(long[] src, int srcOffset, long[] dst, int dstOffset, int words, int cols,
+                           long[] scratch) {
+        for (int i = 0; i < words; i++) {
+            scratch[i] = Long.reverse(src[srcOffset + words - 1 - i]);
+        }
+        shiftRow(scratch, 0, words, dst, dstOffset, words, cols - (words << 6));
+    }
+}
@@ -0,0 +1,43 @@
+package edu.trincoll.gameoflife;
+
+/**
+ * Inclusive rectangle enclosing the live cells of a pattern.
+ * Coordinates are {@code long} because unbounded engines can carry patterns far
+ * beyond the range of {@link Cell}.
+ */
+public record BoundingBox(long minRow, long minCol, long maxRow, long maxCol) {
+
+    public BoundingBox {
+        if (minRow > maxRow || minCol > maxCol) {
+            throw new IllegalArgumentException(
+                "Empty bounding box: rows %d..%d, cols %d..%d".formatted(minRow, maxRow, minCol, maxCol)
+            );
+        }
+    }
+
+    public long height() {
+        return maxRow - minRow + 1;
+    }
+
+    public long width() {
+        return maxCol - minCol + 1;
+    }
+
+    public long area() {
+        return height() * width();
+    }
+
+    public boolean contains(long row, long col) {
+        return row >= minRow && row <= maxRow && col >= minCol && col <= maxCol;
+    }
+
+    /**
+     * Returns the smallest box enclosing both this box and the given one.
+     */
+    public BoundingBox union(BoundingBox other) {
+        return new BoundingBox(
+            Math.min(minRow, other.minRow), Math.min(minCol, other.minCol),
+            Math.max(maxRow, other.maxRow), Math.max(maxCol, other.maxCol)
+        );
+    }
+}
@@ -0,0 +1,61 @@
+package edu.trincoll.gameoflife;
+
+import java.util.Arrays;
+
+/**
+ * Reduces a pattern to a representative shared by all its translations,
+ * rotations and reflections.
+ * <p>
+ * The pattern is cropped to its bounding box, then each of the eight symmetries
+ * of the square (four rotations, with and without a horizontal flip) is built
+ * with {@link PatternTransformer} on packed bits. The smallest one by
+ * dimensions and then by unsigned word order is the canonical form, so two
+ * grids hold the same shape exactly when their canonical forms are equal.
+ */
+public final class CanonicalForm {
+
+    private static final PatternTransformer TRANSFORMER = new PatternTransformer();
+    private static final Grid EMPTY = new Grid(1, 1);
+
+    private CanonicalForm() {
+    }
+
+    /**
+     * Returns the canonical form of a grid's live cells; an empty grid maps to an empty 1x1 grid.
+     */
+    public static Grid of(Grid grid) {
+        var box = grid.boundingBox();
+        if (box.isEmpty()) {
+            return EMPTY.copy();
+        }
+        var cropped = TRANSFORMER.crop(grid, box.get());
+        var best = cropped;
+        var flipped = TRANSFORMER.flipHorizontal(cropped);
+        var rotated = cropped;
+        for (int turn = 0; turn < 4; turn++) {
+            if (turn > 0) {
+                rotated = TRANSFORMER.rotate90(rotated);
+                flipped = TRANSFORMER.rotate90(flipped);
+            }
+            if (compare(rotated, best) < 0) {
+                best = rotated;
+            }
+            if (compare(flipped, best) < 0) {
+                best = flipped;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Orders grids by rows, then columns, then packed words as unsigned values.
+     */
+    static int compare(Grid a, Grid b) {
+        int byRows = Integer.compare(a.getRows(), b.getRows());
+        if (byRows != 0) {
+            return byRows;
+        }
+        int byCols = Integer.compare(a.getCols(), b.getCols());
+        return byCols != 0 ? byCols : Arrays.compareUnsigned(a.words(), b.words());
+    }
+}
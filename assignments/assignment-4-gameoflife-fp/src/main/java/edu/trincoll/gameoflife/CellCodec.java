@@ -0,0 +1,100 @@
+package edu.trincoll.gameoflife;
+
+import java.util.Arrays;
+
+/**
+ * Compact byte encoding of lists of packed cells (see {@link CellKey}).
+ * <p>
+ * Each list is sorted and written as its length followed by the gaps between
+ * consecutive keys, every number as a little-endian base-128 varint. Cells of a
+ * pattern cluster in rows, so most gaps fit in one or two bytes instead of the
+ * eight a raw {@code long} takes. The first key is zigzag-encoded because
+ * packed keys of negative rows are negative.
+ */
+final class CellCodec {
+
+    private CellCodec() {
+    }
+
+    /**
+     * Encodes several lists one after another; the arrays are not modified.
+     */
+    static byte[] encode(long[]... lists) {
+        int capacity = 0;
+        for (long[] list : lists) {
+            capacity += 10 * (list.length + 1);
+        }
+        var out = new Output(capacity);
+        for (long[] list : lists) {
+            long[] sorted = list.clone();
+            Arrays.sort(sorted);
+            out.write(sorted.length);
+            long previous = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                out.write(i == 0 ? (sorted[0] << 1) ^ (sorted[0] >> 63) : sorted[i] - previous);
+                previous = sorted[i];
+            }
+        }
+        return out.toArray();
+    }
+
+    /**
+     * Decodes {@code count} lists written by {@link #encode}, each in sorted order.
+     */
+    static long[][] decode(byte[] data, int count) {
+        var in = new Input(data);
+        long[][] lists = new long[count][];
+        for (int n = 0; n < count; n++) {
+            long[] list = new long[Math.toIntExact(in.read())];
+            long previous = 0;
+            for (int i = 0; i < list.length; i++) {
+                long value = in.read();
+                previous = i == 0 ? (value >>> 1) ^ -(value & 1) : previous + value;
+                list[i] = previous;
+            }
+            lists[n] = list;
+        }
+        return lists;
+    }
+
+    private static final class Output {
+        private final byte[] bytes;
+        private int size;
+
+        Output(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        void write(long value) {
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        byte[] toArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    private static final class Input {
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long read() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+    }
+}
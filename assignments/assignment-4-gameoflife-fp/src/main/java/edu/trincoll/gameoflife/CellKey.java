@@ -0,0 +1,49 @@
+package edu.trincoll.gameoflife;
+
+/**
+ * Packs a (row, col) coordinate into a single {@code long}: the row in the high
+ * 32 bits and the column in the low 32 bits. Used as the key of the primitive
+ * collections so the unbounded engines never allocate a {@link Cell} per cell.
+ */
+final class CellKey {
+
+    private CellKey() {
+    }
+
+    static long pack(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFF_FFFFL);
+    }
+
+    static long of(Cell cell) {
+        return pack(cell.row(), cell.col());
+    }
+
+    static int row(long key) {
+        return (int) (key >> 32);
+    }
+
+    static int col(long key) {
+        return (int) key;
+    }
+
+    static Cell toCell(long key) {
+        return Cell.of(row(key), col(key));
+    }
+
+    /**
+     * Offsets a packed coordinate. Rows and columns wrap independently at the
+     * {@code int} range.
+     */
+    static long translate(long key, int rowDelta, int colDelta) {
+        return pack(row(key) + rowDelta, col(key) + colDelta);
+    }
+
+    /**
+     * Scrambles a key for open addressing (Stafford's mix13 finaliser).
+     */
+    static long mix(long key) {
+        key = (key ^ (key >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+        key = (key ^ (key >>> 27)) * 0x94D0_49BB_1331_11EBL;
+        return key ^ (key >>> 31);
+    }
+}
@@ -0,0 +1,368 @@
+package edu.trincoll.gameoflife;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Saves and restores the complete state of a run in a compact binary file.
+ * <p>
+ * A checkpoint holds the grid's size, topology, generation and packed cells,
+ * and the rule. For a {@link ProbabilisticRule} that includes its probabilities
+ * and its seed, so a resumed run makes the same draws it would have made. All
+ * values are little-endian:
+ * <pre>
+ * magic "LIFE", version (short)
+ * rows, cols (int), topology (byte), generation, population (long)
+ * rule kind (byte), birth mask, survival mask (short)
+ *   probabilistic only: survival and birth probability (double), seed (long)
+ * cells: until rows * wordsPerRow words are filled, a count of zero words (int),
+ *   a count of literal words (int) and those words (long), in {@link Grid}'s layout
+ * CRC-32C of everything before it (int)
+ * </pre>
+ * The cells are run-length encoded a word at a time, so empty space costs a few
+ * bytes per run and dense soups stay close to one bit per cell. A zero run
+ * covers at most {@code 65536} words, so a header can never claim more words
+ * than the file could hold, and a damaged header is rejected before any cells
+ * are allocated. The words are copied to and from the file through a direct
+ * buffer with no per-cell work.
+ * A checkpoint is first written beside its target and then moved into place,
+ * so a crash while saving leaves the previous checkpoint intact. The checksum
+ * catches a file damaged in any other way.
+ */
+public final class Checkpoint {
+
+    /**
+     * Format version written by this class; older versions stay readable.
+     */
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'L', 'I', 'F', 'E'};
+    private static final byte DETERMINISTIC = 0;
+    private static final byte PROBABILISTIC = 1;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int CHECKSUM_BYTES = Integer.BYTES;
+    private static final int HEADER_BYTES = 128;
+    private static final int MAX_ZERO_RUN = 1 << 16;
+
+    /**
+     * A restored run.
+     *
+     * @param grid The grid, at its saved generation
+     * @param rules A {@link LifeRule}, or the {@link ProbabilisticRule} the run used
+     */
+    public record Snapshot(Grid grid, GameRules rules) {
+    }
+
+    private Checkpoint() {
+    }
+
+    /**
+     * Writes a checkpoint, replacing any file at {@code path} only once it is complete.
+     *
+     * @param grid Grid to save, including its generation and topology
+     * @param rules A probabilistic rule or any deterministic rules, which are saved compiled
+     * @param path Destination file
+     */
+    public static void save(Grid grid, GameRules rules, Path path) throws IOException {
+        var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (var channel = FileChannel.open(temporary,
+                    StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                var out = new Output(channel);
+                writeHeader(out, grid, rules);
+                writeCells(out, grid.words());
+                out.finish();
+                channel.force(false);
+            }
+            try {
+                Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a checkpoint.
+     *
+     * @throws IllegalArgumentException if the file is not a checkpoint, comes from a
+     *     newer version, or is damaged
+     */
+    public static Snapshot load(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < MAGIC.length + Short.BYTES + CHECKSUM_BYTES) {
+                throw new IllegalArgumentException("Not a checkpoint: " + path);
+            }
+            var in = new Input(channel, channel.size() - CHECKSUM_BYTES);
+            for (byte b : MAGIC) {
+                if (in.get() != b) {
+                    throw new IllegalArgumentException("Not a checkpoint: " + path);
+                }
+            }
+            int version = in.getShort();
+            if (version < 1 || version > VERSION) {
+                throw new IllegalArgumentException("Unsupported checkpoint version " + version + ": " + path);
+            }
+            int rows = in.getInt();
+            int cols = in.getInt();
+            int topology = in.get();
+            long generation = in.getLong();
+            long population = in.getLong();
+            if (rows <= 0 || cols <= 0 || topology < 0 || topology >= Topology.values().length) {
+                throw new IllegalArgumentException("Damaged checkpoint header: " + path);
+            }
+            var rules = readRules(in);
+            int wordCount;
+            try {
+                wordCount = Math.multiplyExact(rows, BitKernel.wordsFor(cols));
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Damaged checkpoint header: " + path, e);
+            }
+            // Each eight bytes of cells hold at most one literal word or one capped zero run
+            if (wordCount > channel.size() / Long.BYTES * MAX_ZERO_RUN) {
+                throw new IllegalArgumentException("Damaged checkpoint header: " + path);
+            }
+            long[] words = new long[wordCount];
+            readCells(in, words);
+            in.verify(path);
+
+            int counted = BitKernel.bitCount(words, 0, words.length);
+            if (counted != population) {
+                throw new IllegalArgumentException("Damaged checkpoint cells: " + path);
+            }
+            var grid = new Grid(rows, cols, Topology.values()[topology], generation, words, counted);
+            return new Snapshot(grid, rules);
+        }
+    }
+
+    private static void writeHeader(Output out, Grid grid, GameRules rules) throws IOException {
+        var buffer = out.reserve(HEADER_BYTES);
+        buffer.put(MAGIC);
+        buffer.putShort((short) VERSION);
+        buffer.putInt(grid.getRows());
+        buffer.putInt(grid.getCols());
+        buffer.put((byte) grid.getTopology().ordinal());
+        buffer.putLong(grid.getGeneration());
+        buffer.putLong(grid.countLiveCells());
+        if (rules instanceof ProbabilisticRule random) {
+            buffer.put(PROBABILISTIC);
+            buffer.putShort((short) random.base().birthMask());
+            buffer.putShort((short) random.base().survivalMask());
+            buffer.putDouble(random.survivalProbability());
+            buffer.putDouble(random.birthProbability());
+            buffer.putLong(random.seed());
+        } else {
+            var rule = LifeRule.compile(rules);
+            buffer.put(DETERMINISTIC);
+            buffer.putShort((short) rule.birthMask());
+            buffer.putShort((short) rule.survivalMask());
+        }
+    }
+
+    private static GameRules readRules(Input in) throws IOException {
+        byte kind = in.get();
+        var rule = new LifeRule(in.getShort(), in.getShort());
+        return switch (kind) {
+            case DETERMINISTIC -> rule;
+            case PROBABILISTIC -> ProbabilisticRule.restore(rule, in.getDouble(), in.getDouble(), in.getLong());
+            default -> throw new IllegalArgumentException("Unknown rule kind in checkpoint: " + kind);
+        };
+    }
+
+    /**
+     * Encodes the words as alternating runs of zero words and literal words.
+     */
+    private static void writeCells(Output out, long[] words) throws IOException {
+        int i = 0;
+        while (i < words.length) {
+            int zeros = i;
+            while (zeros < words.length && words[zeros] == 0 && zeros - i < MAX_ZERO_RUN) {
+                zeros++;
+            }
+            int literals = zeros;
+            // A single zero word between literals is cheaper to copy than to end the run for
+            while (literals < words.length
+                    && (words[literals] != 0 || literals + 1 < words.length && words[literals + 1] != 0)) {
+                literals++;
+            }
+            var buffer = out.reserve(2 * Integer.BYTES);
+            buffer.putInt(zeros - i);
+            buffer.putInt(literals - zeros);
+            out.putLongs(words, zeros, literals - zeros);
+            i = literals;
+        }
+    }
+
+    private static void readCells(Input in, long[] words) throws IOException {
+        int i = 0;
+        while (i < words.length) {
+            int zeros = in.getInt();
+            int literals = in.getInt();
+            if (zeros < 0 || zeros > MAX_ZERO_RUN || literals < 0 || (long) i + zeros + literals > words.length) {
+                throw new IllegalArgumentException("Damaged checkpoint cells");
+            }
+            i += zeros;
+            in.getLongs(words, i, literals);
+            i += literals;
+        }
+    }
+
+    /**
+     * Buffered output through one direct buffer, checksummed as it is written.
+     */
+    private static final class Output {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C checksum = new CRC32C();
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Returns the buffer with room for at least {@code bytes} more.
+         */
+        ByteBuffer reserve(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+            return buffer;
+        }
+
+        void putLongs(long[] words, int from, int count) throws IOException {
+            int end = from + count;
+            while (from < end) {
+                int n = Math.min(end - from, reserve(Long.BYTES).remaining() / Long.BYTES);
+                buffer.asLongBuffer().put(words, from, n);
+                buffer.position(buffer.position() + n * Long.BYTES);
+                from += n;
+            }
+        }
+
+        void finish() throws IOException {
+            flush();
+            buffer.putInt((int) checksum.getValue());
+            buffer.flip();
+            write();
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            checksum.update(buffer.duplicate());
+            write();
+        }
+
+        private void write() throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Buffered input through one direct buffer, stopping at the checksum and
+     * checksumming everything before it.
+     */
+    private static final class Input {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C checksum = new CRC32C();
+        private final long end;
+
+        Input(FileChannel channel, long end) {
+            this.channel = channel;
+            this.end = end;
+            buffer.flip();
+        }
+
+        byte get() throws IOException {
+            return require(Byte.BYTES).get();
+        }
+
+        short getShort() throws IOException {
+            return require(Short.BYTES).getShort();
+        }
+
+        int getInt() throws IOException {
+            return require(Integer.BYTES).getInt();
+        }
+
+        long getLong() throws IOException {
+            return require(Long.BYTES).getLong();
+        }
+
+        double getDouble() throws IOException {
+            return require(Double.BYTES).getDouble();
+        }
+
+        void getLongs(long[] words, int from, int count) throws IOException {
+            int end = from + count;
+            while (from < end) {
+                int n = Math.min(end - from, require(Long.BYTES).remaining() / Long.BYTES);
+                buffer.asLongBuffer().get(words, from, n);
+                buffer.position(buffer.position() + n * Long.BYTES);
+                from += n;
+            }
+        }
+
+        /**
+         * Checks that every byte before the checksum was read and that the checksum matches.
+         */
+        void verify(Path path) throws IOException {
+            if (buffer.hasRemaining() || channel.position() != end) {
+                throw new IllegalArgumentException("Unexpected data after checkpoint cells: " + path);
+            }
+            var stored = ByteBuffer.allocate(CHECKSUM_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (stored.hasRemaining()) {
+                if (channel.read(stored, end + stored.position()) < 0) {
+                    throw new IllegalArgumentException("Checkpoint is truncated: " + path);
+                }
+            }
+            if (stored.flip().getInt() != (int) checksum.getValue()) {
+                throw new IllegalArgumentException("Checkpoint checksum does not match: " + path);
+            }
+        }
+
+        /**
+         * Returns the buffer holding at least {@code bytes} unread bytes.
+         */
+        private ByteBuffer require(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return buffer;
+            }
+            buffer.compact();
+            long left = end - channel.position();
+            if (left < bytes - buffer.position()) {
+                throw new IllegalArgumentException("Checkpoint is truncated");
+            }
+            buffer.limit((int) Math.min(buffer.capacity(), buffer.position() + left));
+            int start = buffer.position();
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IllegalArgumentException("Checkpoint is truncated");
+                }
+            }
+            checksum.update(buffer.duplicate().flip().position(start));
+            buffer.flip();
+            return buffer;
+        }
+    }
+}
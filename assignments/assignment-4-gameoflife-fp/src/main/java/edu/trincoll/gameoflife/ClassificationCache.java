@@ -0,0 +1,167 @@
+package edu.trincoll.gameoflife;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded least-recently-used cache of pattern classifications.
+ * <p>
+ * Entries are keyed by the rule and the {@link CanonicalForm} of the pattern,
+ * so every translation, rotation and reflection of a shape shares one entry and
+ * is simulated only once. Besides the {@link PatternDetector.PatternType}, an
+ * entry holds the period and the heat (average number of cells that change per
+ * generation over one period).
+ * <p>
+ * Canonical forms are cropped shapes without edges, so only bounded grids, whose
+ * patterns are followed on an unbounded plane, are cached. A grid on a torus or
+ * Klein bottle evolves within its board and is always simulated.
+ * <p>
+ * The cache is safe to share between threads. Lookups lock briefly; the
+ * simulation on a miss runs outside the lock, so two threads may occasionally
+ * classify the same new shape at once.
+ */
+public final class ClassificationCache {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * How a pattern behaves; {@code period} and {@code heat} are 0 for
+     * {@link PatternDetector.PatternType#UNKNOWN}.
+     */
+    public record Classification(PatternDetector.PatternType type, int period, double heat) {
+    }
+
+    private record Key(int ruleMask, Grid shape) {
+    }
+
+    /**
+     * A classification and the generation budget it was computed with.
+     */
+    private record Entry(Classification classification, int budget) {
+
+        /**
+         * A found period is found again by any budget that covers it; an unknown
+         * result only holds for budgets no larger than the one that failed.
+         */
+        boolean answers(int generations) {
+            return classification.type() == PatternDetector.PatternType.UNKNOWN
+                ? generations <= budget
+                : classification.period() <= generations;
+        }
+    }
+
+    private final int capacity;
+    private final Map<Key, Entry> entries;
+    private final PatternDetector detector = new PatternDetector();
+    private final CycleDetector cycleDetector = new CycleDetector();
+    private long hits;
+    private long misses;
+
+    public ClassificationCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ClassificationCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > ClassificationCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Classifies a pattern, simulating it only if no symmetric copy of it has been
+     * classified under the same rule with a sufficient budget. Grids with joined
+     * edges bypass the cache.
+     *
+     * @param grid The pattern to classify
+     * @param rules The rules to apply
+     * @param generations How many generations to observe
+     * @return The classification, identical to an uncached one
+     */
+    public Classification classify(Grid grid, GameRules rules, int generations) {
+        var rule = LifeRule.compile(rules);
+        if (grid.getTopology() != Topology.BOUNDED) {
+            synchronized (this) {
+                misses++;
+            }
+            return compute(grid, rule, generations);
+        }
+        var key = new Key(rule.mask(), CanonicalForm.of(grid));
+        synchronized (this) {
+            var entry = entries.get(key);
+            if (entry != null && entry.answers(generations)) {
+                hits++;
+                return entry.classification();
+            }
+            misses++;
+        }
+        var classification = compute(key.shape(), rule, generations);
+        synchronized (this) {
+            entries.put(key, new Entry(classification, generations));
+        }
+        return classification;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private Classification compute(Grid shape, LifeRule rule, int generations) {
+        var period = detector.findPeriod(shape, rule, generations);
+        if (period.isPresent()) {
+            int p = period.get();
+            return new Classification(
+                p == 1 ? PatternDetector.PatternType.STILL_LIFE : PatternDetector.PatternType.OSCILLATOR,
+                p, heat(shape, rule, p));
+        }
+        return cycleDetector.detectSpaceship(shape, rule, generations)
+            .map(ship -> new Classification(
+                PatternDetector.PatternType.SPACESHIP, ship.period(), heat(shape, rule, ship.period())))
+            .orElse(new Classification(PatternDetector.PatternType.UNKNOWN, 0, 0.0));
+    }
+
+    /**
+     * Average number of births plus deaths per generation over one period.
+     */
+    private static double heat(Grid shape, LifeRule rule, int period) {
+        var current = SparseUniverse.from(shape);
+        long changes = 0;
+        for (int i = 0; i < period; i++) {
+            var next = current.evolveWith(rule);
+            var before = current.liveKeys();
+            var after = next.liveKeys();
+            long[] changed = {0};
+            before.forEach(key -> {
+                if (!after.contains(key)) {
+                    changed[0]++;
+                }
+            });
+            after.forEach(key -> {
+                if (!before.contains(key)) {
+                    changed[0]++;
+                }
+            });
+            changes += changed[0];
+            current = next;
+        }
+        return (double) changes / period;
+    }
+}
@@ -0,0 +1,174 @@
+package edu.trincoll.gameoflife;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Finds where the generations of a pattern start repeating.
+ * <p>
+ * {@link #detect(Grid, GameRules, int)} runs Brent's algorithm over the sequence
+ * of grids, comparing incrementally maintained {@link ZobristHash} values and
+ * only falling back to a full {@code equals} when two hashes match. It keeps two
+ * generations alive regardless of run length and finds both the transient
+ * (generations before the cycle starts) and the period. The same search runs
+ * over {@link SparseUniverse} generations for patterns on an unbounded plane.
+ * <p>
+ * {@link #detectSpaceship(Grid, GameRules, int)} follows the pattern on an
+ * unbounded {@link SparseUniverse} and compares translation-normalized hashes to
+ * recognise shapes that reappear displaced.
+ */
+public class CycleDetector {
+
+    /**
+     * A cycle reached after {@code transientLength} generations that repeats every
+     * {@code period} generations.
+     */
+    public record Cycle(int transientLength, int period) {
+    }
+
+    /**
+     * A pattern that reappears after {@code period} generations shifted by the
+     * given displacement.
+     */
+    public record Spaceship(int period, int rowDisplacement, int colDisplacement) {
+    }
+
+    /**
+     * Detects the eventual cycle of a grid.
+     *
+     * @param initial The starting grid
+     * @param rules The rules to apply
+     * @param maxGenerations Only cycles with transient + period within this many
+     *                       generations are reported
+     * @return The cycle, or empty if none was found within the budget
+     */
+    public Optional<Cycle> detect(Grid initial, GameRules rules, int maxGenerations) {
+        var rule = LifeRule.compile(rules);
+        return detect(new Tracked<>(initial, ZobristHash.of(initial)), tracked -> {
+            var next = tracked.state().evolveWith(rule);
+            return new Tracked<>(next, tracked.hash() ^ ZobristHash.delta(tracked.state(), next));
+        }, maxGenerations);
+    }
+
+    /**
+     * Detects the eventual cycle of a pattern on an unbounded plane. Sparse
+     * generations are hashed from scratch, which costs no more than stepping them.
+     *
+     * @param initial The starting pattern
+     * @param rules The rules to apply
+     * @param maxGenerations Only cycles with transient + period within this many
+     *                       generations are reported
+     * @return The cycle, or empty if none was found within the budget
+     */
+    public Optional<Cycle> detect(SparseUniverse initial, GameRules rules, int maxGenerations) {
+        var rule = LifeRule.compile(rules);
+        return detect(new Tracked<>(initial, ZobristHash.of(initial)), tracked -> {
+            var next = tracked.state().evolveWith(rule);
+            return new Tracked<>(next, ZobristHash.of(next));
+        }, maxGenerations);
+    }
+
+    private static <S> Optional<Cycle> detect(Tracked<S> start, UnaryOperator<Tracked<S>> step, int maxGenerations) {
+        if (maxGenerations <= 0) {
+            return Optional.empty();
+        }
+        int stepLimit = generationLimit(maxGenerations);
+
+        var tortoise = start;
+        var hare = step.apply(tortoise);
+        int steps = 1;
+        int power = 1;
+        int period = 1;
+        while (!tortoise.sameAs(hare)) {
+            if (power == period) {
+                tortoise = hare;
+                power <<= 1;
+                period = 0;
+            }
+            if (++steps > stepLimit) {
+                return Optional.empty();
+            }
+            hare = step.apply(hare);
+            period++;
+        }
+
+        // Find the transient: walk two pointers `period` generations apart from the start
+        tortoise = start;
+        hare = start;
+        for (int i = 0; i < period; i++) {
+            hare = step.apply(hare);
+        }
+        int transientLength = 0;
+        while (!tortoise.sameAs(hare)) {
+            tortoise = step.apply(tortoise);
+            hare = step.apply(hare);
+            transientLength++;
+        }
+
+        return (long) transientLength + period <= maxGenerations
+            ? Optional.of(new Cycle(transientLength, period))
+            : Optional.empty();
+    }
+
+    /**
+     * Returns the most generations {@link #detect} simulates past the start for a
+     * given budget. Brent's algorithm places the tortoise at a power of two no
+     * larger than twice the transient or period, and the hare then needs at most
+     * one more period to meet it.
+     */
+    static int generationLimit(int maxGenerations) {
+        return (int) Math.min(Integer.MAX_VALUE - 1, 3L * maxGenerations + 2);
+    }
+
+    /**
+     * Detects whether a pattern's shape reappears translated on an unbounded plane.
+     *
+     * @param initial The starting pattern
+     * @param rules The rules to apply
+     * @param maxGenerations Maximum generations to follow the pattern
+     * @return The spaceship's period and displacement, or empty if it never moves
+     */
+    public Optional<Spaceship> detectSpaceship(Grid initial, GameRules rules, int maxGenerations) {
+        var start = SparseUniverse.from(initial);
+        var startBox = start.boundingBox();
+        if (startBox.isEmpty()) {
+            return Optional.empty();
+        }
+        long startHash = ZobristHash.normalized(start);
+        var startShape = normalize(start, startBox.get());
+
+        var current = start;
+        for (int generation = 1; generation <= maxGenerations; generation++) {
+            current = current.evolveWith(rules);
+            if (current.countLiveCells() != start.countLiveCells()
+                    || ZobristHash.normalized(current) != startHash) {
+                continue;
+            }
+            var box = current.boundingBox().orElseThrow();
+            int rowShift = (int) (box.minRow() - startBox.get().minRow());
+            int colShift = (int) (box.minCol() - startBox.get().minCol());
+            if ((rowShift != 0 || colShift != 0) && normalize(current, box).equals(startShape)) {
+                return Optional.of(new Spaceship(generation, rowShift, colShift));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static SparseUniverse normalize(SparseUniverse universe, BoundingBox box) {
+        var normalized = new SparseUniverse();
+        universe.liveKeys().forEach(key -> normalized.setCellState(
+            Cell.of((int) (CellKey.row(key) - box.minRow()), (int) (CellKey.col(key) - box.minCol())),
+            CellState.ALIVE));
+        return normalized;
+    }
+
+    /**
+     * A generation paired with its Zobrist hash.
+     */
+    private record Tracked<S>(S state, long hash) {
+
+        boolean sameAs(Tracked<S> other) {
+            return hash == other.hash && state.equals(other.state);
+        }
+    }
+}
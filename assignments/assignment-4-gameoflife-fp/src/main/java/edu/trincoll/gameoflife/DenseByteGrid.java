@@ -0,0 +1,176 @@
+package edu.trincoll.gameoflife;
+
+/**
+ * A bounded board that stores one byte per cell for SIMD evolution.
+ * <p>
+ * Each row is padded with a dead cell on both sides and the board with a dead
+ * row above and below, so the eight neighbour sums of a whole vector of cells
+ * are eight unaligned loads and adds with no edge checks. When the JVM is
+ * started with {@code --add-modules jdk.incubator.vector}, a step sums the
+ * shifted rows with the Vector API and applies the rule as lane masks; without
+ * the module, the same layout is stepped by a scalar loop.
+ * <p>
+ * Bytes take eight times the memory of {@link Grid}'s packed bits, so this is
+ * the choice for dense boards that fit in memory comfortably. Two buffers are
+ * allocated once and swapped every generation.
+ */
+public final class DenseByteGrid {
+
+    private static final boolean VECTOR_API_AVAILABLE =
+        ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private final int rows;
+    private final int cols;
+    private final boolean vectorized;
+    private byte[] current;
+    private byte[] next;
+    private int population;
+    private long generation;
+
+    public DenseByteGrid(int rows, int cols) {
+        this(rows, cols, VECTOR_API_AVAILABLE);
+    }
+
+    DenseByteGrid(int rows, int cols, boolean vectorized) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException(
+                "Grid dimensions must be positive: %dx%d".formatted(rows, cols)
+            );
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.vectorized = vectorized && VECTOR_API_AVAILABLE;
+        int size = Math.multiplyExact(rows + 2, cols + 2);
+        this.current = new byte[size];
+        this.next = new byte[size];
+    }
+
+    public static DenseByteGrid from(Grid grid) {
+        return from(grid, VECTOR_API_AVAILABLE);
+    }
+
+    static DenseByteGrid from(Grid grid, boolean vectorized) {
+        if (grid.getTopology() != Topology.BOUNDED) {
+            throw new IllegalArgumentException("Only bounded grids are supported, not " + grid.getTopology());
+        }
+        var dense = new DenseByteGrid(grid.getRows(), grid.getCols(), vectorized);
+        long[] words = grid.words();
+        int wordsPerRow = grid.wordsPerRow();
+        for (int row = 0; row < grid.getRows(); row++) {
+            for (int i = 0; i < wordsPerRow; i++) {
+                long word = words[row * wordsPerRow + i];
+                while (word != 0) {
+                    dense.current[dense.index(row, (i << 6) + Long.numberOfTrailingZeros(word))] = 1;
+                    word &= word - 1;
+                }
+            }
+        }
+        dense.population = grid.countLiveCells();
+        dense.generation = grid.getGeneration();
+        return dense;
+    }
+
+    /**
+     * Whether the Vector API module is present in this JVM.
+     */
+    public static boolean isVectorApiAvailable() {
+        return VECTOR_API_AVAILABLE;
+    }
+
+    /**
+     * Advances one generation in place. As with {@link Grid}, births on zero
+     * neighbours are never applied. A {@link ProbabilisticRule} is applied by
+     * stepping its base rule with the kernel and then flipping each new live
+     * cell's coin, which gives the same cells as {@link Grid} for the same seed.
+     */
+    public void step(GameRules rules) {
+        step(rules, 1);
+    }
+
+    public void step(GameRules rules, int generations) {
+        var random = rules instanceof ProbabilisticRule probabilistic ? probabilistic : null;
+        var rule = random != null ? random.base() : LifeRule.compile(rules);
+        for (int i = 0; i < generations; i++) {
+            population = vectorized
+                ? VectorByteKernel.step(current, next, rows, cols, rule.birthMask(), rule.survivalMask())
+                : ScalarByteKernel.step(current, next, rows, cols, rule.birthMask(), rule.survivalMask());
+            generation++;
+            if (random != null) {
+                sample(random);
+            }
+            var swap = current;
+            current = next;
+            next = swap;
+        }
+    }
+
+    public void setCellState(Cell cell, CellState state) {
+        if (cell.row() < 0 || cell.row() >= rows || cell.col() < 0 || cell.col() >= cols) {
+            return;
+        }
+        int index = index(cell.row(), cell.col());
+        byte value = (byte) (state.isAlive() ? 1 : 0);
+        population += value - current[index];
+        current[index] = value;
+    }
+
+    public CellState getCellState(Cell cell) {
+        if (cell.row() < 0 || cell.row() >= rows || cell.col() < 0 || cell.col() >= cols) {
+            return CellState.DEAD;
+        }
+        return CellState.fromBoolean(current[index(cell.row(), cell.col())] != 0);
+    }
+
+    public int countLiveCells() {
+        return population;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public Grid toGrid() {
+        int wordsPerRow = BitKernel.wordsFor(cols);
+        long[] words = new long[Math.multiplyExact(rows, wordsPerRow)];
+        for (int row = 0; row < rows; row++) {
+            int offset = index(row, 0);
+            for (int col = 0; col < cols; col++) {
+                if (current[offset + col] != 0) {
+                    words[row * wordsPerRow + (col >>> 6)] |= 1L << col;
+                }
+            }
+        }
+        return new Grid(rows, cols, Topology.BOUNDED, generation, words, population);
+    }
+
+    boolean isVectorized() {
+        return vectorized;
+    }
+
+    /**
+     * Clears the cells of the freshly computed generation whose coin fails.
+     */
+    private void sample(ProbabilisticRule random) {
+        for (int row = 0; row < rows; row++) {
+            int offset = index(row, 0);
+            for (int col = 0; col < cols; col++) {
+                if (next[offset + col] != 0 && !random.passes(generation, row, col, current[offset + col] != 0)) {
+                    next[offset + col] = 0;
+                    population--;
+                }
+            }
+        }
+    }
+
+    private int index(int row, int col) {
+        return (row + 1) * (cols + 2) + col + 1;
+    }
+}
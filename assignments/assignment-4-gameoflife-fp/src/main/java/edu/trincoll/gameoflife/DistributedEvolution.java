@@ -0,0 +1,482 @@
+package edu.trincoll.gameoflife;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Evolves a board across several worker processes, each holding one vertical
+ * strip of it.
+ * <p>
+ * This object is the coordinator. It launches one {@link StripWorker} JVM per
+ * strip and sends each its columns. Every generation it tells all workers to step.
+ * Each worker first swaps its outermost columns with its neighbours over
+ * {@link SocketChannel}s, as bit vectors of one bit per row. It then steps its strip
+ * with the shared {@link BitKernel} and reports its population and whether any of
+ * its cells changed. The coordinator adds up the populations. Once no strip
+ * has changed, the board is a still life and {@link #run(int)} stops.
+ * <p>
+ * Workers only exchange halos, so a board can be far larger than one JVM's heap.
+ * To run such a board, launch from a {@link StripSource} and read the result
+ * through {@link #collect(StripSink)}. Both stream one row of one strip at a
+ * time, so the coordinator never holds the whole board. The {@link Grid}
+ * overloads are for boards that do fit. Links are TCP sockets on the
+ * loopback interface or Unix domain sockets, chosen by {@link Transport}.
+ * A torus or Klein bottle joins the first and last strips, reversing the halo
+ * across a Klein bottle's twisted seam. Results are identical to
+ * {@link Grid#evolveWith(GameRules)}.
+ */
+public final class DistributedEvolution implements AutoCloseable {
+
+    private static final long STARTUP_TIMEOUT_SECONDS = 60;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    /**
+     * How the processes talk to each other.
+     */
+    public enum Transport {
+
+        /**
+         * TCP on the loopback interface.
+         */
+        TCP,
+
+        /**
+         * Unix domain sockets in a temporary directory.
+         */
+        UNIX_DOMAIN;
+
+        ServerSocketChannel openServer(Path directory, String name) throws IOException {
+            if (this == TCP) {
+                return ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            }
+            return ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                .bind(UnixDomainSocketAddress.of(directory.resolve(name + ".sock")));
+        }
+
+        /**
+         * Writes a bound address as a string a worker can pass to {@link #parse(String)}.
+         */
+        static String describe(SocketAddress address) {
+            return switch (address) {
+                case InetSocketAddress inet -> "tcp:" + inet.getPort();
+                case UnixDomainSocketAddress unix -> "unix:" + unix.getPath();
+                default -> throw new IllegalArgumentException("Unsupported address: " + address);
+            };
+        }
+
+        static SocketAddress parse(String address) {
+            if (address.startsWith("tcp:")) {
+                return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address.substring(4)));
+            }
+            if (address.startsWith("unix:")) {
+                return UnixDomainSocketAddress.of(address.substring(5));
+            }
+            throw new IllegalArgumentException("Unsupported address: " + address);
+        }
+    }
+
+    /**
+     * The board after a generation.
+     *
+     * @param generation Generation number
+     * @param population Live cells across all strips
+     * @param stable Whether no cell changed in this generation, so none ever will
+     */
+    public record Report(long generation, long population, boolean stable) {
+    }
+
+    /**
+     * Supplies the starting cells of a board one row of one strip at a time.
+     */
+    @FunctionalInterface
+    public interface StripSource {
+
+        /**
+         * Writes the live cells of columns {@code [firstCol, firstCol + width)} of a
+         * row into {@code words}, which arrive cleared. Column {@code firstCol + i}
+         * is bit {@code i & 63} of word {@code i >>> 6}, as in {@link Grid}.
+         */
+        void readRow(int row, int firstCol, int width, long[] words) throws IOException;
+    }
+
+    /**
+     * Receives the cells of a board one row of one strip at a time, in the
+     * layout of {@link StripSource}. The array is reused between calls.
+     */
+    @FunctionalInterface
+    public interface StripSink {
+
+        void writeRow(int row, int firstCol, int width, long[] words) throws IOException;
+    }
+
+    private final int rows;
+    private final int cols;
+    private final Topology topology;
+    private final int[] firstCols;
+    private final List<Process> processes;
+    private final Worker[] workers;
+    private final Path directory;
+    private long generation;
+    private Report last;
+
+    private DistributedEvolution(int rows, int cols, Topology topology, long generation, long population,
+                                 int[] firstCols, List<Process> processes, Worker[] workers, Path directory) {
+        this.rows = rows;
+        this.cols = cols;
+        this.topology = topology;
+        this.firstCols = firstCols;
+        this.processes = processes;
+        this.workers = workers;
+        this.directory = directory;
+        this.generation = generation;
+        this.last = new Report(generation, population, false);
+    }
+
+    /**
+     * Launches workers that talk over loopback TCP.
+     */
+    public static DistributedEvolution launch(Grid grid, GameRules rules, int workerCount) throws IOException {
+        return launch(grid, rules, workerCount, Transport.TCP);
+    }
+
+    /**
+     * Splits a grid into strips of nearly equal width and starts one worker process
+     * per strip.
+     *
+     * @param grid Starting generation; any topology
+     * @param rules Deterministic rules for every worker
+     * @param workerCount Number of strips, between 1 and the number of columns
+     * @param transport How the processes are connected
+     * @return A coordinator whose workers are ready to step
+     * @throws IOException if a worker cannot be started or connected
+     */
+    public static DistributedEvolution launch(Grid grid, GameRules rules, int workerCount, Transport transport)
+            throws IOException {
+        long[] source = grid.words();
+        int wordsPerRow = grid.wordsPerRow();
+        StripSource strips = (row, firstCol, width, words) -> {
+            BitMatrix.shiftRow(source, row * wordsPerRow, wordsPerRow, words, 0, words.length, -firstCol);
+            words[words.length - 1] &= BitKernel.lastWordMask(width);
+        };
+        return launch(grid.getRows(), grid.getCols(), grid.getTopology(), grid.getGeneration(),
+            strips, rules, workerCount, transport);
+    }
+
+    /**
+     * Starts one worker process per strip and seeds each from a source, without
+     * ever holding the whole board.
+     *
+     * @param rows Rows of the board
+     * @param cols Columns of the board
+     * @param topology How the board's edges are joined
+     * @param generation Generation number of the starting cells
+     * @param source Starting cells, read strip by strip and row by row
+     * @param rules Deterministic rules for every worker
+     * @param workerCount Number of strips, between 1 and the number of columns
+     * @param transport How the processes are connected
+     * @return A coordinator whose workers are ready to step
+     * @throws IOException if a worker cannot be started or connected, or the source fails
+     */
+    public static DistributedEvolution launch(int rows, int cols, Topology topology, long generation,
+                                              StripSource source, GameRules rules, int workerCount,
+                                              Transport transport) throws IOException {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException(
+                "Grid dimensions must be positive: %dx%d".formatted(rows, cols)
+            );
+        }
+        if (workerCount < 1 || workerCount > cols) {
+            throw new IllegalArgumentException(
+                "Worker count must be between 1 and %d: %d".formatted(cols, workerCount));
+        }
+        var rule = LifeRule.compile(rules);
+        int[] firstCols = new int[workerCount + 1];
+        for (int i = 0; i <= workerCount; i++) {
+            firstCols[i] = (int) ((long) i * cols / workerCount);
+        }
+
+        Path directory = transport == Transport.UNIX_DOMAIN ? Files.createTempDirectory("life-strips") : null;
+        var processes = new ArrayList<Process>();
+        var workers = new Worker[workerCount];
+        try (var server = transport.openServer(directory, "coordinator")) {
+            var address = Transport.describe(server.getLocalAddress());
+            for (int i = 0; i < workerCount; i++) {
+                processes.add(startWorker(address, i));
+            }
+            var peers = new String[workerCount];
+            for (int connected = 0; connected < workerCount; connected++) {
+                var worker = new Worker(accept(server, processes));
+                int index = worker.in.readInt();
+                peers[index] = worker.in.readUTF();
+                workers[index] = worker;
+            }
+            long population = 0;
+            for (int i = 0; i < workerCount; i++) {
+                population += sendStrip(workers[i], rows, topology, source, rule, firstCols, i, peers);
+            }
+            for (var worker : workers) {
+                if (worker.in.readByte() != StripWorker.READY) {
+                    throw new IOException("Worker failed to connect to its neighbours");
+                }
+            }
+            return new DistributedEvolution(rows, cols, topology, generation, population,
+                firstCols, processes, workers, directory);
+        } catch (IOException | RuntimeException e) {
+            shutDown(workers, processes, directory);
+            throw e;
+        }
+    }
+
+    /**
+     * Advances every strip one generation.
+     *
+     * @return Population and stability of the new generation
+     */
+    public Report step() throws IOException {
+        for (var worker : workers) {
+            worker.out.writeByte(StripWorker.STEP);
+            worker.out.flush();
+        }
+        long population = 0;
+        boolean changed = false;
+        for (var worker : workers) {
+            population += worker.in.readLong();
+            changed |= worker.in.readBoolean();
+        }
+        generation++;
+        last = new Report(generation, population, !changed);
+        return last;
+    }
+
+    /**
+     * Steps until the board is stable or {@code maxGenerations} have passed.
+     *
+     * @return The report of the last generation stepped, or of the current one if
+     *     the board is already known to be stable
+     */
+    public Report run(int maxGenerations) throws IOException {
+        for (int i = 0; i < maxGenerations && !last.stable(); i++) {
+            step();
+        }
+        return last;
+    }
+
+    /**
+     * Gathers the strips into one grid, which must fit in this JVM.
+     */
+    public Grid collect() throws IOException {
+        int wordsPerRow = BitKernel.wordsFor(cols);
+        long[] words = new long[Math.multiplyExact(rows, wordsPerRow)];
+        long[] shifted = new long[wordsPerRow];
+        collect((row, firstCol, width, cells) -> {
+            BitMatrix.shiftRow(cells, 0, cells.length, shifted, 0, wordsPerRow, firstCol);
+            for (int w = 0; w < wordsPerRow; w++) {
+                words[row * wordsPerRow + w] |= shifted[w];
+            }
+        });
+        return new Grid(rows, cols, topology, generation, words, BitKernel.bitCount(words, 0, words.length));
+    }
+
+    /**
+     * Streams the current generation to a sink, strip by strip from the left and
+     * row by row from the top of each strip.
+     */
+    public void collect(StripSink sink) throws IOException {
+        for (var worker : workers) {
+            worker.out.writeByte(StripWorker.COLLECT);
+            worker.out.flush();
+        }
+        for (int i = 0; i < workers.length; i++) {
+            var in = workers[i].in;
+            int width = firstCols[i + 1] - firstCols[i];
+            int stripWords = BitKernel.wordsFor(width + 2);
+            long[] strip = new long[stripWords];
+            long[] cells = new long[BitKernel.wordsFor(width)];
+            for (int row = 0; row < rows; row++) {
+                for (int w = 0; w < stripWords; w++) {
+                    strip[w] = in.readLong();
+                }
+                // Column 1 of the strip, after its halo, is column firstCols[i] of the board
+                BitMatrix.shiftRow(strip, 0, stripWords, cells, 0, cells.length, -1);
+                sink.writeRow(row, firstCols[i], width, cells);
+            }
+        }
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public int workerCount() {
+        return workers.length;
+    }
+
+    /**
+     * Stops the workers, waiting briefly before killing any that do not exit.
+     */
+    @Override
+    public void close() {
+        shutDown(workers, processes, directory);
+    }
+
+    private static Process startWorker(String coordinator, int index) throws IOException {
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        // Classes compiled with preview features need the same flags in every JVM
+        ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+            .filter(arg -> arg.startsWith("--enable-preview") || arg.startsWith("--add-modules"))
+            .forEach(command::add);
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"),
+            StripWorker.class.getName(), coordinator, Integer.toString(index)));
+        return new ProcessBuilder(command)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+    }
+
+    /**
+     * Accepts a worker's connection, failing if any worker has exited or none
+     * connects in time.
+     */
+    private static SocketChannel accept(ServerSocketChannel server, List<Process> processes) throws IOException {
+        server.configureBlocking(false);
+        try (var selector = Selector.open()) {
+            server.register(selector, SelectionKey.OP_ACCEPT);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(STARTUP_TIMEOUT_SECONDS);
+            while (System.nanoTime() < deadline) {
+                selector.select(100);
+                var channel = server.accept();
+                if (channel != null) {
+                    channel.configureBlocking(true);
+                    return channel;
+                }
+                for (var process : processes) {
+                    if (!process.isAlive()) {
+                        throw new IOException("Worker exited with status " + process.exitValue());
+                    }
+                }
+            }
+        }
+        throw new IOException("Workers did not connect within " + STARTUP_TIMEOUT_SECONDS + " seconds");
+    }
+
+    /**
+     * Sends a worker its rule, its neighbours and its strip, padded with one halo
+     * column on each side that the first exchange fills.
+     *
+     * @return live cells in the strip
+     */
+    private static long sendStrip(Worker worker, int rows, Topology topology, StripSource source, LifeRule rule,
+                                  int[] firstCols, int index, String[] peers) throws IOException {
+        int count = peers.length;
+        boolean wrapped = topology != Topology.BOUNDED;
+        boolean twisted = topology == Topology.KLEIN_BOTTLE;
+        int first = firstCols[index];
+        int width = firstCols[index + 1] - first;
+        boolean hasRight = wrapped || index < count - 1;
+
+        var out = worker.out;
+        out.writeInt(rows);
+        out.writeInt(width);
+        out.writeBoolean(wrapped);
+        out.writeInt(rule.birthMask());
+        out.writeInt(rule.survivalMask());
+        out.writeUTF(hasRight ? peers[(index + 1) % count] : "");
+        out.writeBoolean(wrapped || index > 0);
+        // Only the seam between the last and first strips is twisted
+        out.writeBoolean(twisted && index == 0);
+        out.writeBoolean(twisted && index == count - 1);
+
+        long[] cells = new long[BitKernel.wordsFor(width)];
+        long lastMask = BitKernel.lastWordMask(width);
+        long[] strip = new long[BitKernel.wordsFor(width + 2)];
+        long population = 0;
+        for (int row = 0; row < rows; row++) {
+            Arrays.fill(cells, 0L);
+            source.readRow(row, first, width, cells);
+            cells[cells.length - 1] &= lastMask;
+            population += BitKernel.bitCount(cells, 0, cells.length);
+            BitMatrix.shiftRow(cells, 0, cells.length, strip, 0, strip.length, 1);
+            for (long word : strip) {
+                out.writeLong(word);
+            }
+        }
+        out.flush();
+        return population;
+    }
+
+    private static void shutDown(Worker[] workers, List<Process> processes, Path directory) {
+        for (var worker : workers) {
+            if (worker != null) {
+                worker.stop();
+            }
+        }
+        for (var process : processes) {
+            try {
+                if (!process.waitFor(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * The coordinator's end of one worker's control link.
+     */
+    private static final class Worker {
+
+        private final SocketChannel channel;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        Worker(SocketChannel channel) {
+            this.channel = channel;
+            this.in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        }
+
+        void stop() {
+            try (channel) {
+                out.writeByte(StripWorker.STOP);
+                out.flush();
+            } catch (IOException e) {
+                // The worker is already gone; it will be reaped below
+            }
+        }
+    }
+}
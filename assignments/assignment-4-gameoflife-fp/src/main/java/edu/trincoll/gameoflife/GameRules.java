@@ -49,16 +49,13 @@ public interface GameRules extends BiFunction<CellState, Integer, CellState> {
     }
 
     static GameRules custom(Set<Integer> birthRules, Set<Integer> survivalRules) {
-        return (current, neighbors) -> {
-            if (current.isAlive()) {
-                return survivalRules.contains(neighbors)
-                    ? CellState.ALIVE
-                    : CellState.DEAD;
-            } else {
-                return birthRules.contains(neighbors)
-                    ? CellState.ALIVE
-                    : CellState.DEAD;
-            }
-        };
+        return LifeRule.of(birthRules, survivalRules);
+    }
+
+    /**
+     * Parses a rulestring such as "B3/S23" or "B36/S23" into compiled rules.
+     */
+    static GameRules parse(String rulestring) {
+        return LifeRule.parse(rulestring);
     }
 }
\ No newline at end of file
@@ -13,7 +13,8 @@ public class GameVariants {
      * Example: B3/S23 is standard Conway's Life (birth on 3, survival on 2 or 3)
      *         B36/S23 is HighLife (birth on 3 or 6, survival on 2 or 3)
      * <p>
-     * PARTIAL IMPLEMENTATION PROVIDED
+     * The counts are compiled into a {@link LifeRule}, so evaluating a cell is a
+     * mask test rather than a {@code Set.contains} call.
      *
      * @param birthCounts Set of neighbor counts that cause birth
      * @param survivalCounts Set of neighbor counts that allow survival
@@ -21,17 +22,7 @@ public class GameVariants {
      */
     public static BiFunction<CellState, Integer, CellState> createVariant(
             Set<Integer> birthCounts, Set<Integer> survivalCounts) {
-        return (currentState, neighborCount) -> {
-            if (currentState.isAlive()) {
-                // TODO: Check if neighborCount is in survivalCounts
-                // Return ALIVE if yes, DEAD if no
-                throw new UnsupportedOperationException("Complete this part");
-            } else {
-                // TODO: Check if neighborCount is in birthCounts
-                // Return ALIVE if yes, DEAD if no
-                throw new UnsupportedOperationException("Complete this part");
-            }
-        };
+        return LifeRule.of(birthCounts, survivalCounts);
     }
 
     /**
@@ -59,15 +50,16 @@ public class GameVariants {
      * @return BiFunction implementing Life Without Death rules
      */
     public static BiFunction<CellState, Integer, CellState> lifeWithoutDeath() {
-        // TODO: Use createVariant with appropriate birth/survival counts
-        // Hint: Set.of(3) for birth, Set.of(0,1,2,3,4,5,6,7,8) for survival
-        throw new UnsupportedOperationException("Not implemented - complete using TDD");
+        return createVariant(
+            Set.of(3),                           // Birth counts
+            Set.of(0, 1, 2, 3, 4, 5, 6, 7, 8)    // Survival counts
+        );
     }
 
     /**
      * Creates a probabilistic variant where rules are applied with certain probability.
      * <p>
-     * ADVANCED - OPTIONAL IMPLEMENTATION
+     * Uses seed 0, so runs are reproducible; see {@link ProbabilisticRule}.
      *
      * @param baseRules The base rules to apply
      * @param survivalProbability Probability that a cell survives when it normally would
@@ -78,8 +70,25 @@ public class GameVariants {
             BiFunction<CellState, Integer, CellState> baseRules,
             double survivalProbability,
             double birthProbability) {
-        // OPTIONAL: This is more advanced
-        // Students can skip this for base credit
-        throw new UnsupportedOperationException("Optional advanced feature");
+        return probabilistic(baseRules, survivalProbability, birthProbability, 0L);
+    }
+
+    /**
+     * Creates a probabilistic variant whose random choices are determined by a seed.
+     * The result can be passed to the grid engines, which all evolve the same
+     * cells for the same seed.
+     *
+     * @param baseRules The base rules to apply
+     * @param survivalProbability Probability that a cell survives when it normally would
+     * @param birthProbability Probability that a cell is born when it normally would
+     * @param seed Seed of the per-cell random choices
+     * @return Rules implementing the probabilistic variant
+     */
+    public static ProbabilisticRule probabilistic(
+            BiFunction<CellState, Integer, CellState> baseRules,
+            double survivalProbability,
+            double birthProbability,
+            long seed) {
+        return ProbabilisticRule.of(baseRules, survivalProbability, birthProbability, seed);
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package edu.trincoll.gameoflife;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * The cells born and the cells that died in one generation, as reported by an
+ * engine to its {@link GenerationListener}s.
+ * <p>
+ * Cells are held as packed coordinates, so reporting a generation allocates two
+ * arrays rather than an object per changed cell.
+ */
+public final class GenerationDelta {
+
+    private final long generation;
+    private final long[] births;
+    private final long[] deaths;
+    private final long population;
+
+    GenerationDelta(long generation, long[] births, long[] deaths, long population) {
+        this.generation = generation;
+        this.births = births;
+        this.deaths = deaths;
+        this.population = population;
+    }
+
+    /**
+     * Computes the changes between two generations of a grid a word at a time.
+     *
+     * @param before The earlier grid
+     * @param after The grid one generation later, of the same size
+     * @param generation The generation number of {@code after}
+     */
+    public static GenerationDelta between(Grid before, Grid after, long generation) {
+        if (before.getRows() != after.getRows() || before.getCols() != after.getCols()) {
+            throw new IllegalArgumentException("Grids differ in size: %dx%d and %dx%d".formatted(
+                before.getRows(), before.getCols(), after.getRows(), after.getCols()));
+        }
+        long[] old = before.words();
+        long[] now = after.words();
+        int wordsPerRow = before.wordsPerRow();
+        var births = new LongList();
+        var deaths = new LongList();
+        for (int i = 0; i < old.length; i++) {
+            int row = i / wordsPerRow;
+            int base = (i % wordsPerRow) << 6;
+            for (long born = now[i] & ~old[i]; born != 0; born &= born - 1) {
+                births.add(CellKey.pack(row, base + Long.numberOfTrailingZeros(born)));
+            }
+            for (long died = old[i] & ~now[i]; died != 0; died &= died - 1) {
+                deaths.add(CellKey.pack(row, base + Long.numberOfTrailingZeros(died)));
+            }
+        }
+        return new GenerationDelta(generation, births.toArray(), deaths.toArray(), after.countLiveCells());
+    }
+
+    /**
+     * The generation these changes produced.
+     */
+    public long generation() {
+        return generation;
+    }
+
+    public int birthCount() {
+        return births.length;
+    }
+
+    public int deathCount() {
+        return deaths.length;
+    }
+
+    /**
+     * Live cells after the changes were applied.
+     */
+    public long population() {
+        return population;
+    }
+
+    public boolean isEmpty() {
+        return births.length == 0 && deaths.length == 0;
+    }
+
+    public Stream<Cell> births() {
+        return Arrays.stream(births).mapToObj(CellKey::toCell);
+    }
+
+    public Stream<Cell> deaths() {
+        return Arrays.stream(deaths).mapToObj(CellKey::toCell);
+    }
+
+    long[] birthKeys() {
+        return births;
+    }
+
+    long[] deathKeys() {
+        return deaths;
+    }
+
+    @Override
+    public String toString() {
+        return "Generation %d: +%d -%d (population %d)".formatted(
+            generation, births.length, deaths.length, population);
+    }
+}
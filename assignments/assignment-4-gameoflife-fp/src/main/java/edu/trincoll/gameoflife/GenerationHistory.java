@@ -0,0 +1,187 @@
+package edu.trincoll.gameoflife;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records a run so any recorded generation can be rebuilt without re-simulating.
+ * <p>
+ * Every {@code keyframeInterval} generations the full set of live cells is
+ * stored as a keyframe; in between, only each generation's births and deaths
+ * are kept. Both are compressed with {@link CellCodec}. Seeking binary-searches
+ * the keyframes for the last one at or before the target and replays fewer than
+ * {@code keyframeInterval} deltas from there, so a wider spacing costs less
+ * memory and a narrower one seeks faster. With a keyframe limit, the oldest
+ * keyframe and its deltas are dropped once the limit is exceeded, which bounds
+ * memory for runs of any length.
+ * <p>
+ * The history is a {@link GenerationListener}, so it can be registered on any
+ * engine that reports its changes, such as {@link IncrementalUniverse}; grid
+ * runs can feed it {@link GenerationDelta#between(Grid, Grid, long)}.
+ */
+public final class GenerationHistory implements GenerationListener {
+
+    private final int keyframeInterval;
+    private final int maxKeyframes;
+    private final long startGeneration;
+    private final LongHashSet live;
+    private final List<Segment> segments = new ArrayList<>();
+    private long lastGeneration;
+    private long storedBytes;
+
+    /**
+     * Starts recording at a generation, keeping every keyframe.
+     *
+     * @param initial Live cells at {@code startGeneration}
+     * @param startGeneration Generation number of the initial cells
+     * @param keyframeInterval Generations between keyframes
+     */
+    public GenerationHistory(SparseUniverse initial, long startGeneration, int keyframeInterval) {
+        this(initial, startGeneration, keyframeInterval, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Starts recording at a generation, keeping at most {@code maxKeyframes}
+     * keyframes and the deltas that follow them.
+     */
+    public GenerationHistory(SparseUniverse initial, long startGeneration, int keyframeInterval, int maxKeyframes) {
+        if (keyframeInterval <= 0) {
+            throw new IllegalArgumentException("Keyframe interval must be positive: " + keyframeInterval);
+        }
+        if (maxKeyframes <= 0) {
+            throw new IllegalArgumentException("Keyframe limit must be positive: " + maxKeyframes);
+        }
+        this.keyframeInterval = keyframeInterval;
+        this.maxKeyframes = maxKeyframes;
+        this.live = new LongHashSet(initial.liveKeys());
+        this.startGeneration = startGeneration;
+        this.lastGeneration = startGeneration;
+        addKeyframe();
+    }
+
+    public static GenerationHistory startingAt(Grid grid, int keyframeInterval) {
+        return new GenerationHistory(SparseUniverse.from(grid), 0, keyframeInterval);
+    }
+
+    /**
+     * Records the next generation.
+     *
+     * @throws IllegalStateException if the delta is not for the generation after the last one recorded
+     */
+    @Override
+    public void onGeneration(GenerationDelta delta) {
+        if (delta.generation() != lastGeneration + 1) {
+            throw new IllegalStateException("Expected generation %d but got %d"
+                .formatted(lastGeneration + 1, delta.generation()));
+        }
+        for (long cell : delta.deathKeys()) {
+            live.remove(cell);
+        }
+        for (long cell : delta.birthKeys()) {
+            live.add(cell);
+        }
+        lastGeneration = delta.generation();
+        if ((lastGeneration - startGeneration) % keyframeInterval == 0) {
+            addKeyframe();
+        } else {
+            byte[] change = CellCodec.encode(delta.birthKeys(), delta.deathKeys());
+            segments.getLast().deltas.add(change);
+            storedBytes += change.length;
+        }
+    }
+
+    /**
+     * Rebuilds the live cells of a recorded generation.
+     *
+     * @param generation A generation between {@link #firstGeneration()} and {@link #lastGeneration()}
+     * @return The cells alive in that generation
+     */
+    public SparseUniverse seek(long generation) {
+        if (generation < firstGeneration() || generation > lastGeneration) {
+            throw new IllegalArgumentException("Generation %d is outside the recorded range %d to %d"
+                .formatted(generation, firstGeneration(), lastGeneration));
+        }
+        var segment = segments.get(segmentFor(generation));
+        var cells = new LongHashSet();
+        for (long cell : CellCodec.decode(segment.keyframe, 1)[0]) {
+            cells.add(cell);
+        }
+        for (int i = 0; i < generation - segment.generation; i++) {
+            long[][] change = CellCodec.decode(segment.deltas.get(i), 2);
+            for (long cell : change[1]) {
+                cells.remove(cell);
+            }
+            for (long cell : change[0]) {
+                cells.add(cell);
+            }
+        }
+        return new SparseUniverse(cells);
+    }
+
+    /**
+     * The oldest generation that can still be rebuilt.
+     */
+    public long firstGeneration() {
+        return segments.getFirst().generation;
+    }
+
+    /**
+     * The most recent generation recorded.
+     */
+    public long lastGeneration() {
+        return lastGeneration;
+    }
+
+    public int keyframeCount() {
+        return segments.size();
+    }
+
+    /**
+     * Compressed size of the stored keyframes and deltas.
+     */
+    public long storedBytes() {
+        return storedBytes;
+    }
+
+    private void addKeyframe() {
+        var segment = new Segment(lastGeneration, CellCodec.encode(live.toArray()));
+        segments.add(segment);
+        storedBytes += segment.keyframe.length;
+        if (segments.size() > maxKeyframes) {
+            var dropped = segments.removeFirst();
+            storedBytes -= dropped.keyframe.length;
+            dropped.deltas.forEach(change -> storedBytes -= change.length);
+        }
+    }
+
+    /**
+     * Index of the last segment starting at or before the generation.
+     */
+    private int segmentFor(long generation) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (segments.get(middle).generation <= generation) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A keyframe and the deltas of the generations after it, up to the next keyframe.
+     */
+    private static final class Segment {
+        private final long generation;
+        private final byte[] keyframe;
+        private final List<byte[]> deltas = new ArrayList<>();
+
+        Segment(long generation, byte[] keyframe) {
+            this.generation = generation;
+            this.keyframe = keyframe;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package edu.trincoll.gameoflife;
+
+/**
+ * Receives the births and deaths of every generation an engine computes, so
+ * statistics and history can follow a run without diffing whole boards.
+ */
+@FunctionalInterface
+public interface GenerationListener {
+
+    void onGeneration(GenerationDelta delta);
+}
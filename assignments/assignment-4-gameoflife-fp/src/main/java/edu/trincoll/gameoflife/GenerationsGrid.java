@@ -0,0 +1,231 @@
+package edu.trincoll.gameoflife;
+
+/**
+ * A bounded board for {@link GenerationsRule}s, with hard edges like {@link Grid}.
+ * <p>
+ * Cell states are split into two bit planes packed like {@code Grid}'s words:
+ * live cells and dying cells; a cell in neither is dead. Only live cells are
+ * neighbours, so a step counts the live plane with the shared {@link BitKernel}
+ * at 64 cells per operation, then masks out births on dying cells. The ages of
+ * dying cells are kept in a {@code byte[]} per row and only the bytes of dying
+ * cells are touched. With three states, as in Brian's Brain, the one dying age is
+ * implied by the plane and the bytes are not used at all.
+ * <p>
+ * The board is mutable and advances in place.
+ */
+public final class GenerationsGrid {
+
+    private final GenerationsRule rule;
+    private final int rows;
+    private final int cols;
+    private final int wordsPerRow;
+    private final long lastMask;
+    private final byte[][] ages;
+    private long[] alive;
+    private long[] dying;
+    private long[] scratch;
+    private int population;
+    private int dyingCount;
+    private long generation;
+
+    public GenerationsGrid(int rows, int cols, GenerationsRule rule) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException(
+                "Grid dimensions must be positive: %dx%d".formatted(rows, cols)
+            );
+        }
+        this.rule = rule;
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = BitKernel.wordsFor(cols);
+        this.lastMask = BitKernel.lastWordMask(cols);
+        int words = Math.multiplyExact(rows, wordsPerRow);
+        this.alive = new long[words];
+        this.dying = new long[words];
+        this.scratch = new long[words];
+        this.ages = new byte[rows][];
+        if (rule.states() > 3) {
+            for (int row = 0; row < rows; row++) {
+                ages[row] = new byte[cols];
+            }
+        }
+    }
+
+    /**
+     * Starts a board whose live cells are those of a grid.
+     */
+    public static GenerationsGrid from(Grid grid, GenerationsRule rule) {
+        if (grid.getTopology() != Topology.BOUNDED) {
+            throw new IllegalArgumentException("Only bounded grids are supported, not " + grid.getTopology());
+        }
+        var board = new GenerationsGrid(grid.getRows(), grid.getCols(), rule);
+        System.arraycopy(grid.words(), 0, board.alive, 0, board.alive.length);
+        board.population = grid.countLiveCells();
+        return board;
+    }
+
+    /**
+     * Advances one generation. As with {@link Grid}, births on zero neighbours
+     * are never applied.
+     */
+    public void step() {
+        long[] next = scratch;
+        BitKernel.stepRows(alive, next, rows, wordsPerRow, lastMask, 0, rows,
+            rule.birthMask(), rule.survivalMask());
+        int nextPopulation = 0;
+        int nextDying = 0;
+        for (int row = 0; row < rows; row++) {
+            int offset = row * wordsPerRow;
+            for (int i = offset; i < offset + wordsPerRow; i++) {
+                // Dying cells cannot be born
+                long born = next[i] & ~dying[i];
+                long started = alive[i] & ~born;
+                long decaying = ageRow(row, (i - offset) << 6, dying[i], started);
+                next[i] = born;
+                dying[i] = decaying;
+                nextPopulation += Long.bitCount(born);
+                nextDying += Long.bitCount(decaying);
+            }
+        }
+        scratch = alive;
+        alive = next;
+        population = nextPopulation;
+        dyingCount = nextDying;
+        generation++;
+    }
+
+    public void step(int generations) {
+        for (int i = 0; i < generations; i++) {
+            step();
+        }
+    }
+
+    /**
+     * Returns a cell's state: 0 dead, 1 alive, 2 and up dying. Cells off the board are dead.
+     */
+    public int getState(Cell cell) {
+        if (!isValidCell(cell)) {
+            return 0;
+        }
+        int index = cell.row() * wordsPerRow + (cell.col() >>> 6);
+        long bit = 1L << cell.col();
+        if ((alive[index] & bit) != 0) {
+            return 1;
+        }
+        if ((dying[index] & bit) == 0) {
+            return 0;
+        }
+        return rule.states() == 3 ? 2 : ages[cell.row()][cell.col()] & 0xFF;
+    }
+
+    public void setState(Cell cell, int state) {
+        if (state < 0 || state >= rule.states()) {
+            throw new IllegalArgumentException(
+                "State must be between 0 and %d: %d".formatted(rule.states() - 1, state));
+        }
+        if (!isValidCell(cell)) {
+            return;
+        }
+        int index = cell.row() * wordsPerRow + (cell.col() >>> 6);
+        long bit = 1L << cell.col();
+        population -= Long.bitCount(alive[index] & bit);
+        dyingCount -= Long.bitCount(dying[index] & bit);
+        alive[index] &= ~bit;
+        dying[index] &= ~bit;
+        if (state == 1) {
+            alive[index] |= bit;
+            population++;
+        } else if (state >= 2) {
+            dying[index] |= bit;
+            dyingCount++;
+            if (rule.states() > 3) {
+                ages[cell.row()][cell.col()] = (byte) state;
+            }
+        }
+    }
+
+    public boolean isValidCell(Cell cell) {
+        return cell.row() >= 0 && cell.row() < rows && cell.col() >= 0 && cell.col() < cols;
+    }
+
+    public int countLiveCells() {
+        return population;
+    }
+
+    public int countDyingCells() {
+        return dyingCount;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public GenerationsRule getRule() {
+        return rule;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Returns the live cells as a two-state grid.
+     */
+    public Grid toGrid() {
+        return new Grid(rows, cols, Topology.BOUNDED, generation, alive.clone(), population);
+    }
+
+    /**
+     * Ages one word of dying cells and starts the decay of live cells that did not
+     * survive, returning the dying cells of the next generation.
+     *
+     * @param firstCol column of bit 0 of the word
+     * @param dyingNow cells dying in the current generation
+     * @param started live cells that die this step
+     */
+    private long ageRow(int row, int firstCol, long dyingNow, long started) {
+        int states = rule.states();
+        if (states == 2) {
+            return 0L;
+        }
+        if (states == 3) {
+            // The only dying state ends after one generation
+            return started;
+        }
+        byte[] rowAges = ages[row];
+        long result = 0L;
+        for (long cells = dyingNow; cells != 0; cells &= cells - 1) {
+            int bit = Long.numberOfTrailingZeros(cells);
+            int age = (rowAges[firstCol + bit] & 0xFF) + 1;
+            if (age < states) {
+                rowAges[firstCol + bit] = (byte) age;
+                result |= 1L << bit;
+            }
+        }
+        for (long cells = started; cells != 0; cells &= cells - 1) {
+            int bit = Long.numberOfTrailingZeros(cells);
+            rowAges[firstCol + bit] = 2;
+            result |= 1L << bit;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder(rows * (cols + 1));
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int state = getState(Cell.of(row, col));
+                sb.append(state == 0 ? '.' : state == 1 ? '*' : Character.forDigit(Math.min(state, 35), 36));
+            }
+            if (row < rows - 1) {
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
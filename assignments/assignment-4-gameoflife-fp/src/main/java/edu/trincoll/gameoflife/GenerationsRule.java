@@ -0,0 +1,91 @@
+package edu.trincoll.gameoflife;
+
+/**
+ * A rule of the Generations family: outer-totalistic birth and survival plus
+ * decaying states.
+ * <p>
+ * State 0 is dead, state 1 is alive, and states 2 to {@code states - 1} are
+ * dying. Only live cells count as neighbours. A dead cell is born on a birth
+ * count, a live cell stays alive on a survival count and otherwise starts to
+ * die, and a dying cell ages by one state per generation until it is dead again;
+ * a dying cell cannot be born. With two states this is ordinary two-state Life.
+ * <p>
+ * {@link #parse(String)} reads {@code B2/S/C3} notation and the older
+ * survival/birth/states digits such as {@code 345/2/4}.
+ */
+public record GenerationsRule(LifeRule life, int states) {
+
+    /**
+     * Most states a byte per cell can hold.
+     */
+    public static final int MAX_STATES = 256;
+
+    public static final GenerationsRule BRIANS_BRAIN = parse("B2/S/C3");
+    public static final GenerationsRule STAR_WARS = parse("B2/S345/C4");
+
+    public GenerationsRule {
+        if (states < 2 || states > MAX_STATES) {
+            throw new IllegalArgumentException(
+                "Number of states must be between 2 and %d: %d".formatted(MAX_STATES, states));
+        }
+    }
+
+    /**
+     * Parses a Generations rulestring; the birth, survival and state sections
+     * may appear in any order when they are lettered.
+     *
+     * @param rulestring A rule such as {@code "B2/S/C3"}, {@code "/2/3"} or {@code "345/2/4"}
+     * @return The parsed rule
+     */
+    public static GenerationsRule parse(String rulestring) {
+        var parts = rulestring.strip().split("/", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException(
+                "Generations rulestring must have three parts separated by '/': " + rulestring);
+        }
+        int statesIndex = 2;
+        for (int i = 0; i < 3; i++) {
+            var part = parts[i].strip();
+            if (!part.isEmpty() && Character.toUpperCase(part.charAt(0)) == 'C') {
+                statesIndex = i;
+            }
+        }
+        var count = parts[statesIndex].strip();
+        if (!count.isEmpty() && Character.isLetter(count.charAt(0))) {
+            count = count.substring(1);
+        }
+        int states;
+        try {
+            states = Integer.parseInt(count);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number of states in " + rulestring, e);
+        }
+        var first = statesIndex == 0 ? parts[1] : parts[0];
+        var second = statesIndex == 2 ? parts[1] : parts[2];
+        return new GenerationsRule(LifeRule.parse(first + "/" + second), states);
+    }
+
+    public int birthMask() {
+        return life.birthMask();
+    }
+
+    public int survivalMask() {
+        return life.survivalMask();
+    }
+
+    /**
+     * Returns the next state of a cell with the given number of live neighbours.
+     */
+    public int next(int state, int liveNeighbors) {
+        return switch (state) {
+            case 0 -> liveNeighbors > 0 && life.next(false, liveNeighbors) ? 1 : 0;
+            case 1 -> life.next(true, liveNeighbors) ? 1 : 2 % states;
+            default -> (state + 1) % states;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return life + "/C" + states;
+    }
+}
@@ -5,12 +5,36 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+/**
+ * A bounded Game of Life board.
+ * <p>
+ * Cells are bit-packed row by row into {@code long} words (64 cells per word), so
+ * a 10,000 x 10,000 board occupies about 12 MB and {@link #evolveWith(GameRules)}
+ * computes 64 cells per operation instead of allocating per-cell objects.
+ * <p>
+ * The edges follow the grid's {@link Topology}: hard by default, or joined into
+ * a torus or Klein bottle, in which case every coordinate is valid and is wrapped
+ * onto the board. When a wrapped dimension is a power of two, coordinates are
+ * wrapped with a bit mask rather than a modulo.
+ */
 public class Grid {
+    private static final long OFF_GRID = -1L;
+
     private final int rows;
     private final int cols;
-    private final Map<Cell, CellState> cells;
+    private final int wordsPerRow;
+    private final long[] words;
+    private final Topology topology;
+    private final int rowMask;
+    private final int colMask;
+    private final long generation;
+    private int population;
 
     public Grid(int rows, int cols) {
+        this(rows, cols, Topology.BOUNDED);
+    }
+
+    public Grid(int rows, int cols, Topology topology) {
         if (rows <= 0 || cols <= 0) {
             throw new IllegalArgumentException(
                 "Grid dimensions must be positive: %dx%d".formatted(rows, cols)
@@ -18,66 +42,131 @@ public class Grid {
         }
         this.rows = rows;
         this.cols = cols;
-        this.cells = new HashMap<>();
+        this.wordsPerRow = BitKernel.wordsFor(cols);
+        this.words = new long[Math.multiplyExact(rows, wordsPerRow)];
+        this.topology = Objects.requireNonNull(topology);
+        this.rowMask = maskFor(rows);
+        this.colMask = maskFor(cols);
+        this.generation = 0;
     }
 
     public Grid(String pattern) {
         var lines = pattern.trim().lines().toList();
         this.rows = lines.size();
         this.cols = lines.isEmpty() ? 0 : lines.getFirst().length();
-        this.cells = new HashMap<>();
+        this.wordsPerRow = BitKernel.wordsFor(cols);
+        this.words = new long[rows * wordsPerRow];
+        this.topology = Topology.BOUNDED;
+        this.rowMask = maskFor(rows);
+        this.colMask = maskFor(cols);
+        this.generation = 0;
 
         IntStream.range(0, rows).forEach(row -> {
             var line = lines.get(row);
             IntStream.range(0, Math.min(cols, line.length())).forEach(col -> {
                 var state = CellState.fromChar(line.charAt(col));
                 if (state.isAlive()) {
-                    cells.put(Cell.of(row, col), state);
+                    set(row, col);
                 }
             });
         });
     }
 
-    private Grid(int rows, int cols, Map<Cell, CellState> cells) {
+    /**
+     * Wraps already packed words; the caller hands over ownership of the array.
+     */
+    Grid(int rows, int cols, long[] words, int population) {
+        this(rows, cols, Topology.BOUNDED, 0, words, population);
+    }
+
+    Grid(int rows, int cols, Topology topology, long generation, long[] words, int population) {
         this.rows = rows;
         this.cols = cols;
-        this.cells = new HashMap<>(cells);
+        this.wordsPerRow = BitKernel.wordsFor(cols);
+        this.words = words;
+        this.topology = topology;
+        this.rowMask = maskFor(rows);
+        this.colMask = maskFor(cols);
+        this.generation = generation;
+        this.population = population;
+    }
+
+    /**
+     * Returns a copy of this grid's cells whose edges follow the given topology.
+     */
+    public Grid withTopology(Topology topology) {
+        return new Grid(rows, cols, Objects.requireNonNull(topology), generation, words.clone(), population);
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+    /**
+     * How many times this grid's cells have been evolved since it was built from
+     * a pattern or size. Only a {@link ProbabilisticRule} depends on it; it is not
+     * part of {@link #equals(Object)}.
+     */
+    public long getGeneration() {
+        return generation;
     }
 
     public void setCellState(Cell cell, CellState state) {
-        if (isValidCell(cell)) {
+        long key = locate(cell.row(), cell.col());
+        if (key != OFF_GRID) {
             if (state.isAlive()) {
-                cells.put(cell, state);
+                set(CellKey.row(key), CellKey.col(key));
             } else {
-                cells.remove(cell);
+                clear(CellKey.row(key), CellKey.col(key));
             }
         }
     }
 
     public CellState getCellState(Cell cell) {
-        return cells.getOrDefault(cell, CellState.DEAD);
+        return CellState.fromBoolean(isAliveAt(cell.row(), cell.col()));
     }
 
+    /**
+     * Returns whether a cell is on the board. On a torus or Klein bottle every
+     * coordinate is, since it wraps onto the board.
+     */
     public boolean isValidCell(Cell cell) {
-        return cell.row() >= 0 && cell.row() < rows &&
-               cell.col() >= 0 && cell.col() < cols;
+        return topology != Topology.BOUNDED || inBounds(cell.row(), cell.col());
     }
 
+    /**
+     * Returns the cell's neighbours as board coordinates. With joined edges, a
+     * neighbour across an edge is its wrapped position; on boards narrower than
+     * three cells the same cell can appear more than once, as it is counted by
+     * {@link #countLiveNeighbors(Cell)}.
+     */
     public List<Cell> getNeighbors(Cell cell) {
         return Stream.of(
             cell.north(), cell.south(), cell.east(), cell.west(),
             cell.northEast(), cell.northWest(),
             cell.southEast(), cell.southWest()
         )
-        .filter(this::isValidCell)
+        .mapToLong(neighbor -> locate(neighbor.row(), neighbor.col()))
+        .filter(key -> key != OFF_GRID)
+        .mapToObj(CellKey::toCell)
         .toList();
     }
 
     public int countLiveNeighbors(Cell cell) {
-        return (int) getNeighbors(cell).stream()
-            .map(this::getCellState)
-            .filter(CellState::isAlive)
-            .count();
+        if (topology != Topology.BOUNDED) {
+            return countWrappedNeighbors(cell.row(), cell.col());
+        }
+        int count = 0;
+        for (int row = cell.row() - 1; row <= cell.row() + 1; row++) {
+            for (int col = cell.col() - 1; col <= cell.col() + 1; col++) {
+                if ((row != cell.row() || col != cell.col())
+                        && row >= 0 && row < rows && col >= 0 && col < cols
+                        && isAlive(row, col)) {
+                    count++;
+                }
+            }
+        }
+        return count;
     }
 
     public Set<Cell> getAllCells() {
@@ -89,39 +178,58 @@ public class Grid {
     }
 
     public Set<Cell> getLiveCells() {
-        return new HashSet<>(cells.keySet());
+        Set<Cell> live = new HashSet<>();
+        for (int row = 0; row < rows; row++) {
+            int offset = row * wordsPerRow;
+            for (int i = 0; i < wordsPerRow; i++) {
+                long word = words[offset + i];
+                while (word != 0) {
+                    live.add(Cell.of(row, (i << 6) + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Returns the smallest rectangle enclosing every live cell, or empty if none are alive.
+     */
+    public Optional<BoundingBox> boundingBox() {
+        if (population == 0) {
+            return Optional.empty();
+        }
+        int minRow = Integer.MAX_VALUE, maxRow = -1;
+        int minCol = Integer.MAX_VALUE, maxCol = -1;
+        for (int row = 0; row < rows; row++) {
+            int offset = row * wordsPerRow;
+            for (int i = 0; i < wordsPerRow; i++) {
+                long word = words[offset + i];
+                if (word != 0) {
+                    minRow = Math.min(minRow, row);
+                    maxRow = row;
+                    minCol = Math.min(minCol, (i << 6) + Long.numberOfTrailingZeros(word));
+                    maxCol = Math.max(maxCol, (i << 6) + 63 - Long.numberOfLeadingZeros(word));
+                }
+            }
+        }
+        return Optional.of(new BoundingBox(minRow, minCol, maxRow, maxCol));
     }
 
     public int countLiveCells() {
-        return cells.size();
+        return population;
     }
 
     public Grid evolveWith(GameRules rules) {
-        // Get all cells that need evaluation (live cells + their neighbors)
-        Set<Cell> cellsToEvaluate = cells.keySet().stream()
-            .flatMap(cell -> Stream.concat(
-                Stream.of(cell),
-                getNeighbors(cell).stream()
-            ))
-            .filter(this::isValidCell)
-            .collect(Collectors.toSet());
-
-        // Apply rules to determine next generation
-        Map<Cell, CellState> nextGeneration = new HashMap<>();
-        cellsToEvaluate.forEach(cell -> {
-            CellState current = getCellState(cell);
-            int neighbors = countLiveNeighbors(cell);
-            CellState next = rules.apply(current, neighbors);
-            if (next.isAlive()) {
-                nextGeneration.put(cell, next);
-            }
-        });
-
-        return new Grid(rows, cols, nextGeneration);
+        var random = rules instanceof ProbabilisticRule probabilistic ? probabilistic : null;
+        var rule = random != null ? random.base() : LifeRule.compile(rules);
+        long[] next = new long[words.length];
+        int nextPopulation = stepRows(next, 0, rows, rule, random);
+        return new Grid(rows, cols, topology, generation + 1, next, nextPopulation);
     }
 
     public Grid copy() {
-        return new Grid(rows, cols, new HashMap<>(cells));
+        return new Grid(rows, cols, topology, generation, words.clone(), population);
     }
 
     public int getRows() {
@@ -132,27 +240,193 @@ public class Grid {
         return cols;
     }
 
+    boolean isAlive(int row, int col) {
+        return (words[row * wordsPerRow + (col >>> 6)] & (1L << col)) != 0;
+    }
+
+    /**
+     * Returns whether the cell at any coordinate is alive, wrapping it onto the
+     * board as the topology requires; cells beyond a hard edge are dead.
+     */
+    boolean isAliveAt(int row, int col) {
+        long key = locate(row, col);
+        return key != OFF_GRID && isAlive(CellKey.row(key), CellKey.col(key));
+    }
+
+    /**
+     * Exposes the packed words (row-major, {@link #wordsPerRow()} per row) to the
+     * engines in this package. Callers must not modify the array.
+     */
+    long[] words() {
+        return words;
+    }
+
+    int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /**
+     * Writes rows {@code [fromRow, toRow)} of the next generation into
+     * {@code next}, joining edges as the topology requires.
+     *
+     * @param rule The deterministic rule, or the base of {@code random}
+     * @param random Probabilistic rule filtering the result, or null
+     * @return the number of live cells written
+     */
+    int stepRows(long[] next, int fromRow, int toRow, LifeRule rule, ProbabilisticRule random) {
+        int count = stepRows(next, fromRow, toRow, rule.birthMask(), rule.survivalMask());
+        return random == null ? count : random.sampleRows(words, next, wordsPerRow, fromRow, toRow, generation + 1);
+    }
+
+    private int stepRows(long[] next, int fromRow, int toRow, int birth, int survival) {
+        if (topology == Topology.BOUNDED) {
+            return BitKernel.stepRows(words, next, rows, wordsPerRow, BitKernel.lastWordMask(cols),
+                fromRow, toRow, birth, survival);
+        }
+        int count = 0;
+        for (int row = fromRow; row < toRow; row++) {
+            int above = rowAbove(row);
+            int below = rowBelow(row);
+            int offset = row * wordsPerRow;
+            BitKernel.stepRowWrapped(words,
+                offsetOf(above), offset, offsetOf(below),
+                offsetOf(haloRow(above)), offsetOf(haloRow(row)), offsetOf(haloRow(below)),
+                next, offset, wordsPerRow, cols, birth, survival);
+            count += BitKernel.bitCount(next, offset, wordsPerRow);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the row above {@code row}, wrapping if the topology joins the top
+     * and bottom edges, or -1 past a hard edge.
+     */
+    int rowAbove(int row) {
+        return topology == Topology.BOUNDED ? row - 1 : wrapRow(row - 1);
+    }
+
+    /**
+     * Returns the row below {@code row}, wrapping if the topology joins the top
+     * and bottom edges, or -1 past a hard edge.
+     */
+    int rowBelow(int row) {
+        return topology == Topology.BOUNDED ? (row + 1 < rows ? row + 1 : -1) : wrapRow(row + 1);
+    }
+
+    /**
+     * Returns the row whose cells lie beyond the left and right edges of
+     * {@code row}: the row itself on a torus, its mirror on a Klein bottle, or -1
+     * for hard edges and for rows that do not exist.
+     */
+    int haloRow(int row) {
+        if (row < 0) {
+            return -1;
+        }
+        return switch (topology) {
+            case BOUNDED -> -1;
+            case TORUS -> row;
+            case KLEIN_BOTTLE -> rows - 1 - row;
+        };
+    }
+
+    private int offsetOf(int row) {
+        return row < 0 ? -1 : row * wordsPerRow;
+    }
+
+    /**
+     * Maps a coordinate onto the board as a packed {@link CellKey}, or returns
+     * {@link #OFF_GRID} if it lies beyond a hard edge.
+     */
+    private long locate(int row, int col) {
+        return switch (topology) {
+            case BOUNDED -> inBounds(row, col) ? CellKey.pack(row, col) : OFF_GRID;
+            case TORUS -> CellKey.pack(wrapRow(row), wrapCol(col));
+            case KLEIN_BOTTLE -> CellKey.pack(wrapRow(crossesOddly(col) ? rows - 1 - row : row), wrapCol(col));
+        };
+    }
+
+    private int countWrappedNeighbors(int row, int col) {
+        int count = 0;
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                if (dr != 0 || dc != 0) {
+                    long key = locate(row + dr, col + dc);
+                    if (isAlive(CellKey.row(key), CellKey.col(key))) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private boolean inBounds(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    private int wrapRow(int row) {
+        return rowMask >= 0 ? row & rowMask : Math.floorMod(row, rows);
+    }
+
+    private int wrapCol(int col) {
+        return colMask >= 0 ? col & colMask : Math.floorMod(col, cols);
+    }
+
+    /**
+     * Returns whether reaching {@code col} crosses the left and right edges an
+     * odd number of times; for a power-of-two width that is a single bit test.
+     */
+    private boolean crossesOddly(int col) {
+        return colMask >= 0 ? (col & cols) != 0 : (Math.floorDiv(col, cols) & 1) != 0;
+    }
+
+    /**
+     * Returns {@code size - 1} for a power of two, which wraps by masking, or -1.
+     */
+    private static int maskFor(int size) {
+        return Integer.bitCount(size) == 1 ? size - 1 : -1;
+    }
+
+    private void set(int row, int col) {
+        int index = row * wordsPerRow + (col >>> 6);
+        long bit = 1L << col;
+        if ((words[index] & bit) == 0) {
+            words[index] |= bit;
+            population++;
+        }
+    }
+
+    private void clear(int row, int col) {
+        int index = row * wordsPerRow + (col >>> 6);
+        long bit = 1L << col;
+        if ((words[index] & bit) != 0) {
+            words[index] &= ~bit;
+            population--;
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
         if (!(obj instanceof Grid other)) return false;
-        return rows == other.rows && cols == other.cols && cells.equals(other.cells);
+        return rows == other.rows && cols == other.cols && topology == other.topology
+            && Arrays.equals(words, other.words);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(rows, cols, cells);
+        return Objects.hash(rows, cols, topology.ordinal(), Arrays.hashCode(words));
     }
 
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = new StringBuilder(rows * (cols + 1));
         for (int row = 0; row < rows; row++) {
             for (int col = 0; col < cols; col++) {
-                sb.append(getCellState(Cell.of(row, col)).symbol());
+                sb.append(CellState.fromBoolean(isAlive(row, col)).symbol());
             }
             if (row < rows - 1) sb.append('\n');
         }
         return sb.toString();
     }
-}
\ No newline at end of file
+}
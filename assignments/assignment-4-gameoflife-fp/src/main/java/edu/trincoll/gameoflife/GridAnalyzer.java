@@ -2,41 +2,51 @@ package edu.trincoll.gameoflife;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Queries about a grid's neighbourhoods. Each method makes one bit-parallel
+ * counting pass through {@link NeighborCounts}; callers asking several questions
+ * about the same grid can take the counts from {@link #neighborCounts(Grid)}
+ * once and query them directly.
+ */
 public class GridAnalyzer {
 
+    /**
+     * Counts the live neighbours of every cell in a single pass.
+     *
+     * @param grid The grid to analyze
+     * @return Neighbour counts of the grid as it is now
+     */
+    public NeighborCounts neighborCounts(Grid grid) {
+        return NeighborCounts.of(grid);
+    }
+
     /**
      * Finds all cells that will change state in the next generation.
      * <p>
-     * SIMPLIFIED: Provided partial implementation
+     * The rules are applied to the counted neighbourhoods directly, so the next
+     * generation is never built.
      *
      * @param grid The current grid state
      * @param rules The game rules to apply
      * @return Stream of cells that will change state
      */
     public Stream<Cell> findChangingCells(Grid grid, GameRules rules) {
-        Grid nextGen = grid.evolveWith(rules);
-
-        // TODO: Return a stream of cells where the state is different
-        // Hint: Use grid.getAllCells().stream()
-        // Filter where grid.getCellState(cell) != nextGen.getCellState(cell)
-        throw new UnsupportedOperationException("Not implemented - complete using TDD");
+        return neighborCounts(grid).changingCells(rules);
     }
 
     /**
      * Groups cells by their number of live neighbors.
      * <p>
-     * EXAMPLE IMPLEMENTATION PROVIDED
+     * Only counts that occur are keys, and a count's list of cells is built the
+     * first time it is read.
      *
      * @param grid The grid to analyze
      * @return Map from neighbor count (0-8) to list of cells with that many neighbors
      */
     public Map<Integer, List<Cell>> groupByNeighborCount(Grid grid) {
-        // Example of using Collectors.groupingBy
-        return grid.getAllCells().stream()
-            .collect(Collectors.groupingBy(grid::countLiveNeighbors));
+        return neighborCounts(grid).asMap();
     }
 
     /**
@@ -46,10 +56,7 @@ public class GridAnalyzer {
      * @return Stream of cells that have no live neighbors
      */
     public Stream<Cell> findIsolatedCells(Grid grid) {
-        // TODO: Return live cells with no live neighbors
-        // Hint: Start with grid.getLiveCells().stream()
-        // Filter where grid.countLiveNeighbors(cell) == 0
-        throw new UnsupportedOperationException("Not implemented - complete using TDD");
+        return neighborCounts(grid).liveCellsWith(0);
     }
 
     /**
@@ -59,9 +66,6 @@ public class GridAnalyzer {
      * @return The ratio of live cells to total cells (0.0 to 1.0)
      */
     public double calculateDensity(Grid grid) {
-        // TODO: Simple calculation
-        // Hint: grid.countLiveCells() / (grid.getRows() * grid.getCols())
-        // Remember to cast to double!
-        throw new UnsupportedOperationException("Not implemented - complete using TDD");
+        return (double) grid.countLiveCells() / ((long) grid.getRows() * grid.getCols());
     }
-}
\ No newline at end of file
+}
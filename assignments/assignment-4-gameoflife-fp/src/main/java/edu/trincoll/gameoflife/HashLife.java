@@ -0,0 +1,510 @@
+package edu.trincoll.gameoflife;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Gosper's HashLife engine for very long runs on an unbounded plane.
+ * <p>
+ * The universe is a canonicalized quadtree: every distinct square of cells is
+ * stored once in a node cache, and each node memoizes its RESULT, the centre half
+ * of the square advanced 2^(level-2) generations. Repetitive patterns therefore
+ * reuse almost all of their work, and {@link #jump(int)} can advance a pattern by
+ * 2^k generations in a single call.
+ * <p>
+ * Instances are immutable snapshots. Snapshots derived from the same
+ * {@link #from(Grid, GameRules)} call share their node cache, so they must not be
+ * stepped from multiple threads at once.
+ */
+public final class HashLife {
+
+    private static final int MIN_LEVEL = 3;
+    private static final int MAX_LEVEL = 62;
+    private static final int DEFAULT_CACHE_LIMIT = 1 << 22;
+
+    private final NodeCache cache;
+    private final Node root;
+    private final long generation;
+
+    private HashLife(NodeCache cache, Node root, long generation) {
+        this.cache = cache;
+        this.root = root;
+        this.generation = generation;
+    }
+
+    /**
+     * Builds a universe from a grid. Grid cell (row, col) keeps the same coordinates.
+     *
+     * @param grid The initial cells
+     * @param rules Birth/survival rules; evaluated once per neighbour count
+     * @return A universe at generation 0
+     */
+    public static HashLife from(Grid grid, GameRules rules) {
+        return from(grid, rules, DEFAULT_CACHE_LIMIT);
+    }
+
+    /**
+     * Builds a universe from a grid with an explicit node cache limit. When a step
+     * leaves more nodes than the limit in the cache, the cache is rebuilt from the
+     * current root only.
+     */
+    public static HashLife from(Grid grid, GameRules rules, int cacheLimit) {
+        if (cacheLimit <= 0) {
+            throw new IllegalArgumentException("Cache limit must be positive: " + cacheLimit);
+        }
+        var cache = new NodeCache(rules, cacheLimit);
+        int level = MIN_LEVEL;
+        while ((1L << (level - 1)) < Math.max(grid.getRows(), grid.getCols())) {
+            level++;
+        }
+        long origin = -(1L << (level - 1));
+        return new HashLife(cache, cache.build(grid, level, origin, origin), 0);
+    }
+
+    public static HashLife from(Pattern pattern, GameRules rules) {
+        return from(pattern.toGrid(), rules);
+    }
+
+    /**
+     * Advances the universe by 2^log2Generations generations at once.
+     *
+     * @param log2Generations Base-2 logarithm of the number of generations
+     * @return The advanced universe
+     */
+    public HashLife jump(int log2Generations) {
+        if (log2Generations < 0 || log2Generations > MAX_LEVEL - 4) {
+            throw new IllegalArgumentException(
+                "Jump must be between 2^0 and 2^%d generations: 2^%d".formatted(MAX_LEVEL - 4, log2Generations)
+            );
+        }
+        Node expanded = root;
+        while (expanded.level < log2Generations + 2 || cache.centre(expanded).population != expanded.population) {
+            expanded = cache.expand(expanded);
+        }
+        expanded = cache.expand(expanded);
+
+        Node next = cache.shrink(cache.advance(expanded, log2Generations));
+        cache.collectGarbageIfNeeded(next);
+        return new HashLife(cache, next, Math.addExact(generation, 1L << log2Generations));
+    }
+
+    /**
+     * Advances the universe by an arbitrary number of generations, one jump per set bit.
+     */
+    public HashLife advance(long generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Generations must be non-negative: " + generations);
+        }
+        HashLife current = this;
+        for (int bit = 0; generations >> bit != 0; bit++) {
+            if ((generations & (1L << bit)) != 0) {
+                current = current.jump(bit);
+            }
+        }
+        return current;
+    }
+
+    public long population() {
+        return root.population;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the smallest rectangle enclosing every live cell, or empty if none are alive.
+     */
+    public Optional<BoundingBox> boundingBox() {
+        long[] bounds = relativeBounds(root, new IdentityHashMap<>());
+        if (bounds == null) {
+            return Optional.empty();
+        }
+        long origin = rootOrigin();
+        return Optional.of(new BoundingBox(
+            origin + bounds[0], origin + bounds[1], origin + bounds[2], origin + bounds[3]
+        ));
+    }
+
+    public CellState getCellState(long row, long col) {
+        long origin = rootOrigin();
+        long size = 1L << root.level;
+        if (row < origin || col < origin || row - origin >= size || col - origin >= size) {
+            return CellState.DEAD;
+        }
+        Node node = root;
+        long top = origin;
+        long left = origin;
+        while (node.level > 0) {
+            long half = 1L << (node.level - 1);
+            boolean south = row >= top + half;
+            boolean east = col >= left + half;
+            node = south ? (east ? node.se : node.sw) : (east ? node.ne : node.nw);
+            top += south ? half : 0;
+            left += east ? half : 0;
+        }
+        return CellState.fromBoolean(node.population != 0);
+    }
+
+    /**
+     * Copies a window of the universe into a new grid.
+     *
+     * @param top Universe row of the grid's row 0
+     * @param left Universe column of the grid's column 0
+     * @param rows Window height
+     * @param cols Window width
+     * @return A grid holding the live cells inside the window
+     */
+    public Grid toGrid(long top, long left, int rows, int cols) {
+        var grid = new Grid(rows, cols);
+        long origin = rootOrigin();
+        fill(grid, root, origin, origin, top, left);
+        return grid;
+    }
+
+    /**
+     * Copies the window anchored at the origin, matching the coordinates of the
+     * grid this universe was built from.
+     */
+    public Grid toGrid(int rows, int cols) {
+        return toGrid(0, 0, rows, cols);
+    }
+
+    int cacheSize() {
+        return cache.nodes.size();
+    }
+
+    private long rootOrigin() {
+        return -(1L << (root.level - 1));
+    }
+
+    private static void fill(Grid grid, Node node, long nodeTop, long nodeLeft, long top, long left) {
+        long size = 1L << node.level;
+        if (node.population == 0
+                || nodeTop >= top + grid.getRows() || nodeTop + size <= top
+                || nodeLeft >= left + grid.getCols() || nodeLeft + size <= left) {
+            return;
+        }
+        if (node.level == 0) {
+            grid.setCellState(Cell.of((int) (nodeTop - top), (int) (nodeLeft - left)), CellState.ALIVE);
+            return;
+        }
+        long half = size >> 1;
+        fill(grid, node.nw, nodeTop, nodeLeft, top, left);
+        fill(grid, node.ne, nodeTop, nodeLeft + half, top, left);
+        fill(grid, node.sw, nodeTop + half, nodeLeft, top, left);
+        fill(grid, node.se, nodeTop + half, nodeLeft + half, top, left);
+    }
+
+    /**
+     * Returns {minRow, minCol, maxRow, maxCol} relative to the node's top-left corner,
+     * memoized per node so shared subtrees are only measured once.
+     */
+    private static long[] relativeBounds(Node node, Map<Node, long[]> memo) {
+        if (node.population == 0) {
+            return null;
+        }
+        if (node.level == 0) {
+            return new long[] {0, 0, 0, 0};
+        }
+        long[] cached = memo.get(node);
+        if (cached != null) {
+            return cached;
+        }
+        long half = 1L << (node.level - 1);
+        long[] bounds = null;
+        Node[] children = {node.nw, node.ne, node.sw, node.se};
+        for (int i = 0; i < 4; i++) {
+            long[] child = relativeBounds(children[i], memo);
+            if (child == null) {
+                continue;
+            }
+            long rowOffset = i >= 2 ? half : 0;
+            long colOffset = (i & 1) != 0 ? half : 0;
+            long[] shifted = {
+                child[0] + rowOffset, child[1] + colOffset, child[2] + rowOffset, child[3] + colOffset
+            };
+            bounds = bounds == null ? shifted : new long[] {
+                Math.min(bounds[0], shifted[0]), Math.min(bounds[1], shifted[1]),
+                Math.max(bounds[2], shifted[2]), Math.max(bounds[3], shifted[3])
+            };
+        }
+        memo.put(node, bounds);
+        return bounds;
+    }
+
+    /**
+     * A square of 2^level cells on a side. Level-0 nodes are the two leaf cells.
+     * Nodes compare by child identity, which is sound because children are canonical.
+     */
+    private static final class Node {
+        final int level;
+        final Node nw, ne, sw, se;
+        final long population;
+        final int hash;
+        Node result;
+
+        Node(boolean alive) {
+            this.level = 0;
+            this.nw = this.ne = this.sw = this.se = null;
+            this.population = alive ? 1 : 0;
+            this.hash = alive ? 1 : 0;
+        }
+
+        Node(Node nw, Node ne, Node sw, Node se) {
+            this.level = nw.level + 1;
+            this.nw = nw;
+            this.ne = ne;
+            this.sw = sw;
+            this.se = se;
+            this.population = nw.population + ne.population + sw.population + se.population;
+            int h = System.identityHashCode(nw);
+            h = h * 0x9E3779B1 + System.identityHashCode(ne);
+            h = h * 0x9E3779B1 + System.identityHashCode(sw);
+            h = h * 0x9E3779B1 + System.identityHashCode(se);
+            this.hash = h ^ (h >>> 16);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Node other
+                && level == other.level
+                && nw == other.nw && ne == other.ne && sw == other.sw && se == other.se;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Canonical node store plus the memo tables for RESULT and partial-speed steps.
+     */
+    private static final class NodeCache {
+        private static final Node DEAD = new Node(false);
+        private static final Node ALIVE = new Node(true);
+
+        final int birth;
+        final int survival;
+        final int limit;
+        final Map<Node, Node> nodes = new HashMap<>();
+        final List<Node> empties = new ArrayList<>(List.of(DEAD));
+        final Map<Integer, Map<Node, Node>> partialResults = new HashMap<>();
+
+        NodeCache(GameRules rules, int limit) {
+            var rule = LifeRule.compile(rules);
+            this.birth = rule.birthMask() & ~1;
+            this.survival = rule.survivalMask();
+            this.limit = limit;
+        }
+
+        Node join(Node nw, Node ne, Node sw, Node se) {
+            var candidate = new Node(nw, ne, sw, se);
+            var existing = nodes.putIfAbsent(candidate, candidate);
+            return existing == null ? candidate : existing;
+        }
+
+        Node empty(int level) {
+            while (empties.size() <= level) {
+                Node smaller = empties.getLast();
+                empties.add(join(smaller, smaller, smaller, smaller));
+            }
+            return empties.get(level);
+        }
+
+        Node build(Grid grid, int level, long top, long left) {
+            long size = 1L << level;
+            if (top >= grid.getRows() || left >= grid.getCols() || top + size <= 0 || left + size <= 0) {
+                return empty(level);
+            }
+            if (level == 0) {
+                return grid.isAlive((int) top, (int) left) ? ALIVE : DEAD;
+            }
+            long half = size >> 1;
+            return join(
+                build(grid, level - 1, top, left), build(grid, level - 1, top, left + half),
+                build(grid, level - 1, top + half, left), build(grid, level - 1, top + half, left + half)
+            );
+        }
+
+        Node centre(Node node) {
+            return join(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw);
+        }
+
+        /**
+         * Doubles the side of a node, keeping it centred.
+         */
+        Node expand(Node node) {
+            if (node.level >= MAX_LEVEL) {
+                throw new IllegalStateException("Pattern outgrew the maximum universe size of 2^" + MAX_LEVEL);
+            }
+            Node border = empty(node.level - 1);
+            return join(
+                join(border, border, border, node.nw),
+                join(border, border, node.ne, border),
+                join(border, node.sw, border, border),
+                join(node.se, border, border, border)
+            );
+        }
+
+        /**
+         * Halves a node while its outer ring is empty, keeping it centred.
+         */
+        Node shrink(Node node) {
+            while (node.level > MIN_LEVEL) {
+                Node inner = centre(node);
+                if (inner.population != node.population) {
+                    break;
+                }
+                node = inner;
+            }
+            return node;
+        }
+
+        /**
+         * Returns the centre of {@code node} advanced 2^step generations,
+         * where {@code step <= node.level - 2}.
+         */
+        Node advance(Node node, int step) {
+            if (node.population == 0) {
+                return empty(node.level - 1);
+            }
+            if (step == node.level - 2) {
+                return result(node);
+            }
+            var memo = partialResults.computeIfAbsent(step, k -> new HashMap<>());
+            Node cached = memo.get(node);
+            if (cached != null) {
+                return cached;
+            }
+            Node[] squares = centres(subSquares(node));
+            Node advanced = combine(squares, quad -> advance(quad, step));
+            memo.put(node, advanced);
+            return advanced;
+        }
+
+        /**
+         * RESULT(n): the centre of {@code node} advanced 2^(level-2) generations.
+         */
+        Node result(Node node) {
+            if (node.result != null) {
+                return node.result;
+            }
+            Node computed;
+            if (node.population == 0) {
+                computed = empty(node.level - 1);
+            } else if (node.level == 2) {
+                computed = baseCase(node);
+            } else {
+                Node[] squares = subSquares(node);
+                for (int i = 0; i < squares.length; i++) {
+                    squares[i] = result(squares[i]);
+                }
+                computed = combine(squares, this::result);
+            }
+            node.result = computed;
+            return computed;
+        }
+
+        /**
+         * The nine overlapping level-1 sub-squares of a node, in row-major order.
+         */
+        private Node[] subSquares(Node n) {
+            return new Node[] {
+                n.nw,
+                join(n.nw.ne, n.ne.nw, n.nw.se, n.ne.sw),
+                n.ne,
+                join(n.nw.sw, n.nw.se, n.sw.nw, n.sw.ne),
+                join(n.nw.se, n.ne.sw, n.sw.ne, n.se.nw),
+                join(n.ne.sw, n.ne.se, n.se.nw, n.se.ne),
+                n.sw,
+                join(n.sw.ne, n.se.nw, n.sw.se, n.se.sw),
+                n.se
+            };
+        }
+
+        private Node[] centres(Node[] squares) {
+            for (int i = 0; i < squares.length; i++) {
+                squares[i] = centre(squares[i]);
+            }
+            return squares;
+        }
+
+        /**
+         * Joins a 3x3 arrangement of squares into four overlapping quadrants,
+         * steps each one and joins the results.
+         */
+        private Node combine(Node[] s, UnaryOperator<Node> step) {
+            return join(
+                step.apply(join(s[0], s[1], s[3], s[4])),
+                step.apply(join(s[1], s[2], s[4], s[5])),
+                step.apply(join(s[3], s[4], s[6], s[7])),
+                step.apply(join(s[4], s[5], s[7], s[8]))
+            );
+        }
+
+        /**
+         * Steps the centre 2x2 of a 4x4 node by one generation directly.
+         */
+        private Node baseCase(Node node) {
+            int bits = 0;
+            Node[] quadrants = {node.nw, node.ne, node.sw, node.se};
+            for (int q = 0; q < 4; q++) {
+                Node quadrant = quadrants[q];
+                Node[] cells = {quadrant.nw, quadrant.ne, quadrant.sw, quadrant.se};
+                for (int c = 0; c < 4; c++) {
+                    int row = (q >> 1) * 2 + (c >> 1);
+                    int col = (q & 1) * 2 + (c & 1);
+                    if (cells[c].population != 0) {
+                        bits |= 1 << (row * 4 + col);
+                    }
+                }
+            }
+            return join(nextCell(bits, 1, 1), nextCell(bits, 1, 2), nextCell(bits, 2, 1), nextCell(bits, 2, 2));
+        }
+
+        private Node nextCell(int bits, int row, int col) {
+            int neighbors = 0;
+            for (int r = row - 1; r <= row + 1; r++) {
+                for (int c = col - 1; c <= col + 1; c++) {
+                    if ((r != row || c != col) && (bits & (1 << (r * 4 + c))) != 0) {
+                        neighbors++;
+                    }
+                }
+            }
+            boolean alive = (bits & (1 << (row * 4 + col))) != 0;
+            int mask = alive ? survival : birth;
+            return (mask & (1 << neighbors)) != 0 ? ALIVE : DEAD;
+        }
+
+        /**
+         * Rebuilds the cache from the live tree when it has grown past the limit.
+         * Nodes dropped from the cache stay valid; they are simply no longer shared.
+         */
+        void collectGarbageIfNeeded(Node root) {
+            if (nodes.size() <= limit) {
+                return;
+            }
+            nodes.clear();
+            partialResults.clear();
+            empties.subList(1, empties.size()).clear();
+            retain(root);
+        }
+
+        private void retain(Node node) {
+            if (node.level == 0 || nodes.putIfAbsent(node, node) != null) {
+                return;
+            }
+            retain(node.nw);
+            retain(node.ne);
+            retain(node.sw);
+            retain(node.se);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package edu.trincoll.gameoflife;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An unbounded engine that only re-evaluates the neighbourhoods of cells that
+ * changed in the previous generation.
+ * <p>
+ * A cell can only change if something in its 3x3 neighbourhood changed, so
+ * settled still lifes cost nothing. The plane is also divided into 16x16 tiles:
+ * when a tile and its eight neighbouring tiles made exactly the same changes in
+ * the last two generations, the tile's region is period 2 (or unchanged), and
+ * the tile is put to sleep and simply replays its last changes without looking
+ * at any cell. Blinkers, toads and beacons in a settled soup therefore cost one
+ * array copy per generation.
+ * <p>
+ * The population is maintained incrementally, so {@link #countLiveCells()} is
+ * O(1), and every step is reported to the registered {@link GenerationListener}s.
+ */
+public final class IncrementalUniverse {
+
+    private static final int TILE_SHIFT = 4;
+    private static final long[] NO_CHANGES = new long[0];
+
+    private final LifeRule rule;
+    private final LongHashSet live;
+    private final List<GenerationListener> listeners = new ArrayList<>();
+    private LongObjectHashMap<long[]> lastChanges;
+    private LongObjectHashMap<long[]> previousChanges = new LongObjectHashMap<>();
+    private long generation;
+    private int lastEvaluated;
+    private int lastSleepingTiles;
+
+    private IncrementalUniverse(LongHashSet live, GameRules rules) {
+        var compiled = LifeRule.compile(rules);
+        // Candidates include dead cells with no live neighbours, which must never be born
+        this.rule = new LifeRule(compiled.birthMask() & ~1, compiled.survivalMask());
+        this.live = live;
+        // Treat the starting cells as generation 0's changes so every tile is evaluated once
+        this.lastChanges = groupByTile(live.toArray());
+    }
+
+    public static IncrementalUniverse from(Grid grid, GameRules rules) {
+        return from(SparseUniverse.from(grid), rules);
+    }
+
+    public static IncrementalUniverse from(SparseUniverse universe, GameRules rules) {
+        return new IncrementalUniverse(new LongHashSet(universe.liveKeys()), rules);
+    }
+
+    public static IncrementalUniverse from(Pattern pattern, GameRules rules) {
+        return from(pattern.toGrid(), rules);
+    }
+
+    public void addListener(GenerationListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GenerationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Advances one generation and notifies the listeners.
+     *
+     * @return The births and deaths of the new generation
+     */
+    public GenerationDelta step() {
+        var sleeping = new LongHashSet();
+        var awake = new LongHashSet();
+        var visited = new LongHashSet();
+        var changes = new LongList();
+        int[] evaluated = {0};
+
+        lastChanges.forEach((tile, cells) -> {
+            if (isSleeping(tile, sleeping, awake)) {
+                // The region is period 2: the tile repeats the changes it just made
+                for (long cell : cells) {
+                    changes.add(cell);
+                }
+            }
+            for (long cell : cells) {
+                int row = CellKey.row(cell);
+                int col = CellKey.col(cell);
+                for (int dr = -1; dr <= 1; dr++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        long candidate = CellKey.pack(row + dr, col + dc);
+                        if (!visited.add(candidate) || isSleeping(tileOf(candidate), sleeping, awake)) {
+                            continue;
+                        }
+                        evaluated[0]++;
+                        boolean alive = live.contains(candidate);
+                        if (rule.next(alive, countLiveNeighbors(candidate)) != alive) {
+                            changes.add(candidate);
+                        }
+                    }
+                }
+            }
+        });
+
+        var births = new LongList();
+        var deaths = new LongList();
+        changes.forEach(cell -> {
+            if (live.remove(cell)) {
+                deaths.add(cell);
+            } else {
+                live.add(cell);
+                births.add(cell);
+            }
+        });
+
+        generation++;
+        lastEvaluated = evaluated[0];
+        lastSleepingTiles = sleeping.size();
+        previousChanges = lastChanges;
+        lastChanges = groupByTile(changes.toArray());
+
+        var delta = new GenerationDelta(generation, births.toArray(), deaths.toArray(), live.size());
+        listeners.forEach(listener -> listener.onGeneration(delta));
+        return delta;
+    }
+
+    /**
+     * Advances several generations.
+     */
+    public void step(int generations) {
+        for (int i = 0; i < generations; i++) {
+            step();
+        }
+    }
+
+    public int countLiveCells() {
+        return live.size();
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public CellState getCellState(Cell cell) {
+        return CellState.fromBoolean(live.contains(CellKey.of(cell)));
+    }
+
+    public SparseUniverse toSparseUniverse() {
+        var universe = new SparseUniverse();
+        live.forEach(key -> universe.setCellState(CellKey.toCell(key), CellState.ALIVE));
+        return universe;
+    }
+
+    /**
+     * Number of cells whose rule was evaluated in the last step.
+     */
+    int lastEvaluatedCells() {
+        return lastEvaluated;
+    }
+
+    /**
+     * Number of tiles found asleep during the last step.
+     */
+    int lastSleepingTiles() {
+        return lastSleepingTiles;
+    }
+
+    private int countLiveNeighbors(long cell) {
+        int row = CellKey.row(cell);
+        int col = CellKey.col(cell);
+        int count = 0;
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                if ((dr != 0 || dc != 0) && live.contains(CellKey.pack(row + dr, col + dc))) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * A tile sleeps when it and its eight neighbouring tiles changed exactly the
+     * same cells in the last two generations: then the state two generations ago
+     * equals the current one around every cell of the tile, so the tile's next
+     * changes equal its last ones.
+     */
+    private boolean isSleeping(long tile, LongHashSet sleeping, LongHashSet awake) {
+        if (sleeping.contains(tile)) {
+            return true;
+        }
+        if (awake.contains(tile)) {
+            return false;
+        }
+        int tileRow = CellKey.row(tile);
+        int tileCol = CellKey.col(tile);
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                if (!isStable(CellKey.pack(tileRow + dr, tileCol + dc))) {
+                    awake.add(tile);
+                    return false;
+                }
+            }
+        }
+        sleeping.add(tile);
+        return true;
+    }
+
+    private boolean isStable(long tile) {
+        long[] last = lastChanges.get(tile);
+        long[] previous = previousChanges.get(tile);
+        return Arrays.equals(last == null ? NO_CHANGES : last, previous == null ? NO_CHANGES : previous);
+    }
+
+    private static long tileOf(long cell) {
+        return CellKey.pack(CellKey.row(cell) >> TILE_SHIFT, CellKey.col(cell) >> TILE_SHIFT);
+    }
+
+    /**
+     * Groups changed cells by tile, each tile's cells sorted so change sets can be
+     * compared with {@link Arrays#equals(long[], long[])}.
+     */
+    private static LongObjectHashMap<long[]> groupByTile(long[] cells) {
+        var lists = new LongObjectHashMap<LongList>();
+        for (long cell : cells) {
+            lists.computeIfAbsent(tileOf(cell), tile -> new LongList()).add(cell);
+        }
+        var grouped = new LongObjectHashMap<long[]>(lists.size());
+        lists.forEach((tile, list) -> {
+            long[] sorted = list.toArray();
+            Arrays.sort(sorted);
+            grouped.put(tile, sorted);
+        });
+        return grouped;
+    }
+}
@@ -0,0 +1,151 @@
+package edu.trincoll.gameoflife;
+
+/**
+ * A Larger than Life rule: a two-state totalistic rule over a neighbourhood of
+ * any range.
+ * <p>
+ * A cell's count is the number of live cells in its {@link Neighborhood} of the
+ * given range, including the cell itself when {@code includeCenter} is set. A
+ * live cell survives when its count lies in {@code [survivalMin, survivalMax]} and
+ * a dead cell is born when it lies in {@code [birthMin, birthMax]}. As with
+ * {@link LifeRule}, births on a count of zero are never applied. Conway's Life is
+ * {@code R1,C0,M0,S2..3,B3..3,NM}.
+ * <p>
+ * {@link #parse(String)} reads the notation Golly uses, such as
+ * {@code R5,C0,M1,S34..58,B34..45,NM}, and the older seven-number form
+ * {@code 5,0,1,34,58,34,45} (range, states, centre, survival and birth bounds).
+ */
+public record LargerThanLifeRule(int range, Neighborhood neighborhood, boolean includeCenter,
+                                 int survivalMin, int survivalMax, int birthMin, int birthMax) {
+
+    /**
+     * Largest range accepted, as in Golly.
+     */
+    public static final int MAX_RANGE = 500;
+
+    /**
+     * Kellie Evans' "Bosco's rule", whose gliders (bugs) move through a sea of still lifes.
+     */
+    public static final LargerThanLifeRule BOSCO = parse("R5,C0,M1,S34..58,B34..45,NM");
+
+    public LargerThanLifeRule {
+        if (range < 1 || range > MAX_RANGE) {
+            throw new IllegalArgumentException(
+                "Range must be between 1 and %d: %d".formatted(MAX_RANGE, range));
+        }
+        int size = neighborhood.size(range);
+        if (survivalMin < 0 || survivalMin > survivalMax || survivalMax > size
+                || birthMin < 0 || birthMin > birthMax || birthMax > size) {
+            throw new IllegalArgumentException(
+                "Counts must be ordered ranges within 0..%d: S%d..%d B%d..%d".formatted(
+                    size, survivalMin, survivalMax, birthMin, birthMax));
+        }
+    }
+
+    /**
+     * Parses a Larger than Life rulestring.
+     *
+     * @param rulestring A rule such as {@code "R5,C0,M1,S34..58,B34..45,NM"} or {@code "5,0,1,34,58,34,45"}
+     * @return The parsed rule
+     * @throws IllegalArgumentException if the rule is malformed or has more than two states
+     */
+    public static LargerThanLifeRule parse(String rulestring) {
+        var fields = rulestring.strip().split(",");
+        try {
+            if (fields.length == 7 && Character.isDigit(fields[0].strip().charAt(0))) {
+                int[] values = new int[7];
+                for (int i = 0; i < 7; i++) {
+                    values[i] = Integer.parseInt(fields[i].strip());
+                }
+                checkStates(values[1], rulestring);
+                return new LargerThanLifeRule(values[0], Neighborhood.MOORE, parseFlag(values[2], rulestring),
+                    values[3], values[4], values[5], values[6]);
+            }
+            int range = -1;
+            var neighborhood = Neighborhood.MOORE;
+            boolean includeCenter = false;
+            int[] survival = null;
+            int[] birth = null;
+            for (var field : fields) {
+                var token = field.strip();
+                if (token.isEmpty()) {
+                    throw new IllegalArgumentException("Empty field in Larger than Life rule: " + rulestring);
+                }
+                var value = token.substring(1);
+                switch (Character.toUpperCase(token.charAt(0))) {
+                    case 'R' -> range = Integer.parseInt(value);
+                    case 'C' -> checkStates(Integer.parseInt(value), rulestring);
+                    case 'M' -> includeCenter = parseFlag(Integer.parseInt(value), rulestring);
+                    case 'S' -> survival = parseBounds(value);
+                    case 'B' -> birth = parseBounds(value);
+                    case 'N' -> {
+                        if (value.length() != 1) {
+                            throw new IllegalArgumentException("Unsupported neighbourhood in " + rulestring);
+                        }
+                        neighborhood = Neighborhood.fromCode(value.charAt(0));
+                    }
+                    default -> throw new IllegalArgumentException(
+                        "Unknown field '%s' in Larger than Life rule: %s".formatted(token, rulestring));
+                }
+            }
+            if (range < 0 || survival == null || birth == null) {
+                throw new IllegalArgumentException("Larger than Life rule needs R, S and B fields: " + rulestring);
+            }
+            return new LargerThanLifeRule(range, neighborhood, includeCenter,
+                survival[0], survival[1], birth[0], birth[1]);
+        } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid Larger than Life rule: " + rulestring, e);
+        }
+    }
+
+    /**
+     * Returns whether a rulestring is written in Larger than Life notation rather
+     * than B/S notation.
+     */
+    static boolean isLargerThanLife(String rulestring) {
+        var rule = rulestring.strip();
+        return rule.indexOf(',') >= 0
+            || rule.length() > 1 && Character.toUpperCase(rule.charAt(0)) == 'R' && Character.isDigit(rule.charAt(1));
+    }
+
+    /**
+     * Returns whether a cell will be alive in the next generation.
+     *
+     * @param alive Whether the cell is alive now
+     * @param count Live cells in its neighbourhood, counting the cell itself only if {@link #includeCenter()}
+     */
+    public boolean next(boolean alive, int count) {
+        return alive
+            ? count >= survivalMin && count <= survivalMax
+            : count > 0 && count >= birthMin && count <= birthMax;
+    }
+
+    @Override
+    public String toString() {
+        return "R%d,C0,M%d,S%d..%d,B%d..%d,N%c".formatted(range, includeCenter ? 1 : 0,
+            survivalMin, survivalMax, birthMin, birthMax, neighborhood.code());
+    }
+
+    private static int[] parseBounds(String value) {
+        int dots = value.indexOf("..");
+        if (dots < 0) {
+            int count = Integer.parseInt(value);
+            return new int[] {count, count};
+        }
+        return new int[] {Integer.parseInt(value.substring(0, dots)), Integer.parseInt(value.substring(dots + 2))};
+    }
+
+    private static void checkStates(int states, String rulestring) {
+        // C0 and C2 both mean two states
+        if (states != 0 && states != 2) {
+            throw new IllegalArgumentException("Only two-state Larger than Life rules are supported: " + rulestring);
+        }
+    }
+
+    private static boolean parseFlag(int flag, String rulestring) {
+        if (flag != 0 && flag != 1) {
+            throw new IllegalArgumentException("Centre flag must be 0 or 1: " + rulestring);
+        }
+        return flag == 1;
+    }
+}
@@ -0,0 +1,180 @@
+package edu.trincoll.gameoflife;
+
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * An outer-totalistic birth/survival rule compiled into two 9-bit masks.
+ * <p>
+ * Bit {@code n} of {@code birthMask} is set when a dead cell with {@code n} live
+ * neighbours is born; bit {@code n} of {@code survivalMask} is set when a live cell
+ * with {@code n} live neighbours survives. Together they form the 18-bit
+ * {@link #mask()} that the engines evaluate without boxing or set lookups.
+ * <p>
+ * Any deterministic {@link GameRules} can be turned into a {@code LifeRule} with
+ * {@link #compile(BiFunction)}, and standard rulestrings such as {@code "B36/S23"}
+ * are read by {@link #parse(String)}.
+ */
+public record LifeRule(int birthMask, int survivalMask) implements GameRules {
+
+    public static final LifeRule CONWAY = new LifeRule(0b1000, 0b1100);
+
+    private static final int ALL_COUNTS = 0x1FF;
+
+    public LifeRule {
+        if ((birthMask & ~ALL_COUNTS) != 0 || (survivalMask & ~ALL_COUNTS) != 0) {
+            throw new IllegalArgumentException(
+                "Masks may only use bits 0-8: birth=%s survival=%s".formatted(
+                    Integer.toBinaryString(birthMask), Integer.toBinaryString(survivalMask))
+            );
+        }
+    }
+
+    /**
+     * Builds a rule from sets of neighbour counts.
+     *
+     * @param birthCounts Neighbour counts that cause birth
+     * @param survivalCounts Neighbour counts that allow survival
+     * @return The compiled rule
+     */
+    public static LifeRule of(Set<Integer> birthCounts, Set<Integer> survivalCounts) {
+        return new LifeRule(toMask(birthCounts), toMask(survivalCounts));
+    }
+
+    /**
+     * Compiles arbitrary rules by evaluating them once for every (state, count) pair.
+     * Rules that are already compiled are returned unchanged.
+     *
+     * @param rules Deterministic rules to compile
+     * @return The equivalent compiled rule
+     * @throws IllegalArgumentException for a {@link ProbabilisticRule}, which no
+     *     mask can represent
+     */
+    public static LifeRule compile(BiFunction<CellState, Integer, CellState> rules) {
+        if (rules instanceof LifeRule compiled) {
+            return compiled;
+        }
+        if (rules instanceof ProbabilisticRule) {
+            throw new IllegalArgumentException("Probabilistic rules are not supported by this engine: " + rules);
+        }
+        int birth = 0;
+        int survival = 0;
+        for (int count = 0; count <= 8; count++) {
+            if (rules.apply(CellState.DEAD, count).isAlive()) {
+                birth |= 1 << count;
+            }
+            if (rules.apply(CellState.ALIVE, count).isAlive()) {
+                survival |= 1 << count;
+            }
+        }
+        return new LifeRule(birth, survival);
+    }
+
+    /**
+     * Parses a rulestring in B/S notation ("B3/S23", "S23/B3", case-insensitive)
+     * or the older survival/birth digit notation ("23/3").
+     *
+     * @param rulestring The rule to parse
+     * @return The compiled rule
+     */
+    public static LifeRule parse(String rulestring) {
+        var parts = rulestring.strip().split("/", -1);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Rulestring must have two parts separated by '/': " + rulestring);
+        }
+        Integer birth = null;
+        Integer survival = null;
+        for (int i = 0; i < 2; i++) {
+            var part = parts[i].strip();
+            char prefix = part.isEmpty() ? ' ' : Character.toUpperCase(part.charAt(0));
+            if (prefix == 'B' && birth == null) {
+                birth = digitsToMask(part.substring(1), rulestring);
+            } else if (prefix == 'S' && survival == null) {
+                survival = digitsToMask(part.substring(1), rulestring);
+            } else if (Character.isLetter(prefix)) {
+                throw new IllegalArgumentException("Unexpected rule section '%s' in %s".formatted(part, rulestring));
+            } else if (i == 0) {
+                survival = digitsToMask(part, rulestring);
+            } else {
+                birth = digitsToMask(part, rulestring);
+            }
+        }
+        if (birth == null || survival == null) {
+            throw new IllegalArgumentException("Rulestring needs both a B and an S section: " + rulestring);
+        }
+        return new LifeRule(birth, survival);
+    }
+
+    /**
+     * Returns the 18-bit mask: birth counts in bits 0-8, survival counts in bits 9-17.
+     */
+    public int mask() {
+        return birthMask | survivalMask << 9;
+    }
+
+    /**
+     * Primitive form of {@link #apply(CellState, Integer)}.
+     */
+    public boolean next(boolean alive, int neighbors) {
+        return neighbors >= 0 && neighbors <= 8
+            && ((alive ? survivalMask : birthMask) & (1 << neighbors)) != 0;
+    }
+
+    /**
+     * Expands the rule into a 512-entry table indexed by a 3x3 neighbourhood, with
+     * bit {@code 3 * row + col} of the index set for each live cell (the centre is
+     * bit 4). Entry {@code i} is bit {@code i & 63} of word {@code i >>> 6}.
+     */
+    public long[] neighborhoodTable() {
+        long[] table = new long[8];
+        for (int index = 0; index < 512; index++) {
+            boolean alive = (index & 0b10000) != 0;
+            if (next(alive, Integer.bitCount(index & ~0b10000))) {
+                table[index >>> 6] |= 1L << index;
+            }
+        }
+        return table;
+    }
+
+    @Override
+    public CellState apply(CellState current, Integer neighbors) {
+        return CellState.fromBoolean(next(current.isAlive(), neighbors));
+    }
+
+    @Override
+    public String toString() {
+        return "B" + maskToDigits(birthMask) + "/S" + maskToDigits(survivalMask);
+    }
+
+    private static int toMask(Set<Integer> counts) {
+        int mask = 0;
+        for (int count : counts) {
+            if (count < 0 || count > 8) {
+                throw new IllegalArgumentException("Neighbor counts must be between 0 and 8: " + count);
+            }
+            mask |= 1 << count;
+        }
+        return mask;
+    }
+
+    private static int digitsToMask(String digits, String rulestring) {
+        int mask = 0;
+        for (char c : digits.toCharArray()) {
+            if (c < '0' || c > '8') {
+                throw new IllegalArgumentException("Invalid neighbor count '%c' in %s".formatted(c, rulestring));
+            }
+            mask |= 1 << (c - '0');
+        }
+        return mask;
+    }
+
+    private static String maskToDigits(int mask) {
+        var digits = new StringBuilder();
+        for (int count = 0; count <= 8; count++) {
+            if ((mask & (1 << count)) != 0) {
+                digits.append(count);
+            }
+        }
+        return digits.toString();
+    }
+}
@@ -0,0 +1,224 @@
+package edu.trincoll.gameoflife;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing set of primitive {@code long} keys with linear probing.
+ * <p>
+ * Keys live directly in a {@code long[]} table, so a member costs 8-12 bytes
+ * instead of the ~60 bytes of a {@code HashMap<Cell, CellState>} entry, and
+ * adding or removing a key never allocates. Removal uses backward-shift deletion,
+ * so no tombstones accumulate.
+ */
+final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private boolean containsEmptyKey;
+
+    LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    LongHashSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    LongHashSet(LongHashSet other) {
+        this.keys = other.keys.clone();
+        this.mask = other.mask;
+        this.size = other.size;
+        this.containsEmptyKey = other.containsEmptyKey;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(long key) {
+        if (key == EMPTY) {
+            return containsEmptyKey;
+        }
+        int slot = slot(key);
+        while (true) {
+            long existing = keys[slot];
+            if (existing == EMPTY) {
+                return false;
+            }
+            if (existing == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * @return true if the key was not already present
+     */
+    boolean add(long key) {
+        if (key == EMPTY) {
+            if (containsEmptyKey) {
+                return false;
+            }
+            containsEmptyKey = true;
+            size++;
+            return true;
+        }
+        int slot = slot(key);
+        while (true) {
+            long existing = keys[slot];
+            if (existing == EMPTY) {
+                keys[slot] = key;
+                if (++size > threshold()) {
+                    rehash(keys.length << 1);
+                }
+                return true;
+            }
+            if (existing == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * @return true if the key was present
+     */
+    boolean remove(long key) {
+        if (key == EMPTY) {
+            if (!containsEmptyKey) {
+                return false;
+            }
+            containsEmptyKey = false;
+            size--;
+            return true;
+        }
+        int slot = slot(key);
+        while (true) {
+            long existing = keys[slot];
+            if (existing == EMPTY) {
+                return false;
+            }
+            if (existing == key) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        containsEmptyKey = false;
+        size = 0;
+    }
+
+    void forEach(LongConsumer action) {
+        if (containsEmptyKey) {
+            action.accept(EMPTY);
+        }
+        for (long key : keys) {
+            if (key != EMPTY) {
+                action.accept(key);
+            }
+        }
+    }
+
+    long[] toArray() {
+        long[] result = new long[size];
+        int index = 0;
+        if (containsEmptyKey) {
+            result[index++] = EMPTY;
+        }
+        for (long key : keys) {
+            if (key != EMPTY) {
+                result[index++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Order-independent content hash, consistent with {@link #equals(Object)}.
+     */
+    @Override
+    public int hashCode() {
+        long hash = containsEmptyKey ? CellKey.mix(EMPTY) : 0L;
+        for (long key : keys) {
+            if (key != EMPTY) {
+                hash += CellKey.mix(key);
+            }
+        }
+        return Long.hashCode(hash);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof LongHashSet other)) return false;
+        if (size != other.size || containsEmptyKey != other.containsEmptyKey) return false;
+        for (long key : keys) {
+            if (key != EMPTY && !other.contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void shiftBack(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int ideal = slot(keys[next]);
+            // Move the entry into the gap unless its ideal slot lies cyclically in (gap, next]
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+    }
+
+    private int slot(long key) {
+        return (int) CellKey.mix(key) & mask;
+    }
+
+    private int threshold() {
+        return keys.length / 3 * 2;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = keys;
+        allocate(capacity);
+        for (long key : old) {
+            if (key != EMPTY) {
+                int slot = slot(key);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    static int capacityFor(int expectedSize) {
+        long needed = Math.max(MIN_CAPACITY, (long) expectedSize * 3 / 2 + 1);
+        return (int) Math.min(1 << 30, Long.highestOneBit(needed - 1) << 1);
+    }
+}
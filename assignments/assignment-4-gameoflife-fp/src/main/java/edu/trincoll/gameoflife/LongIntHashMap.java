@@ -0,0 +1,126 @@
+package edu.trincoll.gameoflife;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from primitive {@code long} keys to {@code int} counters.
+ * <p>
+ * Built for neighbour counting: the engines only ever increment, read and
+ * iterate, so there is no removal and no boxing.
+ */
+final class LongIntHashMap {
+
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private boolean containsEmptyKey;
+    private int emptyKeyValue;
+
+    LongIntHashMap(int expectedSize) {
+        allocate(LongHashSet.capacityFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(long key) {
+        if (key == EMPTY) {
+            return containsEmptyKey ? emptyKeyValue : 0;
+        }
+        int slot = slot(key);
+        while (true) {
+            long existing = keys[slot];
+            if (existing == EMPTY) {
+                return 0;
+            }
+            if (existing == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Adds one to the counter for a key, starting from zero.
+     */
+    void increment(long key) {
+        if (key == EMPTY) {
+            if (!containsEmptyKey) {
+                containsEmptyKey = true;
+                size++;
+            }
+            emptyKeyValue++;
+            return;
+        }
+        int slot = slot(key);
+        while (true) {
+            long existing = keys[slot];
+            if (existing == EMPTY) {
+                keys[slot] = key;
+                values[slot] = 1;
+                if (++size > keys.length / 3 * 2) {
+                    rehash(keys.length << 1);
+                }
+                return;
+            }
+            if (existing == key) {
+                values[slot]++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        containsEmptyKey = false;
+        emptyKeyValue = 0;
+        size = 0;
+    }
+
+    void forEach(EntryConsumer action) {
+        if (containsEmptyKey) {
+            action.accept(EMPTY, emptyKeyValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long key, int value);
+    }
+
+    private int slot(long key) {
+        return (int) CellKey.mix(key) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+}
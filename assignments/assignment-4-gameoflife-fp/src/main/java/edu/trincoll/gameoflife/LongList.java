@@ -0,0 +1,58 @@
+package edu.trincoll.gameoflife;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Growable array of primitive {@code long}s, used to collect packed cells
+ * without boxing.
+ */
+final class LongList {
+
+    private long[] values;
+    private int size;
+
+    LongList() {
+        this(16);
+    }
+
+    LongList(int initialCapacity) {
+        values = new long[Math.max(1, initialCapacity)];
+    }
+
+    void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length << 1);
+        }
+        values[size++] = value;
+    }
+
+    long get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index %d out of bounds for size %d".formatted(index, size));
+        }
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
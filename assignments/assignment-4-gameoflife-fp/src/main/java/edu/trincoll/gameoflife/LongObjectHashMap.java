@@ -0,0 +1,203 @@
+package edu.trincoll.gameoflife;
+
+import java.util.function.LongFunction;
+
+/**
+ * Open-addressing map from primitive {@code long} keys to objects, with linear
+ * probing and backward-shift deletion. Null values are not supported.
+ */
+final class LongObjectHashMap<V> {
+
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private V emptyKeyValue;
+
+    LongObjectHashMap() {
+        this(16);
+    }
+
+    LongObjectHashMap(int expectedSize) {
+        allocate(LongHashSet.capacityFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        if (key == EMPTY) {
+            return emptyKeyValue;
+        }
+        int slot = slot(key);
+        while (true) {
+            long existing = keys[slot];
+            if (existing == EMPTY) {
+                return null;
+            }
+            if (existing == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return the previous value, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        if (key == EMPTY) {
+            V previous = emptyKeyValue;
+            emptyKeyValue = value;
+            if (previous == null) {
+                size++;
+            }
+            return previous;
+        }
+        int slot = slot(key);
+        while (true) {
+            long existing = keys[slot];
+            if (existing == EMPTY) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size > keys.length / 3 * 2) {
+                    rehash(keys.length << 1);
+                }
+                return null;
+            }
+            if (existing == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    V computeIfAbsent(long key, LongFunction<? extends V> factory) {
+        V value = get(key);
+        if (value == null) {
+            value = factory.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * @return the removed value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        if (key == EMPTY) {
+            V previous = emptyKeyValue;
+            if (previous != null) {
+                emptyKeyValue = null;
+                size--;
+            }
+            return previous;
+        }
+        int slot = slot(key);
+        while (true) {
+            long existing = keys[slot];
+            if (existing == EMPTY) {
+                return null;
+            }
+            if (existing == key) {
+                V previous = (V) values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(EntryConsumer<? super V> action) {
+        if (emptyKeyValue != null) {
+            action.accept(EMPTY, emptyKeyValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                action.accept(keys[slot], (V) values[slot]);
+            }
+        }
+    }
+
+    long[] keys() {
+        long[] result = new long[size];
+        int index = 0;
+        if (emptyKeyValue != null) {
+            result[index++] = EMPTY;
+        }
+        for (long key : keys) {
+            if (key != EMPTY) {
+                result[index++] = key;
+            }
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private void shiftBack(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int ideal = slot(keys[next]);
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+    }
+
+    private int slot(long key) {
+        return (int) CellKey.mix(key) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+}
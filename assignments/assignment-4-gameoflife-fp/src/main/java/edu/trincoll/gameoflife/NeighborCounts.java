@@ -0,0 +1,234 @@
+package edu.trincoll.gameoflife;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * The live-neighbour count of every cell of a {@link Grid}, computed in one pass.
+ * <p>
+ * Counts are kept bit-sliced, as four planes laid out like the grid's words
+ * (bit {@code k} of a count lives in plane {@code k}), so 64 cells are counted
+ * per word operation and no cell is ever boxed. The histogram is filled during
+ * the same pass. Cells are only materialized when a query stream is consumed:
+ * the cells with a given count are the bits where the four planes spell that
+ * count, and the cells that change next generation are where the rule applied
+ * to the planes differs from the current state.
+ * <p>
+ * Edges are joined as the grid's {@link Topology} says. The counts are a
+ * snapshot: later changes to the grid are not reflected.
+ */
+public final class NeighborCounts {
+
+    private final int rows;
+    private final int cols;
+    private final int wordsPerRow;
+    private final long generation;
+    private final long[] alive;
+    private final long[][] planes;
+    private final int[] histogram = new int[9];
+
+    private NeighborCounts(Grid grid) {
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        this.wordsPerRow = grid.wordsPerRow();
+        this.generation = grid.getGeneration();
+        this.alive = grid.words().clone();
+        this.planes = new long[4][alive.length];
+        for (int row = 0; row < rows; row++) {
+            int above = grid.rowAbove(row);
+            int below = grid.rowBelow(row);
+            int offset = row * wordsPerRow;
+            BitKernel.countRow(alive,
+                offsetOf(above), offset, offsetOf(below),
+                offsetOf(grid.haloRow(above)), offsetOf(grid.haloRow(row)), offsetOf(grid.haloRow(below)),
+                planes, wordsPerRow, cols);
+            for (int i = offset; i < offset + wordsPerRow; i++) {
+                for (int count = 0; count <= 8; count++) {
+                    histogram[count] += Long.bitCount(withCount(count, i) & validMask(i));
+                }
+            }
+        }
+    }
+
+    public static NeighborCounts of(Grid grid) {
+        return new NeighborCounts(grid);
+    }
+
+    /**
+     * Returns how many cells have each neighbour count, indexed 0 to 8.
+     */
+    public int[] histogram() {
+        return histogram.clone();
+    }
+
+    /**
+     * Returns how many cells have exactly {@code neighbors} live neighbours.
+     */
+    public int count(int neighbors) {
+        return neighbors < 0 || neighbors > 8 ? 0 : histogram[neighbors];
+    }
+
+    /**
+     * Streams the cells with exactly {@code neighbors} live neighbours in row-major order.
+     */
+    public Stream<Cell> cellsWith(int neighbors) {
+        return count(neighbors) == 0 ? Stream.empty() : cellsWhere(i -> withCount(neighbors, i));
+    }
+
+    /**
+     * Streams the live cells with exactly {@code neighbors} live neighbours in row-major order.
+     */
+    public Stream<Cell> liveCellsWith(int neighbors) {
+        return count(neighbors) == 0 ? Stream.empty() : cellsWhere(i -> alive[i] & withCount(neighbors, i));
+    }
+
+    /**
+     * Streams the cells whose state differs in the next generation under the
+     * given rules, applying them exactly as {@link Grid#evolveWith(GameRules)} does.
+     * A {@link ProbabilisticRule} flips the same coins as the grid's next generation.
+     */
+    public Stream<Cell> changingCells(GameRules rules) {
+        var random = rules instanceof ProbabilisticRule probabilistic ? probabilistic : null;
+        var rule = random != null ? random.base() : LifeRule.compile(rules);
+        int birth = rule.birthMask();
+        int survival = rule.survivalMask();
+        return cellsWhere(i -> {
+            long next = BitKernel.applyRule(alive[i],
+                planes[0][i], planes[1][i], planes[2][i], planes[3][i], birth, survival);
+            if (random != null) {
+                next = random.sample(generation + 1, i / wordsPerRow, (i % wordsPerRow) << 6, alive[i], next);
+            }
+            return alive[i] ^ next;
+        });
+    }
+
+    /**
+     * Returns the cells grouped by neighbour count. Only counts that occur are
+     * keys, and each list is built the first time it is read.
+     */
+    public Map<Integer, List<Cell>> asMap() {
+        return new LazyGroups();
+    }
+
+    private int offsetOf(int row) {
+        return row < 0 ? -1 : row * wordsPerRow;
+    }
+
+    private long withCount(int count, int index) {
+        return ((count & 1) != 0 ? planes[0][index] : ~planes[0][index])
+            & ((count & 2) != 0 ? planes[1][index] : ~planes[1][index])
+            & ((count & 4) != 0 ? planes[2][index] : ~planes[2][index])
+            & ((count & 8) != 0 ? planes[3][index] : ~planes[3][index]);
+    }
+
+    private long validMask(int index) {
+        return index % wordsPerRow == wordsPerRow - 1 ? BitKernel.lastWordMask(cols) : -1L;
+    }
+
+    private Stream<Cell> cellsWhere(IntToLongFunction words) {
+        return IntStream.range(0, alive.length).boxed().flatMap(i -> {
+            long word = words.applyAsLong(i) & validMask(i);
+            if (word == 0) {
+                return Stream.empty();
+            }
+            int row = i / wordsPerRow;
+            int base = (i % wordsPerRow) << 6;
+            return LongStream.iterate(word, w -> w != 0, w -> w & (w - 1))
+                .mapToObj(w -> Cell.of(row, base + Long.numberOfTrailingZeros(w)));
+        });
+    }
+
+    /**
+     * Read-only map view over the histogram that collects a bucket's cells on demand.
+     */
+    private final class LazyGroups extends AbstractMap<Integer, List<Cell>> {
+
+        private final List<Cell>[] buckets = newBuckets();
+
+        @SuppressWarnings("unchecked")
+        private static List<Cell>[] newBuckets() {
+            return (List<Cell>[]) new List<?>[9];
+        }
+
+        @Override
+        public List<Cell> get(Object key) {
+            if (!(key instanceof Integer neighbors) || count(neighbors) == 0) {
+                return null;
+            }
+            if (buckets[neighbors] == null) {
+                buckets[neighbors] = cellsWith(neighbors).toList();
+            }
+            return buckets[neighbors];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Integer neighbors && count(neighbors) > 0;
+        }
+
+        @Override
+        public int size() {
+            return (int) Arrays.stream(histogram).filter(n -> n > 0).count();
+        }
+
+        @Override
+        public Set<Entry<Integer, List<Cell>>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Integer, List<Cell>>> iterator() {
+                    return IntStream.rangeClosed(0, 8)
+                        .filter(n -> histogram[n] > 0)
+                        .<Entry<Integer, List<Cell>>>mapToObj(n -> new LazyEntry(n))
+                        .iterator();
+                }
+
+                @Override
+                public int size() {
+                    return LazyGroups.this.size();
+                }
+            };
+        }
+
+        private final class LazyEntry implements Entry<Integer, List<Cell>> {
+            private final int neighbors;
+
+            LazyEntry(int neighbors) {
+                this.neighbors = neighbors;
+            }
+
+            @Override
+            public Integer getKey() {
+                return neighbors;
+            }
+
+            @Override
+            public List<Cell> getValue() {
+                return get(neighbors);
+            }
+
+            @Override
+            public List<Cell> setValue(List<Cell> value) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                return o instanceof Entry<?, ?> e && getKey().equals(e.getKey()) && getValue().equals(e.getValue());
+            }
+
+            @Override
+            public int hashCode() {
+                return getKey().hashCode() ^ getValue().hashCode();
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package edu.trincoll.gameoflife;
+
+/**
+ * The shape of the neighbourhood counted by a {@link LargerThanLifeRule}, at any range.
+ * <p>
+ * Offsets are {@code (dr, dc)} from the centre cell. The hexagonal neighbourhood
+ * uses the usual emulation on a square grid, where each row is shifted half a
+ * cell from the one above: at range 1 a cell's six neighbours are its eight
+ * Moore neighbours less the north-east and south-west ones.
+ */
+public enum Neighborhood {
+
+    /**
+     * The {@code (2r+1) x (2r+1)} square.
+     */
+    MOORE('M'),
+
+    /**
+     * The diamond of cells within Manhattan distance {@code r}.
+     */
+    VON_NEUMANN('N'),
+
+    /**
+     * The hexagon of cells within {@code r} steps on the hexagonal grid.
+     */
+    HEXAGONAL('H');
+
+    private final char code;
+
+    Neighborhood(char code) {
+        this.code = code;
+    }
+
+    /**
+     * The letter that follows {@code N} in a Larger than Life rulestring.
+     */
+    public char code() {
+        return code;
+    }
+
+    public static Neighborhood fromCode(char code) {
+        for (var neighborhood : values()) {
+            if (neighborhood.code == Character.toUpperCase(code)) {
+                return neighborhood;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported neighbourhood: N" + code);
+    }
+
+    /**
+     * Returns whether an offset lies in the neighbourhood of the given range; the
+     * centre is always included.
+     */
+    public boolean contains(int dr, int dc, int range) {
+        if (Math.abs(dr) > range || Math.abs(dc) > range) {
+            return false;
+        }
+        return switch (this) {
+            case MOORE -> true;
+            case VON_NEUMANN -> Math.abs(dr) + Math.abs(dc) <= range;
+            case HEXAGONAL -> Math.abs(dc - dr) <= range;
+        };
+    }
+
+    /**
+     * Number of cells in the neighbourhood, including the centre.
+     */
+    public int size(int range) {
+        int side = 2 * range + 1;
+        return switch (this) {
+            case MOORE -> side * side;
+            case VON_NEUMANN -> 2 * range * (range + 1) + 1;
+            case HEXAGONAL -> 3 * range * (range + 1) + 1;
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package edu.trincoll.gameoflife;
+
+/**
+ * Prefix-sum tables that count the live cells of any {@link Neighborhood} of a
+ * fixed range in constant time per cell.
+ * <p>
+ * The board is copied into a frame padded by {@code range + 1} cells on every
+ * side, dead beyond hard edges and wrapped cells on a torus or Klein bottle, so
+ * queries never need clamping. With {@code P(i, j)} the number of live cells in
+ * row {@code i} up to column {@code j}, the tables accumulate {@code P} along a
+ * column (the summed-area table), along the down-right diagonal and along the
+ * down-left diagonal. A neighbourhood is a stack of row segments whose ends move
+ * straight down or diagonally, so its count is a difference of two sums of
+ * {@code P} along such lines, each two table lookups:
+ * <ul>
+ *   <li>Moore: both ends vertical</li>
+ *   <li>von Neumann: both ends diagonal, widening then narrowing</li>
+ *   <li>hexagonal: one end vertical and the other diagonal in each half</li>
+ * </ul>
+ * Only the tables the neighbourhood needs are built.
+ */
+final class NeighborhoodSums {
+
+    private final Neighborhood neighborhood;
+    private final int range;
+    private final int pad;
+    private final int width;
+    private final int[] vertical;
+    private final int[] downRight;
+    private final int[] downLeft;
+
+    NeighborhoodSums(Grid grid, Neighborhood neighborhood, int range) {
+        this.neighborhood = neighborhood;
+        this.range = range;
+        this.pad = range + 1;
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int height = rows + 2 * pad;
+        this.width = cols + 2 * pad;
+        int size = Math.multiplyExact(height, width);
+        this.vertical = neighborhood != Neighborhood.VON_NEUMANN ? new int[size] : null;
+        this.downRight = neighborhood != Neighborhood.MOORE ? new int[size] : null;
+        this.downLeft = neighborhood == Neighborhood.VON_NEUMANN ? new int[size] : null;
+
+        long[] words = grid.words();
+        int wordsPerRow = grid.wordsPerRow();
+        boolean wrapped = grid.getTopology() != Topology.BOUNDED;
+        for (int i = 0; i < height; i++) {
+            int row = i - pad;
+            boolean inside = row >= 0 && row < rows;
+            int offset = row * wordsPerRow;
+            int prefix = 0;
+            for (int j = 0; j < width; j++) {
+                int col = j - pad;
+                if (inside && col >= 0 && col < cols) {
+                    prefix += (int) (words[offset + (col >>> 6)] >>> col) & 1;
+                } else if (wrapped && grid.isAliveAt(row, col)) {
+                    prefix++;
+                }
+                int index = i * width + j;
+                if (vertical != null) {
+                    vertical[index] = prefix + (i > 0 ? vertical[index - width] : 0);
+                }
+                if (downRight != null) {
+                    downRight[index] = prefix + (i > 0 && j > 0 ? downRight[index - width - 1] : 0);
+                }
+                if (downLeft != null) {
+                    downLeft[index] = prefix + (i > 0 && j < width - 1 ? downLeft[index - width + 1] : 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of live cells in the neighbourhood of a board cell,
+     * including the cell itself.
+     */
+    int count(int row, int col) {
+        int r = range;
+        int i = row + pad;
+        int j = col + pad;
+        return switch (neighborhood) {
+            case MOORE -> alongColumn(i - r, i + r, j + r) - alongColumn(i - r, i + r, j - r - 1);
+            case VON_NEUMANN -> alongDownRight(i - r, i, j + r) - alongDownLeft(i - r, i, j - r - 1)
+                + alongDownLeft(i + 1, i + r, j) - alongDownRight(i + 1, i + r, j - 1);
+            case HEXAGONAL -> alongDownRight(i - r, i, j + r) - alongColumn(i - r, i, j - r - 1)
+                + alongColumn(i + 1, i + r, j + r) - alongDownRight(i + 1, i + r, j - 1);
+        };
+    }
+
+    /**
+     * Sum of {@code P} over rows {@code [top, bottom]} in column {@code col}.
+     */
+    private int alongColumn(int top, int bottom, int col) {
+        return vertical[bottom * width + col] - vertical[(top - 1) * width + col];
+    }
+
+    /**
+     * Sum of {@code P} over rows {@code [top, bottom]} along the diagonal that
+     * reaches column {@code col} in the bottom row and moves left going up.
+     */
+    private int alongDownRight(int top, int bottom, int col) {
+        return downRight[bottom * width + col] - downRight[(top - 1) * width + col - (bottom - top + 1)];
+    }
+
+    /**
+     * Sum of {@code P} over rows {@code [top, bottom]} along the diagonal that
+     * reaches column {@code col} in the bottom row and moves right going up.
+     */
+    private int alongDownLeft(int top, int bottom, int col) {
+        return downLeft[bottom * width + col] - downLeft[(top - 1) * width + col + (bottom - top + 1)];
+    }
+}
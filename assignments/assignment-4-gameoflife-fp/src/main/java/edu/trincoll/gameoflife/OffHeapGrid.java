@@ -0,0 +1,208 @@
+package edu.trincoll.gameoflife;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A bounded, bit-packed board stored outside the Java heap.
+ * <p>
+ * The layout matches {@link Grid} (64 cells per {@code long}, row-major), but
+ * the words live in two {@link MemorySegment}s: the current generation and the
+ * buffer the next one is written into. They are swapped after every step, so
+ * a board of 10<sup>10</sup> cells costs 2.5 GB of native or mapped memory and
+ * nothing the garbage collector has to trace. A step copies three rows at a time
+ * into a small on-heap window and runs the shared {@link BitKernel} over it.
+ * <p>
+ * {@link #mapped(Path, int, int)} backs both buffers with a memory-mapped file so
+ * the operating system can page boards larger than physical memory. The file is
+ * scratch space, not a saved pattern. Memory is released by {@link #close()}; any
+ * access afterwards throws {@link IllegalStateException}.
+ * <p>
+ * Unlike {@link Grid}, the board is mutable: {@link #evolveWith(GameRules)}
+ * advances it in place, because allocating a second multi-gigabyte board per
+ * generation would defeat the purpose.
+ */
+public final class OffHeapGrid implements AutoCloseable {
+
+    private final int rows;
+    private final int cols;
+    private final int wordsPerRow;
+    private final long lastMask;
+    private final Arena arena;
+    private MemorySegment current;
+    private MemorySegment next;
+    private long population;
+
+    private OffHeapGrid(int rows, int cols, Arena arena, MemorySegment current, MemorySegment next) {
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = BitKernel.wordsFor(cols);
+        this.lastMask = BitKernel.lastWordMask(cols);
+        this.arena = arena;
+        this.current = current;
+        this.next = next;
+    }
+
+    /**
+     * Allocates an empty board in native memory.
+     */
+    public static OffHeapGrid allocate(int rows, int cols) {
+        long bytes = segmentSize(rows, cols);
+        var arena = Arena.ofShared();
+        try {
+            return new OffHeapGrid(rows, cols, arena,
+                arena.allocate(bytes, Long.BYTES), arena.allocate(bytes, Long.BYTES));
+        } catch (RuntimeException | Error e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates an empty board whose buffers are a memory-mapped file, replacing
+     * any existing file at that path.
+     */
+    public static OffHeapGrid mapped(Path file, int rows, int cols) throws IOException {
+        long bytes = segmentSize(rows, cols);
+        var arena = Arena.ofShared();
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            var both = channel.map(FileChannel.MapMode.READ_WRITE, 0, 2 * bytes, arena);
+            return new OffHeapGrid(rows, cols, arena, both.asSlice(0, bytes), both.asSlice(bytes, bytes));
+        } catch (IOException | RuntimeException | Error e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Copies a grid into a new native board.
+     */
+    public static OffHeapGrid from(Grid grid) {
+        if (grid.getTopology() != Topology.BOUNDED) {
+            throw new IllegalArgumentException("Only bounded grids are supported, not " + grid.getTopology());
+        }
+        var board = allocate(grid.getRows(), grid.getCols());
+        MemorySegment.copy(grid.words(), 0, board.current, ValueLayout.JAVA_LONG, 0, grid.words().length);
+        board.population = grid.countLiveCells();
+        return board;
+    }
+
+    /**
+     * Advances the board one generation in place. As with {@link Grid}, births on
+     * zero neighbours are never applied.
+     *
+     * @param rules Rules to apply
+     * @return This board, now one generation later
+     */
+    public OffHeapGrid evolveWith(GameRules rules) {
+        var rule = LifeRule.compile(rules);
+        // Three source rows rotate through the window; row r lives in slot r % 3
+        long[] window = new long[3 * wordsPerRow];
+        long[] out = new long[wordsPerRow];
+        long count = 0;
+        loadRow(0, window);
+        for (int row = 0; row < rows; row++) {
+            if (row + 1 < rows) {
+                // Replaces row - 2, which no longer has a neighbour left to step
+                loadRow(row + 1, window);
+            }
+            BitKernel.stepRow(window,
+                row > 0 ? slot(row - 1) : -1,
+                slot(row),
+                row < rows - 1 ? slot(row + 1) : -1,
+                out, 0, wordsPerRow, lastMask, rule.birthMask(), rule.survivalMask());
+            MemorySegment.copy(out, 0, next, ValueLayout.JAVA_LONG, rowOffset(row), wordsPerRow);
+            count += BitKernel.bitCount(out, 0, wordsPerRow);
+        }
+        var swap = current;
+        current = next;
+        next = swap;
+        population = count;
+        return this;
+    }
+
+    public CellState getCellState(Cell cell) {
+        if (!isValidCell(cell)) {
+            return CellState.DEAD;
+        }
+        long word = current.getAtIndex(ValueLayout.JAVA_LONG, wordIndex(cell));
+        return CellState.fromBoolean((word & (1L << cell.col())) != 0);
+    }
+
+    public void setCellState(Cell cell, CellState state) {
+        if (!isValidCell(cell)) {
+            return;
+        }
+        long index = wordIndex(cell);
+        long word = current.getAtIndex(ValueLayout.JAVA_LONG, index);
+        long bit = 1L << cell.col();
+        long updated = state.isAlive() ? word | bit : word & ~bit;
+        if (updated != word) {
+            population += state.isAlive() ? 1 : -1;
+            current.setAtIndex(ValueLayout.JAVA_LONG, index, updated);
+        }
+    }
+
+    public boolean isValidCell(Cell cell) {
+        return cell.row() >= 0 && cell.row() < rows && cell.col() >= 0 && cell.col() < cols;
+    }
+
+    public long countLiveCells() {
+        return population;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Copies the board onto the heap; only sensible for boards that fit there.
+     */
+    public Grid toGrid() {
+        long[] words = current.toArray(ValueLayout.JAVA_LONG);
+        return new Grid(rows, cols, words, Math.toIntExact(population));
+    }
+
+    /**
+     * Releases both buffers, unmapping the file for mapped boards.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private void loadRow(int row, long[] window) {
+        MemorySegment.copy(current, ValueLayout.JAVA_LONG, rowOffset(row), window, slot(row), wordsPerRow);
+    }
+
+    private int slot(int row) {
+        return (row % 3) * wordsPerRow;
+    }
+
+    private long rowOffset(int row) {
+        return (long) row * wordsPerRow * Long.BYTES;
+    }
+
+    private long wordIndex(Cell cell) {
+        return (long) cell.row() * wordsPerRow + (cell.col() >>> 6);
+    }
+
+    private static long segmentSize(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException(
+                "Grid dimensions must be positive: %dx%d".formatted(rows, cols)
+            );
+        }
+        return Math.multiplyExact(Math.multiplyExact((long) rows, BitKernel.wordsFor(cols)), Long.BYTES);
+    }
+}
@@ -0,0 +1,107 @@
+package edu.trincoll.gameoflife;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Evolves a grid on several cores by splitting the board into horizontal bands.
+ * <p>
+ * Each band is a fork/join task that reads its rows plus a one-row halo above
+ * and below from the current generation and writes only its own rows of the next
+ * generation. Bands never write to shared rows, so no locking is needed and the
+ * result is bit-identical to {@link Grid#evolveWith(GameRules)}.
+ */
+public class ParallelEvolution {
+
+    /**
+     * Default minimum number of rows a band must have before it is split further.
+     */
+    public static final int DEFAULT_THRESHOLD = 64;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ParallelEvolution() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelEvolution(int threshold) {
+        this(ForkJoinPool.commonPool(), threshold);
+    }
+
+    /**
+     * @param pool The pool that runs the band tasks
+     * @param threshold Bands with at most this many rows are stepped sequentially
+     */
+    public ParallelEvolution(ForkJoinPool pool, int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Evolves a grid one generation using the band tasks.
+     *
+     * @param grid Grid to evolve
+     * @param rules Rules to apply
+     * @return Evolved grid, equal to {@code grid.evolveWith(rules)}
+     */
+    public Grid evolveParallel(Grid grid, GameRules rules) {
+        if (grid.getRows() <= threshold) {
+            return grid.evolveWith(rules);
+        }
+        var random = rules instanceof ProbabilisticRule probabilistic ? probabilistic : null;
+        var rule = random != null ? random.base() : LifeRule.compile(rules);
+        long[] next = new long[grid.words().length];
+        var task = new BandTask(grid, next, 0, grid.getRows(), rule, random);
+        int population = pool.invoke(task);
+        return new Grid(grid.getRows(), grid.getCols(), grid.getTopology(), grid.getGeneration() + 1, next, population);
+    }
+
+    /**
+     * Advances a tiled universe one generation, stepping its active tiles as
+     * independent tasks in this evolver's pool.
+     *
+     * @param universe Universe to advance in place
+     */
+    public void evolveParallel(TiledUniverse universe) {
+        universe.stepParallel(pool);
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    private final class BandTask extends RecursiveTask<Integer> {
+        private final Grid source;
+        private final long[] target;
+        private final int fromRow;
+        private final int toRow;
+        private final LifeRule rule;
+        private final ProbabilisticRule random;
+
+        BandTask(Grid source, long[] target, int fromRow, int toRow, LifeRule rule, ProbabilisticRule random) {
+            this.source = source;
+            this.target = target;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.rule = rule;
+            this.random = random;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (toRow - fromRow <= threshold) {
+                return source.stepRows(target, fromRow, toRow, rule, random);
+            }
+            int middle = (fromRow + toRow) >>> 1;
+            var upper = new BandTask(source, target, fromRow, middle, rule, random);
+            var lower = new BandTask(source, target, middle, toRow, rule, random);
+            upper.fork();
+            int lowerPopulation = lower.compute();
+            return upper.join() + lowerPopulation;
+        }
+    }
+}
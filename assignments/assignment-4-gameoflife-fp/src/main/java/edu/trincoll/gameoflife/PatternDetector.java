@@ -4,6 +4,21 @@ import java.util.Optional;
 
 public class PatternDetector {
 
+    private final CycleDetector cycleDetector = new CycleDetector();
+    private final ClassificationCache cache;
+
+    public PatternDetector() {
+        this(null);
+    }
+
+    /**
+     * @param cache Cache consulted by {@link #classifyPattern} before simulating,
+     *              or null to always simulate
+     */
+    public PatternDetector(ClassificationCache cache) {
+        this.cache = cache;
+    }
+
     /**
      * Determines if a grid represents a still life pattern.
      * A still life remains unchanged after one evolution.
@@ -22,7 +37,10 @@ public class PatternDetector {
      * Finds the period of an oscillating pattern.
      * An oscillator returns to its initial state after a fixed number of generations.
      * <p>
-     * SIMPLIFIED: Only check if grid returns to INITIAL state (not intermediate cycles)
+     * Only cycles that include the initial state count; a pattern that settles
+     * into a cycle after a transient is reported by {@link #detectCycle}.
+     * The pattern is followed as if on an unbounded plane, so the grid's edges
+     * do not cut oscillators that touch them.
      *
      * @param grid The initial grid
      * @param rules The game rules to apply
@@ -30,18 +48,44 @@ public class PatternDetector {
      * @return Optional containing the period, or empty if not an oscillator
      */
     public Optional<Integer> findPeriod(Grid grid, GameRules rules, int maxGenerations) {
-        // TODO: Evolve the grid up to maxGenerations times
-        // Check each generation to see if it equals the original grid
-        // Return the generation number when it first matches
-        // Hint: Use a for loop or IntStream.range()
-        throw new UnsupportedOperationException("Not implemented - complete using TDD");
+        return detectCycle(grid, rules, maxGenerations)
+            .filter(cycle -> cycle.transientLength() == 0)
+            .map(CycleDetector.Cycle::period);
+    }
+
+    /**
+     * Finds the cycle a grid eventually enters, including any transient generations
+     * before it starts repeating. Like {@link #findPeriod}, the pattern is
+     * followed as if on an unbounded plane, unless the grid's edges are joined
+     * into a torus or Klein bottle, which is then where it evolves.
+     *
+     * @param grid The initial grid
+     * @param rules The game rules to apply
+     * @param maxGenerations Maximum transient plus period to look for
+     * @return Optional containing the transient length and period
+     */
+    public Optional<CycleDetector.Cycle> detectCycle(Grid grid, GameRules rules, int maxGenerations) {
+        if (maxGenerations <= 0) {
+            return Optional.empty();
+        }
+        if (grid.getTopology() != Topology.BOUNDED) {
+            // Joined edges are part of the pattern's world, not a border to avoid
+            return cycleDetector.detect(grid, rules, maxGenerations);
+        }
+        // The sparse plane costs only what the live cells cost, however long the budget
+        return cycleDetector.detect(SparseUniverse.from(grid), rules, maxGenerations);
     }
 
     /**
      * Classifies a pattern based on its behavior over multiple generations.
      * <p>
-     * SIMPLIFIED: Only detect STILL_LIFE and OSCILLATOR
-     * Return UNKNOWN for everything else (including spaceships)
+     * Periods are found by {@link #findPeriod}, so a bounded grid's pattern is
+     * followed on the unbounded plane, as spaceships are. A 1x3 row of cells is
+     * therefore an oscillator, although it dies on the grid itself. Only
+     * {@link #isStillLife} evolves the bounded grid. A torus or Klein bottle
+     * evolves on its own joined surface.
+     * With a {@link ClassificationCache}, a shape already classified in any
+     * position or orientation is not simulated again.
      *
      * @param grid The pattern to classify
      * @param rules The game rules
@@ -49,11 +93,16 @@ public class PatternDetector {
      * @return The pattern classification
      */
     public PatternType classifyPattern(Grid grid, GameRules rules, int generations) {
-        // TODO: Use your isStillLife method to check for still life
-        // TODO: Use your findPeriod method to check for oscillator
-        // TODO: Return UNKNOWN for anything else
-        // (Don't worry about detecting spaceships - that's advanced!)
-        throw new UnsupportedOperationException("Not implemented - complete using TDD");
+        if (cache != null) {
+            return cache.classify(grid, rules, generations).type();
+        }
+        var period = findPeriod(grid, rules, generations);
+        if (period.isPresent()) {
+            return period.get() == 1 ? PatternType.STILL_LIFE : PatternType.OSCILLATOR;
+        }
+        return cycleDetector.detectSpaceship(grid, rules, generations).isPresent()
+            ? PatternType.SPACESHIP
+            : PatternType.UNKNOWN;
     }
 
     public enum PatternType {
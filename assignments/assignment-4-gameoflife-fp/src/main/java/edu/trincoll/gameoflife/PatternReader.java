@@ -0,0 +1,364 @@
+package edu.trincoll.gameoflife;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Loads patterns in RLE, Life 1.06 and plaintext ({@code .cells}) format.
+ * <p>
+ * Input is consumed byte by byte from a memory-mapped file or a channel, and
+ * RLE runs are written straight into the packed words of the resulting
+ * {@link Grid}, so even multi-megabyte patterns never become a {@code String}.
+ * Only the short RLE header line is buffered. Life 1.06 and plaintext files do
+ * not declare their size up front, so their live cells are collected as packed
+ * coordinates first.
+ * <p>
+ * The format is recognised from the first line: {@code #Life 1.06} starts a
+ * Life 1.06 file, an {@code x = ...} header (possibly after {@code #} comment
+ * lines) starts an RLE file, and anything else is read as plaintext, where
+ * {@code O} or {@code *} is alive and {@code !} starts a comment line.
+ */
+public final class PatternReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String LIFE_106_HEADER = "#Life 1.06";
+
+    /**
+     * A loaded pattern and the rule declared in its file, or Conway's rule if
+     * the file does not declare one. The rule is read through the accessor for
+     * its family, and the others are empty.
+     *
+     * @param rulestring The declared rule in its canonical form
+     */
+    public record LoadedPattern(Grid grid, String rulestring) {
+
+        public LoadedPattern(Grid grid, LifeRule rule) {
+            this(grid, rule.toString());
+        }
+
+        /**
+         * The declared rule if it is a birth/survival rule.
+         */
+        public Optional<LifeRule> rule() {
+            return LargerThanLifeRule.isLargerThanLife(rulestring)
+                ? Optional.empty()
+                : Optional.of(LifeRule.parse(rulestring));
+        }
+
+        /**
+         * The declared rule if it is a Larger than Life rule.
+         */
+        public Optional<LargerThanLifeRule> largerThanLifeRule() {
+            return LargerThanLifeRule.isLargerThanLife(rulestring)
+                ? Optional.of(LargerThanLifeRule.parse(rulestring))
+                : Optional.empty();
+        }
+    }
+
+    private PatternReader() {
+    }
+
+    /**
+     * Reads a pattern file through a read-only memory mapping.
+     */
+    public static LoadedPattern read(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                return read((ReadableByteChannel) channel);
+            }
+            var mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return parse(new Input(mapped, null));
+        }
+    }
+
+    /**
+     * Reads a pattern from a channel, which is left open.
+     */
+    public static LoadedPattern read(ReadableByteChannel channel) throws IOException {
+        return parse(new Input(ByteBuffer.allocateDirect(BUFFER_SIZE).flip(), channel));
+    }
+
+    private static LoadedPattern parse(Input input) throws IOException {
+        boolean firstLine = true;
+        while (true) {
+            int c = input.peek();
+            if (c == -1) {
+                throw new IllegalArgumentException("Pattern file has no cells");
+            }
+            if (c == '\n' || c == '\r' || c == ' ' || c == '\t') {
+                input.next();
+            } else if (c == '#') {
+                var line = input.readLine();
+                if (firstLine && line.strip().equalsIgnoreCase(LIFE_106_HEADER)) {
+                    return new LoadedPattern(readLife106(input), LifeRule.CONWAY);
+                }
+            } else if (c == 'x') {
+                return readRle(input, input.readLine());
+            } else {
+                return new LoadedPattern(readPlaintext(input), LifeRule.CONWAY);
+            }
+            firstLine = false;
+        }
+    }
+
+    private static LoadedPattern readRle(Input input, String header) throws IOException {
+        int cols = -1;
+        int rows = -1;
+        var rulestring = LifeRule.CONWAY.toString();
+        // The rule comes last and may itself contain commas, as Larger than Life rules do
+        int ruleField = header.indexOf("rule");
+        var sizes = ruleField < 0 ? header : header.substring(0, ruleField);
+        for (var field : sizes.split(",")) {
+            if (field.isBlank()) {
+                continue;
+            }
+            int equals = field.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Malformed RLE header: " + header);
+            }
+            var key = field.substring(0, equals).strip();
+            var value = field.substring(equals + 1).strip();
+            switch (key) {
+                case "x" -> cols = Integer.parseInt(value);
+                case "y" -> rows = Integer.parseInt(value);
+                default -> { }
+            }
+        }
+        if (ruleField >= 0) {
+            int equals = header.indexOf('=', ruleField);
+            if (equals < 0) {
+                throw new IllegalArgumentException("Malformed RLE header: " + header);
+            }
+            // Golly appends the bounded-grid topology after a colon, e.g. B3/S23:T100,100
+            rulestring = header.substring(equals + 1).split(":")[0].strip();
+        }
+        rulestring = LargerThanLifeRule.isLargerThanLife(rulestring)
+            ? LargerThanLifeRule.parse(rulestring).toString()
+            : LifeRule.parse(rulestring).toString();
+        if (cols <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("RLE header must give a positive size: " + header);
+        }
+
+        int wordsPerRow = BitKernel.wordsFor(cols);
+        long[] words = new long[Math.multiplyExact(rows, wordsPerRow)];
+        int row = 0;
+        int col = 0;
+        int count = 0;
+        int c;
+        while ((c = input.next()) != -1 && c != '!') {
+            if (c >= '0' && c <= '9') {
+                count = Math.addExact(Math.multiplyExact(count, 10), c - '0');
+                continue;
+            }
+            if (c == '#') {
+                input.readLine();
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            int run = count == 0 ? 1 : count;
+            count = 0;
+            if (c == '$') {
+                row += run;
+                col = 0;
+            } else if (c == 'b' || c == '.') {
+                col += run;
+            } else if (Character.isLetter(c)) {
+                // 'o' in two-state files; multi-state files use other letters for live states
+                if (row >= rows || col + run > cols) {
+                    throw new IllegalArgumentException(
+                        "RLE run at row %d, column %d exceeds the declared %dx%d".formatted(row, col, cols, rows));
+                }
+                setRun(words, row * wordsPerRow, col, run);
+                col += run;
+            } else {
+                throw new IllegalArgumentException("Unexpected character '%c' in RLE data".formatted((char) c));
+            }
+        }
+        return new LoadedPattern(new Grid(rows, cols, words, BitKernel.bitCount(words, 0, words.length)),
+            rulestring);
+    }
+
+    private static Grid readLife106(Input input) throws IOException {
+        var cells = new LongList();
+        long minRow = Long.MAX_VALUE, minCol = Long.MAX_VALUE;
+        long maxRow = Long.MIN_VALUE, maxCol = Long.MIN_VALUE;
+        int c;
+        while ((c = input.peek()) != -1) {
+            if (c == '#') {
+                input.readLine();
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                input.next();
+                continue;
+            }
+            int col = input.readInt();
+            int row = input.readInt();
+            cells.add(CellKey.pack(row, col));
+            minRow = Math.min(minRow, row);
+            minCol = Math.min(minCol, col);
+            maxRow = Math.max(maxRow, row);
+            maxCol = Math.max(maxCol, col);
+        }
+        if (cells.isEmpty()) {
+            throw new IllegalArgumentException("Pattern file has no cells");
+        }
+        return toGrid(cells, minRow, minCol,
+            Math.toIntExact(maxRow - minRow + 1), Math.toIntExact(maxCol - minCol + 1));
+    }
+
+    private static Grid readPlaintext(Input input) throws IOException {
+        var cells = new LongList();
+        int row = 0;
+        int col = 0;
+        int cols = 0;
+        boolean lineStart = true;
+        int c;
+        while ((c = input.next()) != -1) {
+            if (lineStart && c == '!') {
+                input.readLine();
+                continue;
+            }
+            if (c == '\n') {
+                cols = Math.max(cols, col);
+                row++;
+                col = 0;
+                lineStart = true;
+                continue;
+            }
+            lineStart = false;
+            if (c == '\r') {
+                continue;
+            }
+            if (c == 'O' || c == '*') {
+                cells.add(CellKey.pack(row, col));
+            }
+            col++;
+        }
+        if (col > 0) {
+            cols = Math.max(cols, col);
+            row++;
+        }
+        if (row == 0 || cols == 0) {
+            throw new IllegalArgumentException("Pattern file has no cells");
+        }
+        return toGrid(cells, 0, 0, row, cols);
+    }
+
+    private static Grid toGrid(LongList cells, long top, long left, int rows, int cols) {
+        int wordsPerRow = BitKernel.wordsFor(cols);
+        long[] words = new long[Math.multiplyExact(rows, wordsPerRow)];
+        int[] population = {0};
+        cells.forEach(key -> {
+            int row = (int) (CellKey.row(key) - top);
+            int col = (int) (CellKey.col(key) - left);
+            int index = row * wordsPerRow + (col >>> 6);
+            long bit = 1L << col;
+            if ((words[index] & bit) == 0) {
+                words[index] |= bit;
+                population[0]++;
+            }
+        });
+        return new Grid(rows, cols, words, population[0]);
+    }
+
+    /**
+     * Sets {@code length} consecutive bits starting at column {@code col} of the
+     * row at {@code rowOffset}, a word at a time.
+     */
+    private static void setRun(long[] words, int rowOffset, int col, int length) {
+        int end = col + length;
+        while (col < end) {
+            int bit = col & 63;
+            int span = Math.min(64 - bit, end - col);
+            long mask = span == 64 ? -1L : ((1L << span) - 1) << bit;
+            words[rowOffset + (col >>> 6)] |= mask;
+            col += span;
+        }
+    }
+
+    /**
+     * Byte input over a mapped buffer or a buffered channel.
+     */
+    private static final class Input {
+
+        private final ByteBuffer buffer;
+        private final ReadableByteChannel channel;
+
+        Input(ByteBuffer buffer, ReadableByteChannel channel) {
+            this.buffer = buffer;
+            this.channel = channel;
+        }
+
+        int peek() throws IOException {
+            return fill() ? buffer.get(buffer.position()) & 0xff : -1;
+        }
+
+        int next() throws IOException {
+            return fill() ? buffer.get() & 0xff : -1;
+        }
+
+        /**
+         * Reads the rest of the current line, without its terminator.
+         */
+        String readLine() throws IOException {
+            var line = new StringBuilder();
+            int c;
+            while ((c = next()) != -1 && c != '\n') {
+                if (c != '\r') {
+                    line.append((char) c);
+                }
+            }
+            return line.toString();
+        }
+
+        /**
+         * Reads a signed decimal integer, skipping leading blanks.
+         */
+        int readInt() throws IOException {
+            int c = next();
+            while (c == ' ' || c == '\t') {
+                c = next();
+            }
+            boolean negative = c == '-';
+            if (negative || c == '+') {
+                c = next();
+            }
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Expected a number in Life 1.06 data");
+            }
+            long value = 0;
+            while (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (value > Integer.MAX_VALUE + 1L) {
+                    throw new IllegalArgumentException("Coordinate out of range in Life 1.06 data");
+                }
+                c = next();
+            }
+            return Math.toIntExact(negative ? -value : value);
+        }
+
+        private boolean fill() throws IOException {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+            if (channel == null) {
+                return false;
+            }
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+            buffer.flip();
+            return read > 0;
+        }
+    }
+}
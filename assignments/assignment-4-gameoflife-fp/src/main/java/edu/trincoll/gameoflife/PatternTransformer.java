@@ -1,5 +1,6 @@
 package edu.trincoll.gameoflife;
 
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -10,65 +11,169 @@ import java.util.stream.Stream;
 public class PatternTransformer {
 
     /**
-     * Rotates a pattern 90 degrees clockwise.
-     *
-     * BONUS METHOD - Optional implementation for extra credit
+     * Rotates a pattern 90 degrees clockwise: cell (row, col) moves to
+     * (col, rows - 1 - row), so the result is {@code cols} rows by {@code rows} columns.
+     * A torus stays a torus; a Klein bottle cannot be rotated, because the turn
+     * would move its twist onto the other pair of edges.
      *
      * @param grid The grid to rotate
      * @return New rotated grid
+     * @throws IllegalArgumentException for a grid on a Klein bottle
      */
     public Grid rotate90(Grid grid) {
-        // BONUS: For 90° clockwise rotation:
-        // new_row = col
-        // new_col = (rows - 1) - row
-        throw new UnsupportedOperationException("Bonus feature - optional");
+        if (grid.getTopology() == Topology.KLEIN_BOTTLE) {
+            throw new IllegalArgumentException("A Klein bottle's twist does not survive a rotation");
+        }
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        long[] source = grid.words();
+        int sourceWords = grid.wordsPerRow();
+        int wordsPerRow = BitKernel.wordsFor(rows);
+        long[] words = new long[Math.multiplyExact(cols, wordsPerRow)];
+        long[] block = new long[64];
+        // Reading the rows bottom-up and transposing 64x64 blocks gives the clockwise turn
+        for (int blockRow = 0; blockRow < wordsPerRow; blockRow++) {
+            for (int blockCol = 0; blockCol < sourceWords; blockCol++) {
+                for (int i = 0; i < 64; i++) {
+                    int row = rows - 1 - ((blockRow << 6) + i);
+                    block[i] = row >= 0 ? source[row * sourceWords + blockCol] : 0L;
+                }
+                BitMatrix.transpose64(block);
+                int firstRow = blockCol << 6;
+                for (int i = 0; i < 64 && firstRow + i < cols; i++) {
+                    words[(firstRow + i) * wordsPerRow + blockRow] = block[i];
+                }
+            }
+        }
+        return new Grid(cols, rows, grid.getTopology(), grid.getGeneration(), words, grid.countLiveCells());
     }
 
     /**
      * Flips a pattern horizontally (mirror across vertical axis).
      *
-     * BONUS METHOD - Optional implementation for extra credit
-     *
      * @param grid The grid to flip
      * @return New flipped grid
      */
     public Grid flipHorizontal(Grid grid) {
-        // BONUS: Cell at (row, col) moves to (row, cols-1-col)
-        throw new UnsupportedOperationException("Bonus feature - optional");
+        int wordsPerRow = grid.wordsPerRow();
+        long[] source = grid.words();
+        long[] words = new long[source.length];
+        long[] scratch = new long[wordsPerRow];
+        for (int offset = 0; offset < source.length; offset += wordsPerRow) {
+            BitMatrix.reverseRow(source, offset, words, offset, wordsPerRow, grid.getCols(), scratch);
+        }
+        return new Grid(grid.getRows(), grid.getCols(), grid.getTopology(), grid.getGeneration(),
+            words, grid.countLiveCells());
     }
 
     /**
      * Flips a pattern vertically (mirror across horizontal axis).
      *
-     * BONUS METHOD - Optional implementation for extra credit
-     *
      * @param grid The grid to flip
      * @return New flipped grid
      */
     public Grid flipVertical(Grid grid) {
-        // BONUS: Cell at (row, col) moves to (rows-1-row, col)
-        throw new UnsupportedOperationException("Bonus feature - optional");
+        int rows = grid.getRows();
+        int wordsPerRow = grid.wordsPerRow();
+        long[] source = grid.words();
+        long[] words = new long[source.length];
+        for (int row = 0; row < rows; row++) {
+            System.arraycopy(source, row * wordsPerRow, words, (rows - 1 - row) * wordsPerRow, wordsPerRow);
+        }
+        return new Grid(rows, grid.getCols(), grid.getTopology(), grid.getGeneration(), words, grid.countLiveCells());
     }
 
     /**
      * Finds all positions where a pattern could be placed in a larger grid
      * without overlapping existing live cells.
-     *
-     * BONUS METHOD - Optional implementation for extra credit
+     * <p>
+     * For each candidate top row, the target rows under the pattern are shifted
+     * left by the column of every live pattern cell and ORed together; a clear
+     * bit in the result is a column where no pattern cell meets a live target
+     * cell, so 64 positions are tested per word operation. Rows of placements are
+     * computed only as the stream reaches them.
      *
      * @param target The target grid
      * @param pattern The pattern to place
      * @return Stream of valid positions (top-left corners where pattern fits)
      */
     public Stream<Cell> findValidPlacements(Grid target, Grid pattern) {
-        // BONUS: Check each possible position in target grid
-        throw new UnsupportedOperationException("Bonus feature - optional");
+        int lastRow = target.getRows() - pattern.getRows();
+        int lastCol = target.getCols() - pattern.getCols();
+        if (lastRow < 0 || lastCol < 0) {
+            return Stream.empty();
+        }
+        int[][] liveColumns = liveColumnsByRow(pattern);
+        return IntStream.rangeClosed(0, lastRow)
+            .mapToObj(row -> {
+                long[] blocked = blockedColumns(target, liveColumns, row, lastCol + 1);
+                return IntStream.iterate(nextFree(blocked, 0), col -> col <= lastCol, col -> nextFree(blocked, col + 1))
+                    .mapToObj(col -> Cell.of(row, col));
+            })
+            .flatMap(placements -> placements);
     }
 
     /**
-     * Translates a pattern by the given offset.
-     *
-     * BONUS METHOD - Optional implementation for extra credit
+     * Marks the columns where a pattern whose top row sits on {@code row} would
+     * cover a live target cell.
+     */
+    private static long[] blockedColumns(Grid target, int[][] liveColumns, int row, int positions) {
+        int targetWords = target.wordsPerRow();
+        int words = BitKernel.wordsFor(positions);
+        long[] blocked = new long[words];
+        long[] shifted = new long[words];
+        for (int patternRow = 0; patternRow < liveColumns.length; patternRow++) {
+            int offset = (row + patternRow) * targetWords;
+            for (int col : liveColumns[patternRow]) {
+                BitMatrix.shiftRow(target.words(), offset, targetWords, shifted, 0, words, -col);
+                for (int i = 0; i < words; i++) {
+                    blocked[i] |= shifted[i];
+                }
+            }
+        }
+        return blocked;
+    }
+
+    private static int[][] liveColumnsByRow(Grid pattern) {
+        int wordsPerRow = pattern.wordsPerRow();
+        long[] words = pattern.words();
+        int[][] columns = new int[pattern.getRows()][];
+        for (int row = 0; row < columns.length; row++) {
+            int offset = row * wordsPerRow;
+            columns[row] = new int[BitKernel.bitCount(words, offset, wordsPerRow)];
+            int n = 0;
+            for (int i = 0; i < wordsPerRow; i++) {
+                for (long word = words[offset + i]; word != 0; word &= word - 1) {
+                    columns[row][n++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Returns the first clear bit at or after {@code col}, or a value past the end if none.
+     */
+    private static int nextFree(long[] blocked, int col) {
+        int index = col >>> 6;
+        if (index >= blocked.length) {
+            return Integer.MAX_VALUE;
+        }
+        long word = ~blocked[index] & (-1L << col);
+        while (word == 0) {
+            if (++index == blocked.length) {
+                return Integer.MAX_VALUE;
+            }
+            word = ~blocked[index];
+        }
+        return (index << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Translates a pattern by the given offset. On a bounded grid, cells moved
+     * outside it are dropped; with joined edges they wrap around, upside down when
+     * they cross a Klein bottle's twisted seam. Each row is moved with word shifts
+     * rather than cell by cell.
      *
      * @param grid The grid to translate
      * @param rowOffset Row translation amount
@@ -76,7 +181,74 @@ public class PatternTransformer {
      * @return New translated grid with same dimensions
      */
     public Grid translate(Grid grid, int rowOffset, int colOffset) {
-        // BONUS: Add offsets to each live cell's coordinates
-        throw new UnsupportedOperationException("Bonus feature - optional");
+        if (grid.getTopology() != Topology.BOUNDED) {
+            return translateWrapped(grid, rowOffset, colOffset);
+        }
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int wordsPerRow = grid.wordsPerRow();
+        long[] source = grid.words();
+        long[] words = new long[source.length];
+        long lastMask = BitKernel.lastWordMask(cols);
+        int population = 0;
+        for (int row = Math.max(0, -rowOffset); row < rows && row + rowOffset < rows; row++) {
+            int target = (row + rowOffset) * wordsPerRow;
+            BitMatrix.shiftRow(source, row * wordsPerRow, wordsPerRow, words, target, wordsPerRow, colOffset);
+            words[target + wordsPerRow - 1] &= lastMask;
+            population += BitKernel.bitCount(words, target, wordsPerRow);
+        }
+        return new Grid(rows, cols, Topology.BOUNDED, grid.getGeneration(), words, population);
+    }
+
+    /**
+     * Moves every row in two pieces: the cells that stay left of the right edge
+     * and the cells that wrap past it, which on a Klein bottle land in the
+     * mirrored row.
+     */
+    private static Grid translateWrapped(Grid grid, int rowOffset, int colOffset) {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int wordsPerRow = grid.wordsPerRow();
+        long[] source = grid.words();
+        long[] words = new long[source.length];
+        long[] shifted = new long[wordsPerRow];
+        long lastMask = BitKernel.lastWordMask(cols);
+        boolean twisted = grid.getTopology() == Topology.KLEIN_BOTTLE;
+        int shift = Math.floorMod(colOffset, cols);
+        // Seams crossed by the cells that do not wrap; the wrapping ones cross one more
+        boolean crossesOddly = (Math.floorDiv(colOffset, cols) & 1) != 0;
+        for (int row = 0; row < rows; row++) {
+            int target = (int) Math.floorMod((long) row + rowOffset, rows);
+            int offset = row * wordsPerRow;
+            for (int piece = 0; piece < 2; piece++) {
+                boolean flipped = twisted && (crossesOddly ^ (piece == 1));
+                int destination = (flipped ? rows - 1 - target : target) * wordsPerRow;
+                BitMatrix.shiftRow(source, offset, wordsPerRow, shifted, 0, wordsPerRow,
+                    piece == 0 ? shift : shift - cols);
+                shifted[wordsPerRow - 1] &= lastMask;
+                for (int i = 0; i < wordsPerRow; i++) {
+                    words[destination + i] |= shifted[i];
+                }
+            }
+        }
+        return new Grid(rows, cols, grid.getTopology(), grid.getGeneration(), words, grid.countLiveCells());
+    }
+
+    /**
+     * Copies the part of a grid inside a box that encloses all its live cells.
+     */
+    Grid crop(Grid grid, BoundingBox box) {
+        int top = (int) box.minRow();
+        int left = (int) box.minCol();
+        int rows = (int) box.height();
+        int cols = (int) box.width();
+        int sourceWords = grid.wordsPerRow();
+        int wordsPerRow = BitKernel.wordsFor(cols);
+        long[] words = new long[Math.multiplyExact(rows, wordsPerRow)];
+        for (int row = 0; row < rows; row++) {
+            BitMatrix.shiftRow(grid.words(), (top + row) * sourceWords, sourceWords,
+                words, row * wordsPerRow, wordsPerRow, -left);
+        }
+        return new Grid(rows, cols, words, grid.countLiveCells());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,181 @@
+package edu.trincoll.gameoflife;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Saves grids in RLE format, the counterpart of {@link PatternReader}.
+ * <p>
+ * Runs are found a word at a time in the grid's packed storage and encoded
+ * through a direct buffer, so writing never builds the output as a string.
+ * Trailing dead cells of a row are omitted, consecutive row ends are merged
+ * into a single counted {@code $}, and lines are wrapped at 70 characters.
+ */
+public final class PatternWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int LINE_LENGTH = 70;
+
+    private PatternWriter() {
+    }
+
+    public static void writeRle(Grid grid, GameRules rules, Path path) throws IOException {
+        writeRle(grid, LifeRule.compile(rules).toString(), path);
+    }
+
+    public static void writeRle(Grid grid, LargerThanLifeRule rule, Path path) throws IOException {
+        writeRle(grid, rule.toString(), path);
+    }
+
+    /**
+     * Writes a grid to a channel, which is left open.
+     *
+     * @param grid The grid to save; its full size goes in the header
+     * @param rules The rule recorded in the header
+     * @param channel Destination
+     */
+    public static void writeRle(Grid grid, GameRules rules, WritableByteChannel channel) throws IOException {
+        writeRle(grid, LifeRule.compile(rules).toString(), channel);
+    }
+
+    public static void writeRle(Grid grid, LargerThanLifeRule rule, WritableByteChannel channel) throws IOException {
+        writeRle(grid, rule.toString(), channel);
+    }
+
+    private static void writeRle(Grid grid, String rulestring, Path path) throws IOException {
+        try (var channel = FileChannel.open(path,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeRle(grid, rulestring, channel);
+        }
+    }
+
+    private static void writeRle(Grid grid, String rulestring, WritableByteChannel channel) throws IOException {
+        var out = new Output(channel);
+        out.text("x = %d, y = %d, rule = %s\n".formatted(grid.getCols(), grid.getRows(), rulestring));
+
+        long[] words = grid.words();
+        int wordsPerRow = grid.wordsPerRow();
+        int cols = grid.getCols();
+        int pendingRows = 0;
+        for (int row = 0; row < grid.getRows(); row++) {
+            int offset = row * wordsPerRow;
+            int col = 0;
+            while (true) {
+                int start = nextSet(words, offset, wordsPerRow, col);
+                if (start >= cols) {
+                    break;
+                }
+                int end = Math.min(cols, nextClear(words, offset, wordsPerRow, start));
+                if (pendingRows > 0) {
+                    out.run(pendingRows, '$');
+                    pendingRows = 0;
+                }
+                if (start > col) {
+                    out.run(start - col, 'b');
+                }
+                out.run(end - start, 'o');
+                col = end;
+            }
+            pendingRows++;
+        }
+        out.run(1, '!');
+        out.text("\n");
+        out.flush();
+    }
+
+    /**
+     * Returns the first live column at or after {@code col}, or a value past the row if none.
+     */
+    private static int nextSet(long[] words, int offset, int wordsPerRow, int col) {
+        int index = col >>> 6;
+        if (index >= wordsPerRow) {
+            return Integer.MAX_VALUE;
+        }
+        long word = words[offset + index] & (-1L << col);
+        while (word == 0) {
+            if (++index == wordsPerRow) {
+                return Integer.MAX_VALUE;
+            }
+            word = words[offset + index];
+        }
+        return (index << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Returns the first dead column at or after {@code col}; bits past the row end are dead.
+     */
+    private static int nextClear(long[] words, int offset, int wordsPerRow, int col) {
+        int index = col >>> 6;
+        long word = ~words[offset + index] & (-1L << col);
+        while (word == 0) {
+            if (++index == wordsPerRow) {
+                return index << 6;
+            }
+            word = ~words[offset + index];
+        }
+        return (index << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Buffered ASCII output that wraps RLE items at {@link #LINE_LENGTH}.
+     */
+    private static final class Output {
+
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final byte[] digits = new byte[11];
+        private int lineLength;
+
+        Output(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void text(String text) throws IOException {
+            for (byte b : text.getBytes(StandardCharsets.US_ASCII)) {
+                put(b);
+            }
+            lineLength = 0;
+        }
+
+        /**
+         * Writes one run item such as {@code 12o}, keeping the item on one line.
+         */
+        void run(int length, char tag) throws IOException {
+            int size = 0;
+            if (length > 1) {
+                for (int value = length; value > 0; value /= 10) {
+                    digits[size++] = (byte) ('0' + value % 10);
+                }
+            }
+            if (lineLength + size + 1 > LINE_LENGTH) {
+                put((byte) '\n');
+                lineLength = 0;
+            }
+            for (int i = size - 1; i >= 0; i--) {
+                put(digits[i]);
+            }
+            put((byte) tag);
+            lineLength += size + 1;
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void put(byte b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put(b);
+        }
+    }
+}
@@ -25,10 +25,30 @@ public class PopulationStats {
             .toList();
     }
 
+    /**
+     * Runs a single simulation and collects every statistic in one pass.
+     * Only the current and previous grids are kept alive, so memory does not
+     * grow with the number of generations.
+     *
+     * @param initial Starting grid
+     * @param rules Game rules to apply
+     * @param generations Number of generations to simulate
+     * @return The statistics over generations 0 through {@code generations}
+     */
+    public PopulationTracker track(Grid initial, GameRules rules, int generations) {
+        var tracker = PopulationTracker.startingAt(initial);
+        var current = initial;
+        for (int generation = 1; generation <= generations; generation++) {
+            var next = current.evolveWith(rules);
+            recordChanges(tracker, current, next);
+            current = next;
+        }
+        return tracker;
+    }
+
     /**
      * Finds the generation with maximum population within the given range.
-     * <p>
-     * SIMPLIFIED: Partial implementation provided
+     * If several generations share the maximum, the earliest one is returned.
      *
      * @param initial Starting grid
      * @param rules Game rules to apply
@@ -36,12 +56,7 @@ public class PopulationStats {
      * @return Optional containing the generation number and population count
      */
     public Optional<PopulationPeak> findPopulationPeak(Grid initial, GameRules rules, int maxGenerations) {
-        List<Integer> populations = trackPopulation(initial, rules, maxGenerations);
-
-        // TODO: Find the maximum population and its index (generation)
-        // Return Optional.of(new PopulationPeak(generation, population))
-        // Hint: IntStream.range(0, populations.size()) might help
-        throw new UnsupportedOperationException("Not implemented - complete using TDD");
+        return Optional.of(track(initial, rules, maxGenerations).peak());
     }
 
     /**
@@ -53,16 +68,12 @@ public class PopulationStats {
      * @return Average population as a double
      */
     public double calculateAveragePopulation(Grid initial, GameRules rules, int generations) {
-        // TODO: Use trackPopulation to get all populations
-        // Then calculate the average
-        // Hint: stream.mapToInt(Integer::intValue).average()
-        throw new UnsupportedOperationException("Not implemented - complete using TDD");
+        return track(initial, rules, generations).mean();
     }
 
     /**
      * Determines if the population stabilizes (stops changing) within the given generations.
-     * <p>
-     * SIMPLIFIED: Check if population stays the same for 3 consecutive generations
+     * The population is stable once it stays the same for 3 consecutive generations.
      *
      * @param initial Starting grid
      * @param rules Game rules to apply
@@ -70,10 +81,37 @@ public class PopulationStats {
      * @return Optional containing the generation where population stabilized, or empty if it doesn't
      */
     public Optional<Integer> findStabilizationPoint(Grid initial, GameRules rules, int maxGenerations) {
-        // TODO: Use trackPopulation to get populations
-        // Find where population is same for 3 consecutive generations
-        // Return the first generation where it stabilizes
-        throw new UnsupportedOperationException("Not implemented - complete using TDD");
+        return track(initial, rules, maxGenerations).stabilizationPoint();
+    }
+
+    /**
+     * Counts births and deaths word by word and bounds the born cells.
+     */
+    private static void recordChanges(PopulationTracker tracker, Grid previous, Grid next) {
+        long[] before = previous.words();
+        long[] after = next.words();
+        int wordsPerRow = next.wordsPerRow();
+        int born = 0;
+        int died = 0;
+        int minRow = Integer.MAX_VALUE, maxRow = -1;
+        int minCol = Integer.MAX_VALUE, maxCol = -1;
+        for (int index = 0; index < after.length; index++) {
+            long births = after[index] & ~before[index];
+            born += Long.bitCount(births);
+            died += Long.bitCount(before[index] & ~after[index]);
+            if (births != 0) {
+                int row = index / wordsPerRow;
+                int firstCol = (index % wordsPerRow) << 6;
+                minRow = Math.min(minRow, row);
+                maxRow = row;
+                minCol = Math.min(minCol, firstCol + Long.numberOfTrailingZeros(births));
+                maxCol = Math.max(maxCol, firstCol + 63 - Long.numberOfLeadingZeros(births));
+            }
+        }
+        var bornBox = born == 0
+            ? Optional.<BoundingBox>empty()
+            : Optional.of(new BoundingBox(minRow, minCol, maxRow, maxCol));
+        tracker.accept(next.countLiveCells(), born, died, bornBox);
     }
 
     /**
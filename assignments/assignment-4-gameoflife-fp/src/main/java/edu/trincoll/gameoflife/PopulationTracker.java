@@ -0,0 +1,156 @@
+package edu.trincoll.gameoflife;
+
+import java.util.Optional;
+
+/**
+ * Online statistics over the generations of one run.
+ * <p>
+ * Each generation updates the peak, the running mean and variance (Welford's
+ * method), the stabilization window, the birth and death totals and the
+ * envelope of every cell that has been alive. Nothing is stored per generation,
+ * so memory stays constant however long the run is. Feed it with
+ * {@link PopulationStats#track} for grids, or register it as a
+ * {@link GenerationListener} on an {@link IncrementalUniverse}.
+ */
+public final class PopulationTracker implements GenerationListener {
+
+    /**
+     * Number of consecutive generations with equal population that count as stable.
+     */
+    static final int STABLE_WINDOW = 3;
+
+    private int generation;
+    private int peakGeneration;
+    private int peakPopulation;
+    private double mean;
+    private double sumOfSquares;
+    private long births;
+    private long deaths;
+    private BoundingBox envelope;
+    private int runStart;
+    private int runPopulation;
+    private int runLength;
+    private int stabilization = -1;
+
+    /**
+     * Starts tracking at generation 0.
+     *
+     * @param initialPopulation Live cells at generation 0
+     * @param initialBox Bounding box of those cells, or empty if there are none
+     */
+    public PopulationTracker(int initialPopulation, Optional<BoundingBox> initialBox) {
+        this.envelope = initialBox.orElse(null);
+        this.peakPopulation = initialPopulation;
+        this.mean = initialPopulation;
+        this.runPopulation = initialPopulation;
+        this.runLength = 1;
+    }
+
+    public static PopulationTracker startingAt(Grid grid) {
+        return new PopulationTracker(grid.countLiveCells(), grid.boundingBox());
+    }
+
+    /**
+     * Records the next generation.
+     *
+     * @param population Live cells in the new generation
+     * @param born Cells born in the new generation
+     * @param died Cells that died in the new generation
+     * @param bornBox Bounding box of the born cells, or empty if none were born
+     */
+    public void accept(int population, int born, int died, Optional<BoundingBox> bornBox) {
+        generation++;
+        if (population > peakPopulation) {
+            peakPopulation = population;
+            peakGeneration = generation;
+        }
+
+        double delta = population - mean;
+        mean += delta / (generation + 1);
+        sumOfSquares += delta * (population - mean);
+
+        births += born;
+        deaths += died;
+        bornBox.ifPresent(box -> envelope = envelope == null ? box : envelope.union(box));
+
+        if (population == runPopulation) {
+            runLength++;
+        } else {
+            runStart = generation;
+            runPopulation = population;
+            runLength = 1;
+        }
+        if (runLength == STABLE_WINDOW && stabilization < 0) {
+            stabilization = runStart;
+        }
+    }
+
+    @Override
+    public void onGeneration(GenerationDelta delta) {
+        long[] bounds = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE};
+        for (long key : delta.birthKeys()) {
+            bounds[0] = Math.min(bounds[0], CellKey.row(key));
+            bounds[1] = Math.min(bounds[1], CellKey.col(key));
+            bounds[2] = Math.max(bounds[2], CellKey.row(key));
+            bounds[3] = Math.max(bounds[3], CellKey.col(key));
+        }
+        var bornBox = delta.birthCount() == 0
+            ? Optional.<BoundingBox>empty()
+            : Optional.of(new BoundingBox(bounds[0], bounds[1], bounds[2], bounds[3]));
+        accept((int) delta.population(), delta.birthCount(), delta.deathCount(), bornBox);
+    }
+
+    /**
+     * The last generation recorded; generation 0 is the starting state.
+     */
+    public int generations() {
+        return generation;
+    }
+
+    /**
+     * The first generation with the highest population.
+     */
+    public PopulationStats.PopulationPeak peak() {
+        return new PopulationStats.PopulationPeak(peakGeneration, peakPopulation);
+    }
+
+    public double mean() {
+        return mean;
+    }
+
+    /**
+     * Population variance over every generation recorded so far.
+     */
+    public double variance() {
+        return sumOfSquares / (generation + 1);
+    }
+
+    /**
+     * The first generation whose population stayed the same for
+     * {@value #STABLE_WINDOW} consecutive generations.
+     */
+    public Optional<Integer> stabilizationPoint() {
+        return stabilization < 0 ? Optional.empty() : Optional.of(stabilization);
+    }
+
+    public long totalBirths() {
+        return births;
+    }
+
+    public long totalDeaths() {
+        return deaths;
+    }
+
+    /**
+     * The smallest rectangle enclosing every cell that has been alive during the run.
+     */
+    public Optional<BoundingBox> envelope() {
+        return Optional.ofNullable(envelope);
+    }
+
+    @Override
+    public String toString() {
+        return "%d generations, %s, mean %.2f, variance %.2f, %d births, %d deaths".formatted(
+            generation, peak(), mean, variance(), births, deaths);
+    }
+}
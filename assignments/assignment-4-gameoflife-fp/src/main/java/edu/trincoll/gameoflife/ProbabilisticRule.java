@@ -0,0 +1,177 @@
+package edu.trincoll.gameoflife;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+
+/**
+ * A birth/survival rule whose births and survivals each happen only with some
+ * probability.
+ * <p>
+ * Wherever the deterministic base rule would make a cell alive, a coin is
+ * flipped: a survival with {@code survivalProbability}, a birth with
+ * {@code birthProbability}. Deaths the base rule demands always happen. The coin
+ * is not drawn from a shared generator but computed by hashing
+ * (seed, generation, row, column) with SplitMix-style finalisers, so every cell's
+ * outcome depends only on where and when it is. Sequential, parallel, tiled and
+ * SIMD engines can therefore evaluate cells in any order, on any thread, and
+ * still agree exactly for the same seed.
+ * <p>
+ * The engines that support it are {@link Grid#evolveWith(GameRules)},
+ * {@link ParallelEvolution}, {@link TiledUniverse} and {@link DenseByteGrid};
+ * they key the coin by the generation being computed. Other engines compile
+ * their rules with {@link LifeRule#compile(BiFunction)}, which rejects this rule.
+ * <p>
+ * Engines decide a cell with {@link #next(long, int, int, CellState, int)}.
+ * Used as a plain {@link BiFunction} without coordinates, probabilities of 0 and
+ * 1 stay deterministic, but any other coin is a fresh draw from
+ * {@link ThreadLocalRandom} and is not reproducible.
+ */
+public final class ProbabilisticRule implements GameRules {
+
+    private static final long GAMMA = 0x9E37_79B9_7F4A_7C15L;
+    private static final double UNIT = 0x1.0p53;
+
+    private final LifeRule base;
+    private final double survivalProbability;
+    private final double birthProbability;
+    private final long seed;
+    private final long survivalThreshold;
+    private final long birthThreshold;
+
+    private ProbabilisticRule(LifeRule base, double survivalProbability, double birthProbability, long seed) {
+        this.base = base;
+        this.survivalProbability = checkProbability("Survival", survivalProbability);
+        this.birthProbability = checkProbability("Birth", birthProbability);
+        this.seed = seed;
+        this.survivalThreshold = (long) (survivalProbability * UNIT);
+        this.birthThreshold = (long) (birthProbability * UNIT);
+    }
+
+    /**
+     * Creates the rule.
+     *
+     * @param baseRules Deterministic rules deciding which cells may be alive next
+     * @param survivalProbability Probability that a cell survives when the base rules say it does
+     * @param birthProbability Probability that a cell is born when the base rules say it is
+     * @param seed Seed shared by every engine that should reproduce the same run
+     */
+    public static ProbabilisticRule of(BiFunction<CellState, Integer, CellState> baseRules,
+                                       double survivalProbability, double birthProbability, long seed) {
+        return new ProbabilisticRule(LifeRule.compile(baseRules), survivalProbability, birthProbability, seed);
+    }
+
+    /**
+     * Recreates a saved rule.
+     */
+    static ProbabilisticRule restore(LifeRule base, double survivalProbability, double birthProbability,
+                                     long seed) {
+        return new ProbabilisticRule(base, survivalProbability, birthProbability, seed);
+    }
+
+    /**
+     * Decides a cell without knowing where or when it is, so the coin ignores the
+     * seed; see the class description.
+     */
+    @Override
+    public CellState apply(CellState current, Integer neighbors) {
+        if (!base.apply(current, neighbors).isAlive()) {
+            return CellState.DEAD;
+        }
+        return CellState.fromBoolean(passes(ThreadLocalRandom.current().nextLong(), current.isAlive()));
+    }
+
+    /**
+     * Decides the state of the cell at ({@code row}, {@code col}) in {@code generation}.
+     *
+     * @param current The cell's state in the previous generation
+     * @param neighbors Its live neighbours in the previous generation
+     */
+    public CellState next(long generation, int row, int col, CellState current, int neighbors) {
+        return CellState.fromBoolean(base.apply(current, neighbors).isAlive()
+            && passes(generation, row, col, current.isAlive()));
+    }
+
+    public LifeRule base() {
+        return base;
+    }
+
+    public double survivalProbability() {
+        return survivalProbability;
+    }
+
+    public double birthProbability() {
+        return birthProbability;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Decides whether a cell the base rule keeps or makes alive really is alive
+     * in {@code generation}.
+     */
+    boolean passes(long generation, int row, int col, boolean alive) {
+        return passes(hash(generation, row, col), alive);
+    }
+
+    /**
+     * Filters one word of the base rule's result: each cell set in {@code next}
+     * stays set only if its coin for {@code generation} passes.
+     *
+     * @param firstCol column of bit 0 of the word
+     * @param alive the same cells in the previous generation
+     */
+    long sample(long generation, int row, int firstCol, long alive, long next) {
+        long result = next;
+        for (long candidates = next; candidates != 0; candidates &= candidates - 1) {
+            int bit = Long.numberOfTrailingZeros(candidates);
+            if (!passes(generation, row, firstCol + bit, (alive & (1L << bit)) != 0)) {
+                result &= ~(1L << bit);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Filters rows {@code [fromRow, toRow)} of a packed next generation in place.
+     *
+     * @return live cells remaining in those rows
+     */
+    int sampleRows(long[] current, long[] next, int wordsPerRow, int fromRow, int toRow, long generation) {
+        int population = 0;
+        for (int row = fromRow; row < toRow; row++) {
+            for (int i = row * wordsPerRow, word = 0; word < wordsPerRow; i++, word++) {
+                next[i] = sample(generation, row, word << 6, current[i], next[i]);
+                population += Long.bitCount(next[i]);
+            }
+        }
+        return population;
+    }
+
+    private boolean passes(long draw, boolean alive) {
+        return (draw >>> 11) < (alive ? survivalThreshold : birthThreshold);
+    }
+
+    /**
+     * A counter-based random number: each coordinate is folded in with a
+     * SplitMix64 step, so nearby cells and generations get unrelated values.
+     */
+    private long hash(long generation, int row, int col) {
+        long h = CellKey.mix(seed + GAMMA);
+        h = CellKey.mix(h ^ (generation + GAMMA));
+        return CellKey.mix(h ^ (CellKey.pack(row, col) + GAMMA));
+    }
+
+    private static double checkProbability(String name, double probability) {
+        if (!(probability >= 0.0 && probability <= 1.0)) {
+            throw new IllegalArgumentException("%s probability must be between 0 and 1: %s".formatted(name, probability));
+        }
+        return probability;
+    }
+
+    @Override
+    public String toString() {
+        return "%s with survival %s, birth %s, seed %d".formatted(base, survivalProbability, birthProbability, seed);
+    }
+}
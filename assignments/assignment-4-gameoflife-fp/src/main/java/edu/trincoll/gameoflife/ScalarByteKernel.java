@@ -0,0 +1,48 @@
+package edu.trincoll.gameoflife;
+
+/**
+ * Portable step for {@link DenseByteGrid}, used when the Vector API is not
+ * available and for the cells past the last full vector of a row.
+ */
+final class ScalarByteKernel {
+
+    private ScalarByteKernel() {
+    }
+
+    /**
+     * Steps a padded board one cell at a time.
+     *
+     * @return the population of the new generation
+     */
+    static int step(byte[] src, byte[] dst, int rows, int cols, int birth, int survival) {
+        int population = 0;
+        for (int row = 1; row <= rows; row++) {
+            population += stepCells(src, dst, cols + 2, row, 1, cols, birth, survival);
+        }
+        return population;
+    }
+
+    /**
+     * Steps columns {@code fromCol..toCol} (padded coordinates, inclusive) of one row.
+     *
+     * @return the number of live cells written
+     */
+    static int stepCells(byte[] src, byte[] dst, int stride, int row, int fromCol, int toCol,
+                         int birth, int survival) {
+        int population = 0;
+        int above = (row - 1) * stride;
+        int middle = row * stride;
+        int below = (row + 1) * stride;
+        for (int col = fromCol; col <= toCol; col++) {
+            int sum = src[above + col - 1] + src[above + col] + src[above + col + 1]
+                + src[middle + col - 1] + src[middle + col + 1]
+                + src[below + col - 1] + src[below + col] + src[below + col + 1];
+            boolean alive = src[middle + col] != 0;
+            int mask = alive ? survival : birth & ~1;
+            byte next = (byte) ((mask >>> sum) & 1);
+            dst[middle + col] = next;
+            population += next;
+        }
+        return population;
+    }
+}
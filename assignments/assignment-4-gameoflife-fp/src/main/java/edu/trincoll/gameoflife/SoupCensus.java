@@ -0,0 +1,127 @@
+package edu.trincoll.gameoflife;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe tally of how random soups ended, filled in concurrently by a
+ * {@link SoupSearch}. Counters are {@link LongAdder}s, so many virtual threads
+ * can record results without contending on a single field.
+ */
+public final class SoupCensus {
+
+    private final LongAdder soups = new LongAdder();
+    private final LongAdder died = new LongAdder();
+    private final LongAdder stillLifes = new LongAdder();
+    private final LongAdder spaceships = new LongAdder();
+    private final LongAdder unsettled = new LongAdder();
+    private final LongAdder settledGenerations = new LongAdder();
+    private final LongAdder lateSettled = new LongAdder();
+    private final Map<Integer, LongAdder> oscillatorsByPeriod = new ConcurrentHashMap<>();
+
+    void recordDied(int transientLength) {
+        died.increment();
+        recordSettled(transientLength);
+    }
+
+    void recordCycle(int transientLength, int period) {
+        countCycle(period);
+        recordSettled(transientLength);
+    }
+
+    /**
+     * Records a soup found cycling only after the budget, whose transient is unknown.
+     */
+    void recordLateCycle(int period) {
+        countCycle(period);
+        lateSettled.increment();
+        soups.increment();
+    }
+
+    private void countCycle(int period) {
+        if (period == 1) {
+            stillLifes.increment();
+        } else {
+            oscillatorsByPeriod.computeIfAbsent(period, p -> new LongAdder()).increment();
+        }
+    }
+
+    void recordSpaceship() {
+        spaceships.increment();
+        soups.increment();
+    }
+
+    void recordUnsettled() {
+        unsettled.increment();
+        soups.increment();
+    }
+
+    private void recordSettled(int transientLength) {
+        settledGenerations.add(transientLength);
+        soups.increment();
+    }
+
+    /**
+     * Number of soups recorded so far.
+     */
+    public long soups() {
+        return soups.sum();
+    }
+
+    public long died() {
+        return died.sum();
+    }
+
+    public long stillLifes() {
+        return stillLifes.sum();
+    }
+
+    public long oscillators() {
+        return oscillatorsByPeriod.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Snapshot of oscillator counts keyed by period, in ascending period order.
+     */
+    public Map<Integer, Long> oscillatorsByPeriod() {
+        var snapshot = new TreeMap<Integer, Long>();
+        oscillatorsByPeriod.forEach((period, count) -> snapshot.put(period, count.sum()));
+        return snapshot;
+    }
+
+    public long spaceships() {
+        return spaceships.sum();
+    }
+
+    /**
+     * Soups that had not settled into a cycle or a spaceship within the search's budget.
+     */
+    public long unsettled() {
+        return unsettled.sum();
+    }
+
+    /**
+     * Still lifes and oscillators whose cycle was only found after the search's
+     * budget ran out. They are counted by kind but left out of {@link #meanTransient()}.
+     */
+    public long lateSettled() {
+        return lateSettled.sum();
+    }
+
+    /**
+     * Average number of generations settled soups took to reach their cycle,
+     * over the soups whose transient was measured.
+     */
+    public double meanTransient() {
+        long settled = died() + stillLifes() + oscillators() - lateSettled();
+        return settled == 0 ? 0.0 : (double) settledGenerations.sum() / settled;
+    }
+
+    @Override
+    public String toString() {
+        return "%d soups: %d died, %d still lifes, oscillators %s, %d spaceships, %d unsettled".formatted(
+            soups(), died(), stillLifes(), oscillatorsByPeriod(), spaceships(), unsettled());
+    }
+}
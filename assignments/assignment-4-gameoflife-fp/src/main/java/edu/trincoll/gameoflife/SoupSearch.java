@@ -0,0 +1,243 @@
+package edu.trincoll.gameoflife;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a statistical soup search: many random square soups, each followed on an
+ * unbounded plane until it settles, with the outcomes tallied in a
+ * {@link SoupCensus}.
+ * <p>
+ * Every soup runs on its own virtual thread, and a semaphore bounds how many
+ * run at once so a search over millions of seeds never holds more than
+ * {@code parallelism} simulations in memory. Soup {@code n} is generated from
+ * {@code new SplittableRandom(n)}, so a seed always gives the same soup and
+ * census results do not depend on scheduling. The first soup or progress
+ * listener to throw stops the search, and waiting for it rethrows that failure.
+ */
+public final class SoupSearch {
+
+    /**
+     * Generations a soup still running after the budget is watched for a late
+     * cycle or for being a lone spaceship.
+     */
+    static final int FINAL_CHECK_GENERATIONS = 32;
+
+    private final GameRules rules;
+    private final int size;
+    private final double density;
+    private final int generations;
+    private final int parallelism;
+    private final CycleDetector cycleDetector = new CycleDetector();
+    private final ClassificationCache cache = new ClassificationCache();
+
+    /**
+     * Receives the number of soups finished so far; called from worker threads.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long completed, long total);
+    }
+
+    /**
+     * @param rules Rules every soup evolves under
+     * @param size Side length of the square soup
+     * @param density Probability that a soup cell starts alive
+     * @param generations Transient plus period within which a soup must settle
+     * @param parallelism Maximum number of soups simulated at once
+     */
+    public SoupSearch(GameRules rules, int size, double density, int generations, int parallelism) {
+        if (size <= 0 || generations <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException(
+                "Size, generations and parallelism must be positive: %d, %d, %d".formatted(size, generations, parallelism));
+        }
+        if (density < 0.0 || density > 1.0) {
+            throw new IllegalArgumentException("Density must be between 0 and 1: " + density);
+        }
+        this.rules = LifeRule.compile(rules);
+        this.size = size;
+        this.density = density;
+        this.generations = generations;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Searches seeds {@code firstSeed} to {@code firstSeed + count - 1} and waits for the result.
+     *
+     * @throws ExecutionException if classifying a soup failed
+     */
+    public SoupCensus run(long firstSeed, long count) throws InterruptedException, ExecutionException {
+        return start(firstSeed, count, (completed, total) -> { }).join();
+    }
+
+    /**
+     * Starts searching seeds {@code firstSeed} to {@code firstSeed + count - 1} in the background.
+     *
+     * @param listener Told about progress roughly every thousandth of the run
+     * @return A handle to follow, cancel or wait for the search
+     */
+    public Search start(long firstSeed, long count, ProgressListener listener) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Seed count must not be negative: " + count);
+        }
+        var search = new Search(count, listener);
+        Thread.ofVirtual().name("soup-search").start(() -> search.submitAll(firstSeed));
+        return search;
+    }
+
+    /**
+     * Builds the soup for a seed.
+     */
+    public Grid soup(long seed) {
+        var random = new SplittableRandom(seed);
+        var grid = new Grid(size, size);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (random.nextDouble() < density) {
+                    grid.setCellState(Cell.of(row, col), CellState.ALIVE);
+                }
+            }
+        }
+        return grid;
+    }
+
+    private void classify(long seed, SoupCensus census) {
+        var start = SparseUniverse.from(soup(seed));
+        var cycle = cycleDetector.detect(start, rules, generations);
+        if (cycle.isPresent()) {
+            int transientLength = cycle.get().transientLength();
+            if (advance(start, transientLength).countLiveCells() == 0) {
+                census.recordDied(transientLength);
+            } else {
+                census.recordCycle(transientLength, cycle.get().period());
+            }
+            return;
+        }
+
+        var last = advance(start, generations);
+        if (last.countLiveCells() == 0) {
+            census.recordDied(generations);
+            return;
+        }
+        var box = last.boundingBox().orElseThrow();
+        var window = last.toGrid((int) box.minRow(), (int) box.minCol(), (int) box.height(), (int) box.width());
+        // Leftover ash repeats across soups, so its classification is usually cached
+        var result = cache.classify(window, rules, FINAL_CHECK_GENERATIONS);
+        switch (result.type()) {
+            case STILL_LIFE, OSCILLATOR -> census.recordLateCycle(result.period());
+            case SPACESHIP -> census.recordSpaceship();
+            case UNKNOWN -> census.recordUnsettled();
+        }
+    }
+
+    private SparseUniverse advance(SparseUniverse universe, int steps) {
+        for (int i = 0; i < steps; i++) {
+            universe = universe.evolveWith(rules);
+        }
+        return universe;
+    }
+
+    /**
+     * A running search.
+     */
+    public final class Search {
+
+        private final long total;
+        private final long reportEvery;
+        private final ProgressListener listener;
+        private final SoupCensus census = new SoupCensus();
+        private final Semaphore permits = new Semaphore(parallelism);
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        private Search(long total, ProgressListener listener) {
+            this.total = total;
+            this.reportEvery = Math.max(1, total / 1000);
+            this.listener = listener;
+        }
+
+        private void submitAll(long firstSeed) {
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (long i = 0; i < total && !cancelled.get(); i++) {
+                    permits.acquire();
+                    long seed = firstSeed + i;
+                    executor.submit(() -> {
+                        try {
+                            if (!cancelled.get()) {
+                                classify(seed, census);
+                                long done = completed.incrementAndGet();
+                                if (done % reportEvery == 0 || done == total) {
+                                    listener.onProgress(done, total);
+                                }
+                            }
+                        } catch (RuntimeException | Error e) {
+                            // Keep the first failure and stop handing out seeds
+                            if (failure.compareAndSet(null, e)) {
+                                cancelled.set(true);
+                            }
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+            } catch (InterruptedException e) {
+                cancelled.set(true);
+                Thread.currentThread().interrupt();
+            } finally {
+                finished.countDown();
+            }
+        }
+
+        /**
+         * Stops handing out seeds; soups already running finish and are counted.
+         */
+        public void cancel() {
+            cancelled.set(true);
+        }
+
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+
+        public boolean isDone() {
+            return finished.getCount() == 0;
+        }
+
+        /**
+         * Number of soups classified so far.
+         */
+        public long completed() {
+            return completed.get();
+        }
+
+        /**
+         * The census so far; complete once {@link #join()} returns.
+         */
+        public SoupCensus census() {
+            return census;
+        }
+
+        /**
+         * Waits until every submitted soup has been classified.
+         *
+         * @throws ExecutionException if a soup or the progress listener threw; its
+         *     cause is the first such failure
+         */
+        public SoupCensus join() throws InterruptedException, ExecutionException {
+            finished.await();
+            var cause = failure.get();
+            if (cause != null) {
+                throw new ExecutionException("Soup search failed", cause);
+            }
+            return census;
+        }
+    }
+}
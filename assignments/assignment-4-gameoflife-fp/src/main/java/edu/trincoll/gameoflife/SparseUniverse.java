@@ -0,0 +1,187 @@
+package edu.trincoll.gameoflife;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An unbounded Game of Life plane that stores only its live cells.
+ * <p>
+ * Unlike {@link Grid}, there is no edge for gliders and spaceships to die at.
+ * Each live cell is a packed {@code long} (see {@link CellKey}) in an
+ * open-addressing {@link LongHashSet}, and a step accumulates neighbour counts
+ * in a primitive {@link LongIntHashMap}, so no objects are allocated per cell.
+ * Coordinates are {@code int}s and wrap at the {@code int} range, far beyond
+ * anything a run reaches.
+ */
+public final class SparseUniverse {
+
+    private final LongHashSet live;
+
+    public SparseUniverse() {
+        this(new LongHashSet());
+    }
+
+    /**
+     * Wraps a set of packed live cells; the caller hands over ownership of the set.
+     */
+    SparseUniverse(LongHashSet live) {
+        this.live = live;
+    }
+
+    /**
+     * Copies the live cells of a grid; grid cell (row, col) keeps its coordinates.
+     */
+    public static SparseUniverse from(Grid grid) {
+        var live = new LongHashSet(grid.countLiveCells());
+        long[] words = grid.words();
+        int wordsPerRow = grid.wordsPerRow();
+        for (int row = 0; row < grid.getRows(); row++) {
+            for (int i = 0; i < wordsPerRow; i++) {
+                long word = words[row * wordsPerRow + i];
+                while (word != 0) {
+                    live.add(CellKey.pack(row, (i << 6) + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+        }
+        return new SparseUniverse(live);
+    }
+
+    public static SparseUniverse from(Pattern pattern) {
+        return from(pattern.toGrid());
+    }
+
+    public void setCellState(Cell cell, CellState state) {
+        if (state.isAlive()) {
+            live.add(CellKey.of(cell));
+        } else {
+            live.remove(CellKey.of(cell));
+        }
+    }
+
+    public CellState getCellState(Cell cell) {
+        return getCellState(cell.row(), cell.col());
+    }
+
+    public CellState getCellState(int row, int col) {
+        return CellState.fromBoolean(live.contains(CellKey.pack(row, col)));
+    }
+
+    public int countLiveCells() {
+        return live.size();
+    }
+
+    public Set<Cell> getLiveCells() {
+        Set<Cell> cells = new HashSet<>();
+        live.forEach(key -> cells.add(CellKey.toCell(key)));
+        return cells;
+    }
+
+    /**
+     * Computes the next generation. Every live cell adds one to the counter of each
+     * of its eight neighbours; the counters then decide births and survivals.
+     * As with {@link Grid}, births on zero neighbours are never applied.
+     *
+     * @param rules Rules to apply
+     * @return The next generation
+     */
+    public SparseUniverse evolveWith(GameRules rules) {
+        var rule = LifeRule.compile(rules);
+        var counts = new LongIntHashMap(live.size() * 4);
+        live.forEach(key -> {
+            int row = CellKey.row(key);
+            int col = CellKey.col(key);
+            counts.increment(CellKey.pack(row - 1, col - 1));
+            counts.increment(CellKey.pack(row - 1, col));
+            counts.increment(CellKey.pack(row - 1, col + 1));
+            counts.increment(CellKey.pack(row, col - 1));
+            counts.increment(CellKey.pack(row, col + 1));
+            counts.increment(CellKey.pack(row + 1, col - 1));
+            counts.increment(CellKey.pack(row + 1, col));
+            counts.increment(CellKey.pack(row + 1, col + 1));
+        });
+
+        var next = new LongHashSet(live.size());
+        counts.forEach((key, neighbors) -> {
+            if (rule.next(live.contains(key), neighbors)) {
+                next.add(key);
+            }
+        });
+        if ((rule.survivalMask() & 1) != 0) {
+            live.forEach(key -> {
+                if (counts.get(key) == 0) {
+                    next.add(key);
+                }
+            });
+        }
+        return new SparseUniverse(next);
+    }
+
+    /**
+     * Returns the smallest rectangle enclosing every live cell, or empty if none are alive.
+     */
+    public Optional<BoundingBox> boundingBox() {
+        if (live.isEmpty()) {
+            return Optional.empty();
+        }
+        long[] bounds = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE};
+        live.forEach(key -> {
+            int row = CellKey.row(key);
+            int col = CellKey.col(key);
+            bounds[0] = Math.min(bounds[0], row);
+            bounds[1] = Math.min(bounds[1], col);
+            bounds[2] = Math.max(bounds[2], row);
+            bounds[3] = Math.max(bounds[3], col);
+        });
+        return Optional.of(new BoundingBox(bounds[0], bounds[1], bounds[2], bounds[3]));
+    }
+
+    /**
+     * Copies a window of the universe into a new grid.
+     *
+     * @param top Universe row of the grid's row 0
+     * @param left Universe column of the grid's column 0
+     * @param rows Window height
+     * @param cols Window width
+     * @return A grid holding the live cells inside the window
+     */
+    public Grid toGrid(int top, int left, int rows, int cols) {
+        var grid = new Grid(rows, cols);
+        live.forEach(key -> {
+            long row = (long) CellKey.row(key) - top;
+            long col = (long) CellKey.col(key) - left;
+            if (row >= 0 && row < rows && col >= 0 && col < cols) {
+                grid.setCellState(Cell.of((int) row, (int) col), CellState.ALIVE);
+            }
+        });
+        return grid;
+    }
+
+    public SparseUniverse copy() {
+        return new SparseUniverse(new LongHashSet(live));
+    }
+
+    LongHashSet liveKeys() {
+        return live;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof SparseUniverse other)) return false;
+        return live.equals(other.live);
+    }
+
+    @Override
+    public int hashCode() {
+        return live.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return boundingBox()
+            .map(box -> toGrid((int) box.minRow(), (int) box.minCol(), (int) box.height(), (int) box.width()).toString())
+            .orElse("");
+    }
+}
@@ -0,0 +1,275 @@
+package edu.trincoll.gameoflife;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+/**
+ * One worker process of a {@link DistributedEvolution}, owning a vertical strip
+ * of the board.
+ * <p>
+ * The strip is stored like a {@link Grid} two columns wider than its own cells:
+ * column 0 and the last column hold copies of the neighbouring strips' edge
+ * columns. Before every step the worker sends its own edge columns to its
+ * neighbours and writes the ones it receives into those halo columns, so the
+ * whole strip can be stepped by {@link BitKernel#stepRow} as a hard-edged board.
+ * The halo results are then discarded. Both links are exchanged at once through a
+ * {@link Selector}, so neighbours that write before reading never block each other.
+ * <p>
+ * Started by the coordinator with its control address and strip index as
+ * arguments; not meant to be run by hand.
+ */
+public final class StripWorker {
+
+    static final byte READY = 0;
+    static final byte STEP = 1;
+    static final byte COLLECT = 2;
+    static final byte STOP = 3;
+
+    private final int rows;
+    private final int width;
+    private final int words;
+    private final boolean wrapRows;
+    private final int birth;
+    private final int survival;
+    private final long[] interior;
+    private final Link left;
+    private final Link right;
+    private final Selector selector;
+    private long[] current;
+    private long[] next;
+    private boolean changed;
+
+    private StripWorker(DataInputStream in, ServerSocketChannel server) throws IOException {
+        this.rows = in.readInt();
+        this.width = in.readInt();
+        this.wrapRows = in.readBoolean();
+        this.birth = in.readInt();
+        this.survival = in.readInt();
+        var rightPeer = in.readUTF();
+        boolean hasLeft = in.readBoolean();
+        boolean leftTwisted = in.readBoolean();
+        boolean rightTwisted = in.readBoolean();
+
+        this.words = BitKernel.wordsFor(width + 2);
+        this.current = new long[Math.multiplyExact(rows, words)];
+        this.next = new long[current.length];
+        for (int i = 0; i < current.length; i++) {
+            current[i] = in.readLong();
+        }
+        // Columns 1..width are the strip's own cells
+        this.interior = new long[words];
+        for (int col = 1; col <= width; col++) {
+            interior[col >>> 6] |= 1L << col;
+        }
+
+        this.selector = Selector.open();
+        // Connect before accepting: a connection completes in the backlog, so a ring cannot deadlock
+        this.right = rightPeer.isEmpty() ? null
+            : new Link(SocketChannel.open(DistributedEvolution.Transport.parse(rightPeer)), rows, rightTwisted);
+        this.left = hasLeft ? new Link(server.accept(), rows, leftTwisted) : null;
+        for (var link : new Link[] {left, right}) {
+            if (link != null) {
+                link.channel.configureBlocking(false);
+                link.key = link.channel.register(selector, 0, link);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        try {
+            run(args[0], Integer.parseInt(args[1]));
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    private static void run(String coordinatorAddress, int index) throws IOException {
+        var address = DistributedEvolution.Transport.parse(coordinatorAddress);
+        var transport = coordinatorAddress.startsWith("unix:")
+            ? DistributedEvolution.Transport.UNIX_DOMAIN : DistributedEvolution.Transport.TCP;
+        var directory = transport == DistributedEvolution.Transport.UNIX_DOMAIN
+            ? Path.of(coordinatorAddress.substring(5)).getParent() : null;
+        try (var coordinator = SocketChannel.open(address);
+             var server = transport.openServer(directory, "worker-" + index)) {
+            var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(coordinator)));
+            var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(coordinator)));
+            out.writeInt(index);
+            out.writeUTF(DistributedEvolution.Transport.describe(server.getLocalAddress()));
+            out.flush();
+
+            var worker = new StripWorker(in, server);
+            out.writeByte(READY);
+            out.flush();
+            worker.serve(in, out);
+        }
+    }
+
+    private void serve(DataInputStream in, DataOutputStream out) throws IOException {
+        try {
+            while (true) {
+                switch (in.readByte()) {
+                    case STEP -> {
+                        long population = step();
+                        out.writeLong(population);
+                        out.writeBoolean(changed);
+                        out.flush();
+                    }
+                    case COLLECT -> {
+                        for (int i = 0; i < current.length; i++) {
+                            out.writeLong(current[i] & interior[i % words]);
+                        }
+                        out.flush();
+                    }
+                    case STOP -> {
+                        return;
+                    }
+                    default -> throw new IOException("Unknown command from coordinator");
+                }
+            }
+        } finally {
+            for (var link : new Link[] {left, right}) {
+                if (link != null) {
+                    link.channel.close();
+                }
+            }
+            selector.close();
+        }
+    }
+
+    /**
+     * Exchanges halos, steps the strip and returns its population.
+     */
+    private long step() throws IOException {
+        exchangeHalos();
+        long lastMask = BitKernel.lastWordMask(width + 2);
+        long population = 0;
+        boolean anyChange = false;
+        for (int row = 0; row < rows; row++) {
+            int offset = row * words;
+            int above = row > 0 ? offset - words : wrapRows ? (rows - 1) * words : -1;
+            int below = row < rows - 1 ? offset + words : wrapRows ? 0 : -1;
+            BitKernel.stepRow(current, above, offset, below, next, offset, words, lastMask, birth, survival);
+            for (int w = 0; w < words; w++) {
+                long cells = next[offset + w] & interior[w];
+                next[offset + w] = cells;
+                population += Long.bitCount(cells);
+                anyChange |= cells != (current[offset + w] & interior[w]);
+            }
+        }
+        var swap = current;
+        current = next;
+        next = swap;
+        changed = anyChange;
+        return population;
+    }
+
+    private void exchangeHalos() throws IOException {
+        if (left != null) {
+            left.start(current, words, 1);
+        }
+        if (right != null) {
+            right.start(current, words, width);
+        }
+        int pending = (left != null ? 1 : 0) + (right != null ? 1 : 0);
+        while (pending > 0) {
+            selector.select();
+            for (var key : selector.selectedKeys()) {
+                var link = (Link) key.attachment();
+                if (key.isWritable()) {
+                    link.channel.write(link.out);
+                }
+                if (key.isReadable() && link.channel.read(link.in) < 0) {
+                    throw new EOFException("A neighbouring worker closed its halo link");
+                }
+                if (link.update()) {
+                    pending--;
+                }
+            }
+            selector.selectedKeys().clear();
+        }
+        if (left != null) {
+            left.finish(current, words, 0);
+        }
+        if (right != null) {
+            right.finish(current, words, width + 1);
+        }
+    }
+
+    /**
+     * A link to one neighbouring strip, with the column being sent and the one
+     * being received as bit vectors of one bit per row.
+     */
+    private static final class Link {
+
+        private final SocketChannel channel;
+        private final int rows;
+        private final boolean twisted;
+        private final ByteBuffer out;
+        private final ByteBuffer in;
+        private SelectionKey key;
+
+        Link(SocketChannel channel, int rows, boolean twisted) {
+            this.channel = channel;
+            this.rows = rows;
+            this.twisted = twisted;
+            int bytes = BitKernel.wordsFor(rows) * Long.BYTES;
+            this.out = ByteBuffer.allocateDirect(bytes);
+            this.in = ByteBuffer.allocateDirect(bytes);
+        }
+
+        /**
+         * Packs column {@code col} of the strip for sending and waits for both directions.
+         */
+        void start(long[] strip, int words, int col) {
+            out.clear();
+            long word = 0;
+            for (int row = 0; row < rows; row++) {
+                word |= ((strip[row * words + (col >>> 6)] >>> col) & 1L) << row;
+                if ((row & 63) == 63 || row == rows - 1) {
+                    out.putLong(word);
+                    word = 0;
+                }
+            }
+            out.flip();
+            in.clear();
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+
+        /**
+         * Drops interest in finished directions.
+         *
+         * @return whether the link finished during this call
+         */
+        boolean update() {
+            int ops = (out.hasRemaining() ? SelectionKey.OP_WRITE : 0) | (in.hasRemaining() ? SelectionKey.OP_READ : 0);
+            key.interestOps(ops);
+            return ops == 0;
+        }
+
+        /**
+         * Writes the received column into halo column {@code col}, upside down
+         * across a Klein bottle's twisted seam.
+         */
+        void finish(long[] strip, int words, int col) {
+            long bit = 1L << col;
+            for (int row = 0; row < rows; row++) {
+                int source = twisted ? rows - 1 - row : row;
+                boolean alive = ((in.getLong((source >>> 6) * Long.BYTES) >>> source) & 1L) != 0;
+                int index = row * words + (col >>> 6);
+                strip[index] = alive ? strip[index] | bit : strip[index] & ~bit;
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package edu.trincoll.gameoflife;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An unbounded plane divided into 64x64 tiles, each a bitboard of 64 row words.
+ * <p>
+ * Tiles live in a primitive {@link LongObjectHashMap} keyed by packed tile
+ * coordinates; they are allocated when a cell is born in them and dropped when
+ * they empty out. Every step remembers which tiles changed. A tile whose own
+ * cells and whose eight neighbours' cells all stayed the same cannot change
+ * either, so it is skipped without being read, and settled regions cost nothing.
+ * <p>
+ * Active tiles are stepped from the current generation only and write to fresh
+ * arrays, so they are independent work units: {@link #stepParallel(ForkJoinPool)}
+ * hands them to a fork/join pool and gives the same result as {@link #step()}.
+ * <p>
+ * Under a {@link ProbabilisticRule} a cell can change even when its
+ * neighbourhood did not, so every tile holding live cells and its neighbours
+ * are stepped each generation; the coins depend only on the cell and the
+ * generation, so the result matches {@link Grid} for the same seed.
+ */
+public final class TiledUniverse {
+
+    static final int TILE_SHIFT = 6;
+    static final int TILE_SIZE = 1 << TILE_SHIFT;
+    private static final int TILES_PER_TASK = 8;
+    private static final long[] EMPTY_TILE = new long[TILE_SIZE];
+
+    private final LifeRule rule;
+    private final ProbabilisticRule random;
+    private final LongObjectHashMap<long[]> tiles = new LongObjectHashMap<>();
+    private LongHashSet changed = new LongHashSet();
+    private long population;
+    private long generation;
+    private int lastSteppedTiles;
+
+    private TiledUniverse(GameRules rules) {
+        this.random = rules instanceof ProbabilisticRule probabilistic ? probabilistic : null;
+        this.rule = random != null ? random.base() : LifeRule.compile(rules);
+    }
+
+    /**
+     * Copies a grid's live cells, keeping their coordinates and the grid's generation number.
+     */
+    public static TiledUniverse from(Grid grid, GameRules rules) {
+        var tiled = from(SparseUniverse.from(grid), rules);
+        tiled.generation = grid.getGeneration();
+        return tiled;
+    }
+
+    public static TiledUniverse from(SparseUniverse universe, GameRules rules) {
+        var tiled = new TiledUniverse(rules);
+        universe.liveKeys().forEach(key -> tiled.setAlive(CellKey.row(key), CellKey.col(key), true));
+        return tiled;
+    }
+
+    public static TiledUniverse from(Pattern pattern, GameRules rules) {
+        return from(pattern.toGrid(), rules);
+    }
+
+    /**
+     * Advances one generation, skipping tiles whose neighbourhood did not change.
+     */
+    public void step() {
+        long[] active = activeTiles();
+        long[][] results = new long[active.length][];
+        for (int i = 0; i < active.length; i++) {
+            results[i] = stepTile(active[i]);
+        }
+        apply(active, results);
+    }
+
+    /**
+     * Advances one generation, stepping the active tiles as fork/join tasks.
+     *
+     * @param pool The pool that runs the tile tasks
+     */
+    public void stepParallel(ForkJoinPool pool) {
+        long[] active = activeTiles();
+        long[][] results = new long[active.length][];
+        pool.invoke(new TileTask(active, results, 0, active.length));
+        apply(active, results);
+    }
+
+    /**
+     * Advances several generations.
+     */
+    public void step(int generations) {
+        for (int i = 0; i < generations; i++) {
+            step();
+        }
+    }
+
+    public CellState getCellState(Cell cell) {
+        return getCellState(cell.row(), cell.col());
+    }
+
+    public CellState getCellState(int row, int col) {
+        long[] tile = tiles.get(tileKey(row, col));
+        return CellState.fromBoolean(tile != null && (tile[row & (TILE_SIZE - 1)] & (1L << col)) != 0);
+    }
+
+    public void setCellState(Cell cell, CellState state) {
+        setAlive(cell.row(), cell.col(), state.isAlive());
+    }
+
+    public long countLiveCells() {
+        return population;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Number of tiles holding at least one live cell.
+     */
+    public int tileCount() {
+        return tiles.size();
+    }
+
+    public SparseUniverse toSparseUniverse() {
+        var universe = new SparseUniverse();
+        tiles.forEach((key, tile) -> {
+            int top = CellKey.row(key) << TILE_SHIFT;
+            int left = CellKey.col(key) << TILE_SHIFT;
+            for (int r = 0; r < TILE_SIZE; r++) {
+                long word = tile[r];
+                while (word != 0) {
+                    universe.setCellState(Cell.of(top + r, left + Long.numberOfTrailingZeros(word)), CellState.ALIVE);
+                    word &= word - 1;
+                }
+            }
+        });
+        return universe;
+    }
+
+    /**
+     * Number of tiles stepped in the last generation; all others were skipped.
+     */
+    int lastSteppedTiles() {
+        return lastSteppedTiles;
+    }
+
+    private void setAlive(int row, int col, boolean alive) {
+        long key = tileKey(row, col);
+        long[] tile = tiles.get(key);
+        if (tile == null) {
+            if (!alive) {
+                return;
+            }
+            tile = new long[TILE_SIZE];
+            tiles.put(key, tile);
+        }
+        int r = row & (TILE_SIZE - 1);
+        long bit = 1L << col;
+        if (((tile[r] & bit) != 0) == alive) {
+            return;
+        }
+        tile[r] ^= bit;
+        population += alive ? 1 : -1;
+        changed.add(key);
+        if (!alive && isEmpty(tile)) {
+            tiles.remove(key);
+        }
+    }
+
+    /**
+     * Tiles that changed last generation plus their neighbours, which are the
+     * only tiles that can change in the next one; under a probabilistic rule,
+     * every occupied tile plus its neighbours.
+     */
+    private long[] activeTiles() {
+        long[] sources = random == null ? changed.toArray() : tiles.keys();
+        var active = new LongHashSet(sources.length * 9);
+        for (long key : sources) {
+            int tileRow = CellKey.row(key);
+            int tileCol = CellKey.col(key);
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    active.add(CellKey.pack(tileRow + dr, tileCol + dc));
+                }
+            }
+        }
+        return active.toArray();
+    }
+
+    /**
+     * Computes the next generation of one tile from the current generation of it
+     * and its eight neighbours.
+     */
+    private long[] stepTile(long key) {
+        int tileRow = CellKey.row(key);
+        int tileCol = CellKey.col(key);
+        long[] center = tileAt(tileRow, tileCol);
+        long[] north = tileAt(tileRow - 1, tileCol);
+        long[] south = tileAt(tileRow + 1, tileCol);
+        long[] west = tileAt(tileRow, tileCol - 1);
+        long[] east = tileAt(tileRow, tileCol + 1);
+        long[] northWest = tileAt(tileRow - 1, tileCol - 1);
+        long[] northEast = tileAt(tileRow - 1, tileCol + 1);
+        long[] southWest = tileAt(tileRow + 1, tileCol - 1);
+        long[] southEast = tileAt(tileRow + 1, tileCol + 1);
+
+        int birth = rule.birthMask();
+        int survival = rule.survivalMask();
+        long[] next = new long[TILE_SIZE];
+        for (int r = 0; r < TILE_SIZE; r++) {
+            boolean top = r == 0;
+            boolean bottom = r == TILE_SIZE - 1;
+            long above = top ? north[TILE_SIZE - 1] : center[r - 1];
+            long aboveWest = top ? northWest[TILE_SIZE - 1] : west[r - 1];
+            long aboveEast = top ? northEast[TILE_SIZE - 1] : east[r - 1];
+            long below = bottom ? south[0] : center[r + 1];
+            long belowWest = bottom ? southWest[0] : west[r + 1];
+            long belowEast = bottom ? southEast[0] : east[r + 1];
+            long row = center[r];
+
+            next[r] = BitKernel.evolve(
+                BitKernel.west(above, aboveWest), above, BitKernel.east(above, aboveEast),
+                BitKernel.west(row, west[r]), row, BitKernel.east(row, east[r]),
+                BitKernel.west(below, belowWest), below, BitKernel.east(below, belowEast),
+                birth, survival);
+            if (random != null) {
+                next[r] = random.sample(generation + 1, (tileRow << TILE_SHIFT) + r, tileCol << TILE_SHIFT, row, next[r]);
+            }
+        }
+        return next;
+    }
+
+    private void apply(long[] active, long[][] results) {
+        var nowChanged = new LongHashSet();
+        for (int i = 0; i < active.length; i++) {
+            long key = active[i];
+            long[] before = tiles.get(key);
+            long[] after = results[i];
+            boolean empty = isEmpty(after);
+            if (before == null ? empty : Arrays.equals(before, after)) {
+                continue;
+            }
+            nowChanged.add(key);
+            population += BitKernel.bitCount(after, 0, TILE_SIZE)
+                - (before == null ? 0 : BitKernel.bitCount(before, 0, TILE_SIZE));
+            if (empty) {
+                tiles.remove(key);
+            } else {
+                tiles.put(key, after);
+            }
+        }
+        changed = nowChanged;
+        lastSteppedTiles = active.length;
+        generation++;
+    }
+
+    private long[] tileAt(int tileRow, int tileCol) {
+        long[] tile = tiles.get(CellKey.pack(tileRow, tileCol));
+        return tile == null ? EMPTY_TILE : tile;
+    }
+
+    private static long tileKey(int row, int col) {
+        return CellKey.pack(row >> TILE_SHIFT, col >> TILE_SHIFT);
+    }
+
+    private static boolean isEmpty(long[] tile) {
+        for (long word : tile) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final class TileTask extends RecursiveAction {
+        private final long[] keys;
+        private final long[][] results;
+        private final int from;
+        private final int to;
+
+        TileTask(long[] keys, long[][] results, int from, int to) {
+            this.keys = keys;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= TILES_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    results[i] = stepTile(keys[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new TileTask(keys, results, from, middle), new TileTask(keys, results, middle, to));
+        }
+    }
+}
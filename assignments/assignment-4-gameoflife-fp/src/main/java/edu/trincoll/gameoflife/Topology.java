@@ -0,0 +1,29 @@
+package edu.trincoll.gameoflife;
+
+/**
+ * How the edges of a bounded {@link Grid} are joined.
+ * <p>
+ * An unbounded plane is not a grid topology: use {@link SparseUniverse},
+ * {@link TiledUniverse} or {@link HashLife} for patterns that must never meet
+ * an edge.
+ */
+public enum Topology {
+
+    /**
+     * Hard edges: cells outside the grid are permanently dead.
+     */
+    BOUNDED,
+
+    /**
+     * Opposite edges are joined, so leaving the right edge re-enters on the left
+     * in the same row, and leaving the bottom re-enters at the top.
+     */
+    TORUS,
+
+    /**
+     * Top and bottom are joined as on a torus, but the left and right edges are
+     * joined with a twist: leaving the right edge in row {@code r} re-enters on
+     * the left in row {@code rows - 1 - r}.
+     */
+    KLEIN_BOTTLE
+}
@@ -0,0 +1,73 @@
+package edu.trincoll.gameoflife;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD step for {@link DenseByteGrid} using the incubating Vector API.
+ * <p>
+ * Only loaded once {@link DenseByteGrid} has checked that the
+ * {@code jdk.incubator.vector} module is present, so the rest of the code runs
+ * without {@code --add-modules}.
+ */
+final class VectorByteKernel {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    private VectorByteKernel() {
+    }
+
+    /**
+     * Steps a padded board, one vector of cells at a time.
+     *
+     * @return the population of the new generation
+     */
+    static int step(byte[] src, byte[] dst, int rows, int cols, int birth, int survival) {
+        int stride = cols + 2;
+        int lanes = SPECIES.length();
+        int bound = SPECIES.loopBound(cols);
+        var zero = ByteVector.zero(SPECIES);
+        var one = ByteVector.broadcast(SPECIES, (byte) 1);
+        long population = 0;
+
+        for (int row = 1; row <= rows; row++) {
+            int above = (row - 1) * stride;
+            int middle = row * stride;
+            int below = (row + 1) * stride;
+            int col = 1;
+            for (; col <= bound; col += lanes) {
+                var sum = ByteVector.fromArray(SPECIES, src, above + col - 1)
+                    .add(ByteVector.fromArray(SPECIES, src, above + col))
+                    .add(ByteVector.fromArray(SPECIES, src, above + col + 1))
+                    .add(ByteVector.fromArray(SPECIES, src, middle + col - 1))
+                    .add(ByteVector.fromArray(SPECIES, src, middle + col + 1))
+                    .add(ByteVector.fromArray(SPECIES, src, below + col - 1))
+                    .add(ByteVector.fromArray(SPECIES, src, below + col))
+                    .add(ByteVector.fromArray(SPECIES, src, below + col + 1));
+                var alive = ByteVector.fromArray(SPECIES, src, middle + col).compare(VectorOperators.NE, 0);
+
+                VectorMask<Byte> next = SPECIES.maskAll(false);
+                for (int count = 0; count <= 8; count++) {
+                    boolean born = count != 0 && (birth & (1 << count)) != 0;
+                    boolean survives = (survival & (1 << count)) != 0;
+                    if (!born && !survives) {
+                        continue;
+                    }
+                    var equal = sum.compare(VectorOperators.EQ, (byte) count);
+                    if (!born) {
+                        equal = equal.and(alive);
+                    } else if (!survives) {
+                        equal = equal.andNot(alive);
+                    }
+                    next = next.or(equal);
+                }
+                zero.blend(one, next).intoArray(dst, middle + col);
+                population += next.trueCount();
+            }
+            population += ScalarByteKernel.stepCells(src, dst, stride, row, col, cols, birth, survival);
+        }
+        return (int) population;
+    }
+}
@@ -0,0 +1,79 @@
+package edu.trincoll.gameoflife;
+
+/**
+ * Zobrist-style hashing of cell sets: the hash of a board is the XOR of a
+ * pseudo-random value per live cell. Because XOR is its own inverse, the hash of
+ * the next generation is the current hash XOR the values of the changed cells,
+ * so it can be maintained incrementally. Cell values come from a mixing function
+ * of the packed coordinate, so no table is needed for unbounded boards.
+ */
+final class ZobristHash {
+
+    private static final long SALT = 0x5DEE_CE66_D1CE_4E5BL;
+
+    private ZobristHash() {
+    }
+
+    static long cell(int row, int col) {
+        return CellKey.mix(CellKey.pack(row, col) ^ SALT);
+    }
+
+    static long of(Grid grid) {
+        long hash = 0L;
+        long[] words = grid.words();
+        int wordsPerRow = grid.wordsPerRow();
+        for (int index = 0; index < words.length; index++) {
+            hash ^= wordHash(words[index], index / wordsPerRow, (index % wordsPerRow) << 6);
+        }
+        return hash;
+    }
+
+    static long of(SparseUniverse universe) {
+        long[] hash = {0L};
+        universe.liveKeys().forEach(key -> hash[0] ^= cell(CellKey.row(key), CellKey.col(key)));
+        return hash[0];
+    }
+
+    /**
+     * Returns the XOR of the values of every cell that differs between two grids of
+     * the same size, so that {@code of(after) == of(before) ^ delta(before, after)}.
+     */
+    static long delta(Grid before, Grid after) {
+        long hash = 0L;
+        long[] from = before.words();
+        long[] to = after.words();
+        int wordsPerRow = before.wordsPerRow();
+        for (int index = 0; index < from.length; index++) {
+            long changed = from[index] ^ to[index];
+            if (changed != 0) {
+                hash ^= wordHash(changed, index / wordsPerRow, (index % wordsPerRow) << 6);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes the live cells relative to their bounding box, so every translation
+     * of a pattern has the same hash.
+     */
+    static long normalized(SparseUniverse universe) {
+        var box = universe.boundingBox();
+        if (box.isEmpty()) {
+            return 0L;
+        }
+        int top = (int) box.get().minRow();
+        int left = (int) box.get().minCol();
+        long[] hash = {0L};
+        universe.liveKeys().forEach(key -> hash[0] ^= cell(CellKey.row(key) - top, CellKey.col(key) - left));
+        return hash[0];
+    }
+
+    private static long wordHash(long word, int row, int firstCol) {
+        long hash = 0L;
+        while (word != 0) {
+            hash ^= cell(row, firstCol + Long.numberOfTrailingZeros(word));
+            word &= word - 1;
+        }
+        return hash;
+    }
+}
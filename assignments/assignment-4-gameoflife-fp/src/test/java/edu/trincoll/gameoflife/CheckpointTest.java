@@ -0,0 +1,160 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CheckpointTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @EnumSource(Topology.class)
+    @DisplayName("Restores cells, size, topology, generation and rule")
+    void roundTrips(Topology topology) throws IOException {
+        var grid = GridTest.randomGrid(77, 150, 0.3, 25L).withTopology(topology);
+        for (int i = 0; i < 7; i++) {
+            grid = grid.evolveWith(GameRules.highLife());
+        }
+        var file = directory.resolve("run.ckpt");
+
+        Checkpoint.save(grid, GameRules.highLife(), file);
+        var snapshot = Checkpoint.load(file);
+
+        assertThat(snapshot.grid()).isEqualTo(grid);
+        assertThat(snapshot.grid().getGeneration()).isEqualTo(7);
+        assertThat(snapshot.grid().countLiveCells()).isEqualTo(grid.countLiveCells());
+        assertThat(snapshot.rules()).isEqualTo(LifeRule.parse("B36/S23"));
+        assertThat(Files.exists(directory.resolve("run.ckpt.tmp"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("A resumed probabilistic run continues exactly as the original")
+    void resumesProbabilisticRun() throws IOException {
+        var rule = ProbabilisticRule.of(GameRules.conway(), 0.95, 0.9, 77L);
+        var grid = GridTest.randomGrid(64, 64, 0.4, 26L).withTopology(Topology.TORUS);
+        for (int i = 0; i < 5; i++) {
+            grid = grid.evolveWith(rule);
+        }
+        var file = directory.resolve("random.ckpt");
+        Checkpoint.save(grid, rule, file);
+
+        var snapshot = Checkpoint.load(file);
+        var restored = (ProbabilisticRule) snapshot.rules();
+        assertThat(restored.seed()).isEqualTo(77L);
+        assertThat(restored.base()).isEqualTo(LifeRule.CONWAY);
+        assertThat(restored.survivalProbability()).isEqualTo(0.95);
+        assertThat(restored.birthProbability()).isEqualTo(0.9);
+
+        var resumed = snapshot.grid();
+        for (int i = 0; i < 10; i++) {
+            grid = grid.evolveWith(rule);
+            resumed = resumed.evolveWith(restored);
+        }
+        assertThat(resumed).isEqualTo(grid);
+    }
+
+    @Test
+    @DisplayName("Sparse boards take a few bytes per run of empty words")
+    void compressesEmptySpace() throws IOException {
+        var grid = new Grid(2000, 2000);
+        Pattern.GLIDER.toGrid().getLiveCells().forEach(cell ->
+            grid.setCellState(Cell.of(cell.row() + 1000, cell.col() + 1000), CellState.ALIVE));
+        var file = directory.resolve("sparse.ckpt");
+
+        Checkpoint.save(grid, GameRules.conway(), file);
+
+        assertThat(Files.size(file)).isLessThan(200);
+        assertThat(Checkpoint.load(file).grid()).isEqualTo(grid);
+    }
+
+    @Test
+    @DisplayName("Dense soups stay close to one bit per cell")
+    void storesDenseSoups() throws IOException {
+        var grid = GridTest.randomGrid(1000, 1000, 0.5, 27L);
+        var file = directory.resolve("dense.ckpt");
+
+        Checkpoint.save(grid, GameRules.conway(), file);
+
+        assertThat(Files.size(file)).isLessThan(1000L * 16 * Long.BYTES + 1024);
+        assertThat(Checkpoint.load(file).grid()).isEqualTo(grid);
+    }
+
+    @Test
+    @DisplayName("Damaged, truncated and foreign files are rejected")
+    void rejectsDamagedFiles() throws IOException {
+        var file = directory.resolve("damaged.ckpt");
+        Checkpoint.save(GridTest.randomGrid(100, 100, 0.3, 28L), GameRules.conway(), file);
+        long size = Files.size(file);
+
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            var one = ByteBuffer.allocate(1);
+            channel.read(one, size / 2);
+            one.put(0, (byte) (one.get(0) ^ 0x10)).rewind();
+            channel.write(one, size / 2);
+        }
+        assertThatThrownBy(() -> Checkpoint.load(file))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("checksum");
+
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 100);
+        }
+        assertThatThrownBy(() -> Checkpoint.load(file)).isInstanceOf(IllegalArgumentException.class);
+
+        var text = directory.resolve("text.ckpt");
+        Files.writeString(text, "x = 3, y = 3\nbo$2bo$3o!\n");
+        assertThatThrownBy(() -> Checkpoint.load(text))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Not a checkpoint");
+    }
+
+    @Test
+    @DisplayName("Headers claiming more cells than the file holds are rejected before allocating")
+    void rejectsOversizedHeaders() throws IOException {
+        var file = directory.resolve("oversized.ckpt");
+        for (int side : new int[] {100_000, Integer.MAX_VALUE}) {
+            Checkpoint.save(GridTest.randomGrid(20, 20, 0.3, 29L), GameRules.conway(), file);
+            try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                // Rows and columns follow the magic and the version
+                var size = ByteBuffer.allocate(2 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                size.putInt(side).putInt(side).flip();
+                channel.write(size, 6);
+            }
+            assertThatThrownBy(() -> Checkpoint.load(file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Damaged checkpoint header");
+        }
+    }
+
+    @Test
+    @DisplayName("A failed save leaves no temporary file and keeps the old checkpoint")
+    void cleansUpFailedSave() throws IOException {
+        var file = directory.resolve("kept.ckpt");
+        var grid = GridTest.randomGrid(30, 30, 0.3, 30L);
+        Checkpoint.save(grid, GameRules.conway(), file);
+        GameRules broken = (current, neighbors) -> {
+            throw new IllegalStateException("broken rule");
+        };
+
+        assertThatThrownBy(() -> Checkpoint.save(grid.evolveWith(GameRules.conway()), broken, file))
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(Files.exists(directory.resolve("kept.ckpt.tmp"))).isFalse();
+        assertThat(Checkpoint.load(file).grid()).isEqualTo(grid);
+    }
+}
@@ -0,0 +1,115 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassificationCacheTest {
+
+    private static final GameRules CONWAY = GameRules.conway();
+
+    private final PatternTransformer transformer = new PatternTransformer();
+
+    @Test
+    @DisplayName("All symmetric and translated copies share one canonical form")
+    void canonicalFormIgnoresSymmetry() {
+        var glider = Pattern.GLIDER.toGrid();
+        var canonical = CanonicalForm.of(glider);
+
+        var shifted = new Grid(10, 12);
+        glider.getLiveCells().forEach(cell -> shifted.setCellState(Cell.of(cell.row() + 4, cell.col() + 7), CellState.ALIVE));
+        var variant = shifted;
+        for (int turn = 0; turn < 4; turn++) {
+            variant = transformer.rotate90(variant);
+            assertThat(CanonicalForm.of(variant)).isEqualTo(canonical);
+            assertThat(CanonicalForm.of(transformer.flipVertical(variant))).isEqualTo(canonical);
+        }
+        assertThat(CanonicalForm.of(Pattern.BEEHIVE.toGrid())).isNotEqualTo(canonical);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Pattern.class, names = {"BLOCK", "BEEHIVE", "BLINKER", "TOAD", "BEACON", "GLIDER", "LIGHTWEIGHT_SPACESHIP"})
+    @DisplayName("Cached classification matches the detector")
+    void matchesDetector(Pattern pattern) {
+        var cache = new ClassificationCache();
+        var grid = pattern.toGrid();
+
+        assertThat(cache.classify(grid, CONWAY, 25).type())
+            .isEqualTo(new PatternDetector().classifyPattern(grid, CONWAY, 25));
+    }
+
+    @Test
+    @DisplayName("A rotated copy is answered from the cache")
+    void rotatedCopyHits() {
+        var cache = new ClassificationCache();
+        var detector = new PatternDetector(cache);
+
+        assertThat(detector.classifyPattern(Pattern.LIGHTWEIGHT_SPACESHIP.toGrid(), CONWAY, 25))
+            .isEqualTo(PatternDetector.PatternType.SPACESHIP);
+        assertThat(detector.classifyPattern(transformer.rotate90(Pattern.LIGHTWEIGHT_SPACESHIP.toGrid()), CONWAY, 25))
+            .isEqualTo(PatternDetector.PatternType.SPACESHIP);
+
+        assertThat(cache.misses()).isEqualTo(1);
+        assertThat(cache.hits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Records period and heat")
+    void periodAndHeat() {
+        var cache = new ClassificationCache();
+
+        assertThat(cache.classify(Pattern.BLINKER.toGrid(), CONWAY, 10))
+            .isEqualTo(new ClassificationCache.Classification(PatternDetector.PatternType.OSCILLATOR, 2, 4.0));
+        assertThat(cache.classify(Pattern.BLOCK.toGrid(), CONWAY, 10))
+            .isEqualTo(new ClassificationCache.Classification(PatternDetector.PatternType.STILL_LIFE, 1, 0.0));
+        assertThat(cache.classify(Pattern.GLIDER.toGrid(), CONWAY, 10).period()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Unknown results are recomputed for a larger budget")
+    void unknownDependsOnBudget() {
+        var cache = new ClassificationCache();
+
+        assertThat(cache.classify(Pattern.GLIDER.toGrid(), CONWAY, 3).type())
+            .isEqualTo(PatternDetector.PatternType.UNKNOWN);
+        assertThat(cache.classify(Pattern.GLIDER.toGrid(), CONWAY, 10).type())
+            .isEqualTo(PatternDetector.PatternType.SPACESHIP);
+        assertThat(cache.misses()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Evicts the least recently used shape")
+    void evictsLeastRecentlyUsed() {
+        var cache = new ClassificationCache(2);
+        cache.classify(Pattern.BLOCK.toGrid(), CONWAY, 10);
+        cache.classify(Pattern.BLINKER.toGrid(), CONWAY, 10);
+        cache.classify(Pattern.BLOCK.toGrid(), CONWAY, 10);
+
+        cache.classify(Pattern.BEEHIVE.toGrid(), CONWAY, 10);
+        cache.classify(Pattern.BLOCK.toGrid(), CONWAY, 10);
+        cache.classify(Pattern.BLINKER.toGrid(), CONWAY, 10);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.hits()).isEqualTo(2);
+        assertThat(cache.misses()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Grids with joined edges are classified on their own board")
+    void keepsTopology() {
+        // A glider on an 8x8 torus returns to its start after 32 generations
+        var board = new Grid(8, 8, Topology.TORUS);
+        Pattern.GLIDER.toGrid().getLiveCells().forEach(cell -> board.setCellState(cell, CellState.ALIVE));
+        var cached = new PatternDetector(new ClassificationCache(100));
+
+        assertThat(new PatternDetector().classifyPattern(board, CONWAY, 100))
+            .isEqualTo(PatternDetector.PatternType.OSCILLATOR);
+        assertThat(cached.classifyPattern(board, CONWAY, 100))
+            .isEqualTo(PatternDetector.PatternType.OSCILLATOR);
+        assertThat(cached.classifyPattern(Pattern.GLIDER.toGrid(), CONWAY, 100))
+            .isEqualTo(PatternDetector.PatternType.SPACESHIP);
+    }
+}
@@ -0,0 +1,87 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CycleDetectorTest {
+
+    private static final GameRules CONWAY = GameRules.conway();
+
+    private final CycleDetector detector = new CycleDetector();
+
+    @ParameterizedTest(name = "seed {0}")
+    @ValueSource(longs = {1, 2, 3, 4, 5, 6, 7, 8})
+    @DisplayName("Finds the same transient and period as storing every generation")
+    void matchesBruteForce(long seed) {
+        var soup = GridTest.randomGrid(8, 8, 0.4, seed);
+
+        List<Grid> history = new ArrayList<>();
+        var current = soup;
+        while (!history.contains(current)) {
+            history.add(current);
+            current = current.evolveWith(CONWAY);
+        }
+        int transientLength = history.indexOf(current);
+        int period = history.size() - transientLength;
+
+        assertThat(detector.detect(soup, CONWAY, 500))
+            .hasValue(new CycleDetector.Cycle(transientLength, period));
+    }
+
+    @Test
+    @DisplayName("Reports a transient before the cycle starts")
+    void detectsTransient() {
+        var preBlock = new Grid("""
+            ....
+            .**.
+            .*..
+            ....
+            """);
+
+        assertThat(detector.detect(preBlock, CONWAY, 10)).hasValue(new CycleDetector.Cycle(1, 1));
+    }
+
+    @Test
+    @DisplayName("Gives up when the cycle is longer than the budget")
+    void respectsBudget() {
+        var pentadecathlonSeed = new Grid(20, 20);
+        for (int col = 5; col < 15; col++) {
+            pentadecathlonSeed.setCellState(Cell.of(10, col), CellState.ALIVE);
+        }
+
+        assertThat(detector.detect(pentadecathlonSeed, CONWAY, 10)).isEmpty();
+        assertThat(detector.detect(pentadecathlonSeed, CONWAY, 100))
+            .map(CycleDetector.Cycle::period)
+            .hasValue(15);
+    }
+
+    @Test
+    @DisplayName("Incremental hashes match hashes computed from scratch")
+    void incrementalHashMatches() {
+        var before = GridTest.randomGrid(30, 70, 0.3, 11L);
+        var after = before.evolveWith(CONWAY);
+
+        assertThat(ZobristHash.of(before) ^ ZobristHash.delta(before, after))
+            .isEqualTo(ZobristHash.of(after));
+    }
+
+    @Test
+    @DisplayName("Detects the glider's period and displacement")
+    void detectsGlider() {
+        assertThat(detector.detectSpaceship(Pattern.GLIDER.toGrid(), CONWAY, 10))
+            .hasValue(new CycleDetector.Spaceship(4, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Oscillators are not spaceships")
+    void oscillatorIsNotSpaceship() {
+        assertThat(detector.detectSpaceship(Pattern.BLINKER.toGrid(), CONWAY, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,66 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DenseByteGridTest {
+
+    private static final GameRules CONWAY = GameRules.conway();
+
+    @Test
+    @DisplayName("The test JVM runs with the Vector API module")
+    void vectorApiEnabledForTests() {
+        assertThat(DenseByteGrid.isVectorApiAvailable()).isTrue();
+        assertThat(DenseByteGrid.from(new Grid(3, 3)).isVectorized()).isTrue();
+    }
+
+    @ParameterizedTest(name = "{0}x{1}")
+    @CsvSource({"1, 1", "7, 13", "64, 64", "50, 131", "129, 65"})
+    @DisplayName("Vector and scalar kernels match the packed grid")
+    void matchesGrid(int rows, int cols) {
+        var grid = GridTest.randomGrid(rows, cols, 0.4, rows * 31L + cols);
+        var vector = DenseByteGrid.from(grid, true);
+        var scalar = DenseByteGrid.from(grid, false);
+
+        for (int generation = 0; generation < 30; generation++) {
+            grid = grid.evolveWith(CONWAY);
+            vector.step(CONWAY);
+            scalar.step(CONWAY);
+        }
+
+        assertThat(vector.toGrid()).isEqualTo(grid);
+        assertThat(scalar.toGrid()).isEqualTo(grid);
+        assertThat(vector.countLiveCells()).isEqualTo(grid.countLiveCells());
+    }
+
+    @Test
+    @DisplayName("Applies rules other than Conway's")
+    void appliesCustomRules() {
+        var grid = GridTest.randomGrid(40, 90, 0.3, 8L);
+        var dense = DenseByteGrid.from(grid);
+        var rules = GameRules.highLife();
+
+        dense.step(rules, 10);
+        for (int generation = 0; generation < 10; generation++) {
+            grid = grid.evolveWith(rules);
+        }
+
+        assertThat(dense.toGrid()).isEqualTo(grid);
+    }
+
+    @Test
+    @DisplayName("Edge cells see dead neighbours outside the board")
+    void edgesAreDead() {
+        var dense = DenseByteGrid.from(Pattern.BLINKER.toGrid());
+
+        dense.step(CONWAY);
+
+        assertThat(dense.getCellState(Cell.of(0, 1))).isEqualTo(CellState.ALIVE);
+        assertThat(dense.getCellState(Cell.of(-1, 1))).isEqualTo(CellState.DEAD);
+        assertThat(dense.countLiveCells()).isEqualTo(3);
+    }
+}
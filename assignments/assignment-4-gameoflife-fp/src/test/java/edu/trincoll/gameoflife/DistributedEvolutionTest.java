@@ -0,0 +1,114 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DistributedEvolutionTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "BOUNDED, 3, TCP",
+        "TORUS, 2, UNIX_DOMAIN",
+        "KLEIN_BOTTLE, 3, TCP",
+        "KLEIN_BOTTLE, 1, UNIX_DOMAIN"
+    })
+    @DisplayName("Worker processes evolve the same board as one JVM")
+    void matchesSingleJvm(Topology topology, int workers, DistributedEvolution.Transport transport)
+            throws IOException {
+        var grid = GridTest.randomGrid(45, 200, 0.35, 24L).withTopology(topology);
+        try (var distributed = DistributedEvolution.launch(grid, GameRules.highLife(), workers, transport)) {
+            assertThat(distributed.workerCount()).isEqualTo(workers);
+            assertThat(distributed.collect()).isEqualTo(grid);
+            var expected = grid;
+            for (int generation = 1; generation <= 30; generation++) {
+                expected = expected.evolveWith(GameRules.highLife());
+                var report = distributed.step();
+                assertThat(report.generation()).isEqualTo(generation);
+                assertThat(report.population()).as("generation %d", generation)
+                    .isEqualTo(expected.countLiveCells());
+            }
+            var collected = distributed.collect();
+            assertThat(collected).isEqualTo(expected);
+            assertThat(collected.getGeneration()).isEqualTo(30);
+        }
+    }
+
+    @Test
+    @DisplayName("Strips stream in from a source and out to a sink")
+    void streamsStrips() throws IOException {
+        int rows = 40;
+        int cols = 300;
+        var expected = new Grid(rows, cols).withTopology(Topology.TORUS);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (seeded(row, col)) {
+                    expected.setCellState(Cell.of(row, col), CellState.ALIVE);
+                }
+            }
+        }
+        DistributedEvolution.StripSource source = (row, firstCol, width, words) -> {
+            for (int i = 0; i < width; i++) {
+                if (seeded(row, firstCol + i)) {
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+        };
+        try (var distributed = DistributedEvolution.launch(rows, cols, Topology.TORUS, 0, source,
+                GameRules.conway(), 3, DistributedEvolution.Transport.TCP)) {
+            assertThat(distributed.run(0).population()).isEqualTo(expected.countLiveCells());
+            for (int generation = 0; generation < 20; generation++) {
+                expected = expected.evolveWith(GameRules.conway());
+            }
+            assertThat(distributed.run(20).population()).isEqualTo(expected.countLiveCells());
+
+            var board = expected;
+            int[] received = new int[1];
+            distributed.collect((row, firstCol, width, words) -> {
+                received[0]++;
+                for (int i = 0; i < words.length * 64; i++) {
+                    boolean alive = (words[i >>> 6] & 1L << i) != 0;
+                    assertThat(alive).as("cell %d,%d", row, firstCol + i)
+                        .isEqualTo(i < width && board.isAlive(row, firstCol + i));
+                }
+            });
+            assertThat(received[0]).isEqualTo(3 * rows);
+            assertThat(distributed.collect()).isEqualTo(expected);
+        }
+    }
+
+    private static boolean seeded(int row, int col) {
+        return (row * 7919L + col * 104729L) * 0x9E3779B97F4A7C15L >>> 62 == 0;
+    }
+
+    @Test
+    @DisplayName("The coordinator stops once no strip changes")
+    void detectsStability() throws IOException {
+        var grid = new Grid(12, 80);
+        // A domino that dies out and a block that straddles the strip boundary
+        for (var cell : new Cell[] {Cell.of(5, 39), Cell.of(5, 40), Cell.of(6, 39), Cell.of(6, 40),
+                Cell.of(1, 10), Cell.of(1, 11)}) {
+            grid.setCellState(cell, CellState.ALIVE);
+        }
+        try (var distributed = DistributedEvolution.launch(grid, GameRules.conway(), 2)) {
+            var report = distributed.run(100);
+            assertThat(report.stable()).isTrue();
+            assertThat(report.generation()).isEqualTo(2);
+            assertThat(report.population()).isEqualTo(4);
+            assertThat(distributed.run(100)).isEqualTo(report);
+        }
+    }
+
+    @Test
+    @DisplayName("Worker counts beyond the columns are rejected")
+    void rejectsWorkerCount() {
+        assertThatThrownBy(() -> DistributedEvolution.launch(new Grid(4, 4), GameRules.conway(), 5))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
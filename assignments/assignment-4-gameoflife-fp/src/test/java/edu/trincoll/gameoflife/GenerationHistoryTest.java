@@ -0,0 +1,102 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GenerationHistoryTest {
+
+    private static final GameRules RULES = GameRules.conway();
+
+    /**
+     * Runs an R-pentomino on an incremental universe, recording every generation
+     * both in the history and as plain snapshots.
+     */
+    private static List<SparseUniverse> run(GenerationHistory history, int generations) {
+        var universe = IncrementalUniverse.from(new Grid("""
+            .**
+            **.
+            .*.
+            """), RULES);
+        var snapshots = new ArrayList<SparseUniverse>();
+        snapshots.add(universe.toSparseUniverse());
+        universe.addListener(history);
+        for (int i = 0; i < generations; i++) {
+            universe.step();
+            snapshots.add(universe.toSparseUniverse());
+        }
+        return snapshots;
+    }
+
+    @ParameterizedTest(name = "keyframe every {0}")
+    @ValueSource(ints = {1, 7, 64, 1_000})
+    @DisplayName("Every recorded generation is rebuilt exactly")
+    void seeksEveryGeneration(int interval) {
+        var history = new GenerationHistory(SparseUniverse.from(new Grid("""
+            .**
+            **.
+            .*.
+            """)), 0, interval);
+
+        var snapshots = run(history, 150);
+
+        assertThat(history.lastGeneration()).isEqualTo(150);
+        assertThat(history.keyframeCount()).isEqualTo(150 / interval + 1);
+        for (int generation = 150; generation >= 0; generation -= 13) {
+            assertThat(history.seek(generation).getLiveCells())
+                .as("generation %d", generation)
+                .isEqualTo(snapshots.get(generation).getLiveCells());
+        }
+    }
+
+    @Test
+    @DisplayName("A keyframe limit drops the oldest generations")
+    void keyframeLimitBoundsHistory() {
+        var history = new GenerationHistory(SparseUniverse.from(new Grid("""
+            .**
+            **.
+            .*.
+            """)), 0, 10, 3);
+
+        var snapshots = run(history, 95);
+
+        assertThat(history.keyframeCount()).isEqualTo(3);
+        assertThat(history.firstGeneration()).isEqualTo(70);
+        assertThat(history.seek(83).getLiveCells()).isEqualTo(snapshots.get(83).getLiveCells());
+        assertThatThrownBy(() -> history.seek(69)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Grid runs are recorded through deltas between grids")
+    void recordsGridRun() {
+        var grid = GridTest.randomGrid(40, 100, 0.3, 8L);
+        var history = GenerationHistory.startingAt(grid, 4);
+        var grids = new ArrayList<Grid>(List.of(grid));
+        for (int generation = 1; generation <= 20; generation++) {
+            var next = grid.evolveWith(RULES);
+            history.onGeneration(GenerationDelta.between(grid, next, generation));
+            grids.add(next);
+            grid = next;
+        }
+
+        assertThat(history.seek(11).getLiveCells()).isEqualTo(grids.get(11).getLiveCells());
+        long packedKeys = grids.stream().mapToLong(g -> g.countLiveCells() * (long) Long.BYTES).sum();
+        assertThat(history.storedBytes()).isLessThan(packedKeys / 4);
+    }
+
+    @Test
+    @DisplayName("A skipped generation is rejected")
+    void rejectsGaps() {
+        var history = GenerationHistory.startingAt(new Grid(3, 3), 5);
+        var delta = GenerationDelta.between(new Grid(3, 3), new Grid(3, 3), 2);
+
+        assertThatThrownBy(() -> history.onGeneration(delta)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,190 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GenerationsGridTest {
+
+    /**
+     * Steps a state array one cell at a time with {@link GenerationsRule#next}.
+     */
+    private static int[][] referenceStep(int[][] states, GenerationsRule rule) {
+        int rows = states.length;
+        int cols = states[0].length;
+        int[][] next = new int[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int neighbors = 0;
+                for (int dr = -1; dr <= 1; dr++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        int r = row + dr;
+                        int c = col + dc;
+                        if ((dr != 0 || dc != 0) && r >= 0 && r < rows && c >= 0 && c < cols && states[r][c] == 1) {
+                            neighbors++;
+                        }
+                    }
+                }
+                next[row][col] = rule.next(states[row][col], neighbors);
+            }
+        }
+        return next;
+    }
+
+    private static int[][] randomStates(int rows, int cols, int states, long seed) {
+        var random = new Random(seed);
+        int[][] result = new int[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                result[row][col] = random.nextDouble() < 0.4 ? random.nextInt(states) : 0;
+            }
+        }
+        return result;
+    }
+
+    private static int[][] statesOf(GenerationsGrid board) {
+        int[][] result = new int[board.getRows()][board.getCols()];
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int col = 0; col < board.getCols(); col++) {
+                result[row][col] = board.getState(Cell.of(row, col));
+            }
+        }
+        return result;
+    }
+
+    @Nested
+    @DisplayName("Parsing")
+    class ParsingTests {
+
+        @ParameterizedTest
+        @CsvSource({
+            "B2/S/C3, B2/S/C3",
+            "/2/3, B2/S/C3",
+            "345/2/4, B2/S345/C4",
+            "B2/S345/C4, B2/S345/C4",
+            "C8/B2/S345, B2/S345/C8",
+            "b3/s23/c2, B3/S23/C2"
+        })
+        @DisplayName("Lettered and digit notation give the same rule")
+        void parsesNotations(String rulestring, String expected) {
+            assertThat(GenerationsRule.parse(rulestring)).hasToString(expected);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"B3/S23", "B2/S/C1", "B2/S/C257", "B2/S/Cx", "B9/S/C3"})
+        @DisplayName("Malformed rules are rejected")
+        void rejectsMalformed(String rulestring) {
+            assertThatThrownBy(() -> GenerationsRule.parse(rulestring))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Named rules decay through their states")
+        void decay() {
+            var rule = GenerationsRule.STAR_WARS;
+            assertThat(rule.next(0, 2)).isEqualTo(1);
+            assertThat(rule.next(1, 3)).isEqualTo(1);
+            assertThat(rule.next(1, 2)).isEqualTo(2);
+            assertThat(rule.next(2, 2)).isEqualTo(3);
+            assertThat(rule.next(3, 2)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Evolution")
+    class EvolutionTests {
+
+        @ParameterizedTest
+        @CsvSource({
+            "B2/S/C3, 1",
+            "B2/S345/C4, 2",
+            "345/2/8, 3",
+            "B3/S23/C256, 4",
+            "B36/S23/C2, 5"
+        })
+        @DisplayName("The bit-plane step matches a cell-by-cell reference")
+        void matchesReference(String rulestring, long seed) {
+            var rule = GenerationsRule.parse(rulestring);
+            int[][] states = randomStates(40, 130, rule.states(), seed);
+            var board = new GenerationsGrid(40, 130, rule);
+            for (int row = 0; row < 40; row++) {
+                for (int col = 0; col < 130; col++) {
+                    board.setState(Cell.of(row, col), states[row][col]);
+                }
+            }
+            for (int generation = 1; generation <= 30; generation++) {
+                states = referenceStep(states, rule);
+                board.step();
+                assertThat(statesOf(board)).as("generation %d", generation).isDeepEqualTo(states);
+            }
+            assertThat(board.getGeneration()).isEqualTo(30);
+        }
+
+        @Test
+        @DisplayName("Two states evolve like the two-state grid")
+        void twoStatesMatchGrid() {
+            var start = GridTest.randomGrid(50, 70, 0.35, 22L);
+            var board = GenerationsGrid.from(start, GenerationsRule.parse("B3/S23/C2"));
+            board.step(25);
+            var expected = start;
+            for (int i = 0; i < 25; i++) {
+                expected = expected.evolveWith(GameRules.conway());
+            }
+            assertThat(board.toGrid().getLiveCells()).isEqualTo(expected.getLiveCells());
+            assertThat(board.countLiveCells()).isEqualTo(expected.countLiveCells());
+            assertThat(board.countDyingCells()).isZero();
+        }
+
+        @Test
+        @DisplayName("Counts of live and dying cells follow the board")
+        void counts() {
+            var board = GenerationsGrid.from(GridTest.randomGrid(30, 90, 0.3, 9L), GenerationsRule.STAR_WARS);
+            for (int i = 0; i < 10; i++) {
+                board.step();
+                int live = 0;
+                int dying = 0;
+                for (int[] row : statesOf(board)) {
+                    for (int state : row) {
+                        live += state == 1 ? 1 : 0;
+                        dying += state >= 2 ? 1 : 0;
+                    }
+                }
+                assertThat(board.countLiveCells()).isEqualTo(live);
+                assertThat(board.countDyingCells()).isEqualTo(dying);
+            }
+        }
+
+        @Test
+        @DisplayName("A Brian's Brain glider keeps moving")
+        void briansBrainGlider() {
+            var board = new GenerationsGrid(20, 20, GenerationsRule.BRIANS_BRAIN);
+            // Two live cells trailed by two dying ones travel one cell per generation
+            board.setState(Cell.of(5, 5), 1);
+            board.setState(Cell.of(6, 5), 1);
+            board.setState(Cell.of(5, 4), 2);
+            board.setState(Cell.of(6, 4), 2);
+            board.step();
+            assertThat(board.getState(Cell.of(5, 6))).isEqualTo(1);
+            assertThat(board.getState(Cell.of(6, 6))).isEqualTo(1);
+            assertThat(board.getState(Cell.of(5, 5))).isEqualTo(2);
+            assertThat(board.getState(Cell.of(5, 4))).isZero();
+            assertThat(board.countLiveCells()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("States outside the rule are rejected")
+        void rejectsState() {
+            var board = new GenerationsGrid(4, 4, GenerationsRule.BRIANS_BRAIN);
+            assertThatThrownBy(() -> board.setState(Cell.of(0, 0), 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
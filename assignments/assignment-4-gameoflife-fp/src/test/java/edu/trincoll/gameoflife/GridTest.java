@@ -0,0 +1,212 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GridTest {
+
+    static Grid randomGrid(int rows, int cols, double density, long seed) {
+        var random = new Random(seed);
+        var grid = new Grid(rows, cols);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (random.nextDouble() < density) {
+                    grid.setCellState(Cell.of(row, col), CellState.ALIVE);
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Cell-by-cell reference evolution using only the public Grid API.
+     */
+    static Grid referenceEvolve(Grid grid, GameRules rules) {
+        var next = new Grid(grid.getRows(), grid.getCols(), grid.getTopology());
+        for (int row = 0; row < grid.getRows(); row++) {
+            for (int col = 0; col < grid.getCols(); col++) {
+                var cell = Cell.of(row, col);
+                int neighbors = grid.countLiveNeighbors(cell);
+                if (neighbors > 0 || grid.getCellState(cell).isAlive()) {
+                    next.setCellState(cell, rules.apply(grid.getCellState(cell), neighbors));
+                }
+            }
+        }
+        return next;
+    }
+
+    @Nested
+    @DisplayName("Packed storage")
+    class StorageTests {
+
+        @Test
+        @DisplayName("Cells round-trip across word boundaries")
+        void cellsRoundTripAcrossWords() {
+            var grid = new Grid(3, 130);
+            grid.setCellState(Cell.of(0, 0), CellState.ALIVE);
+            grid.setCellState(Cell.of(1, 63), CellState.ALIVE);
+            grid.setCellState(Cell.of(1, 64), CellState.ALIVE);
+            grid.setCellState(Cell.of(2, 129), CellState.ALIVE);
+
+            assertThat(grid.countLiveCells()).isEqualTo(4);
+            assertThat(grid.getLiveCells())
+                .containsExactlyInAnyOrder(Cell.of(0, 0), Cell.of(1, 63), Cell.of(1, 64), Cell.of(2, 129));
+            assertThat(grid.countLiveNeighbors(Cell.of(0, 64))).isEqualTo(2);
+
+            grid.setCellState(Cell.of(1, 63), CellState.DEAD);
+            assertThat(grid.countLiveCells()).isEqualTo(3);
+            assertThat(grid.getCellState(Cell.of(1, 63))).isEqualTo(CellState.DEAD);
+        }
+
+        @Test
+        @DisplayName("Cells outside the board are ignored")
+        void outOfBoundsCellsIgnored() {
+            var grid = new Grid(2, 2);
+            grid.setCellState(Cell.of(2, 0), CellState.ALIVE);
+            grid.setCellState(Cell.of(0, -1), CellState.ALIVE);
+
+            assertThat(grid.countLiveCells()).isZero();
+            assertThat(grid.getCellState(Cell.of(5, 5))).isEqualTo(CellState.DEAD);
+        }
+
+        @Test
+        @DisplayName("String form round-trips")
+        void stringRoundTrip() {
+            var text = Pattern.PULSAR.getPattern().trim();
+            assertThat(new Grid(text).toString()).isEqualTo(text);
+        }
+    }
+
+    @Nested
+    @DisplayName("Word-parallel evolution")
+    class EvolutionTests {
+
+        @ParameterizedTest(name = "{0}x{1} soup at density {2}")
+        @CsvSource({
+            "1, 1, 0.5",
+            "5, 63, 0.4",
+            "7, 64, 0.35",
+            "9, 65, 0.3",
+            "16, 130, 0.5",
+            "40, 200, 0.2"
+        })
+        @DisplayName("Matches cell-by-cell evolution for Conway and HighLife")
+        void matchesReferenceEvolution(int rows, int cols, double density) {
+            var grid = randomGrid(rows, cols, density, rows * 31L + cols);
+
+            for (var rules : new GameRules[] {GameRules.conway(), GameRules.highLife(), GameRules.seeds()}) {
+                var current = grid;
+                for (int generation = 0; generation < 5; generation++) {
+                    var expected = referenceEvolve(current, rules);
+                    var actual = current.evolveWith(rules);
+                    assertThat(actual).isEqualTo(expected);
+                    assertThat(actual.countLiveCells()).isEqualTo(expected.countLiveCells());
+                    current = actual;
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Large boards step quickly")
+        void largeBoardSteps() {
+            var grid = randomGrid(2_000, 2_000, 0.3, 42L);
+
+            var next = grid.evolveWith(GameRules.conway());
+
+            assertThat(next.getRows()).isEqualTo(2_000);
+            assertThat(next.countLiveCells()).isEqualTo(next.getLiveCells().size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Joined edges")
+    class TopologyTests {
+
+        @ParameterizedTest(name = "{0} on {1}x{2}")
+        @CsvSource({
+            "TORUS, 8, 8", "TORUS, 10, 10", "TORUS, 7, 130", "TORUS, 64, 128",
+            "KLEIN_BOTTLE, 8, 8", "KLEIN_BOTTLE, 9, 70", "KLEIN_BOTTLE, 5, 64"
+        })
+        @DisplayName("Evolution matches the cell-by-cell reference")
+        void evolutionMatchesReference(Topology topology, int rows, int cols) {
+            var current = randomGrid(rows, cols, 0.35, rows * 1_000L + cols).withTopology(topology);
+            for (int generation = 0; generation < 5; generation++) {
+                var expected = referenceEvolve(current, GameRules.conway());
+                var actual = current.evolveWith(GameRules.conway());
+                assertThat(actual).isEqualTo(expected);
+                assertThat(actual.countLiveCells()).isEqualTo(expected.getLiveCells().size());
+                current = actual;
+            }
+        }
+
+        @ParameterizedTest(name = "{0}x{1}")
+        @CsvSource({"8, 8", "12, 20"})
+        @DisplayName("A glider crosses the torus and returns to its start")
+        void gliderWrapsAroundTorus(int rows, int cols) {
+            var start = new Grid(rows, cols, Topology.TORUS);
+            Pattern.GLIDER.toGrid().getLiveCells().forEach(cell -> start.setCellState(cell, CellState.ALIVE));
+
+            // A glider moves one cell diagonally every four generations
+            var current = start;
+            for (int generation = 0; generation < 4 * rows * cols; generation++) {
+                current = current.evolveWith(GameRules.conway());
+            }
+
+            assertThat(current).isEqualTo(start);
+        }
+
+        @Test
+        @DisplayName("Neighbours of a torus corner wrap to the far edges")
+        void torusCornerNeighbours() {
+            var grid = new Grid(8, 8, Topology.TORUS);
+
+            assertThat(grid.isValidCell(Cell.of(-1, 9))).isTrue();
+            assertThat(grid.getNeighbors(Cell.of(0, 0))).containsExactlyInAnyOrder(
+                Cell.of(7, 7), Cell.of(7, 0), Cell.of(7, 1),
+                Cell.of(0, 7), Cell.of(0, 1),
+                Cell.of(1, 7), Cell.of(1, 0), Cell.of(1, 1));
+        }
+
+        @Test
+        @DisplayName("Crossing the side of a Klein bottle mirrors the row")
+        void kleinBottleMirrorsRows() {
+            var grid = new Grid(5, 6, Topology.KLEIN_BOTTLE);
+            grid.setCellState(Cell.of(1, 5), CellState.ALIVE);
+
+            assertThat(grid.getCellState(Cell.of(3, -1))).isEqualTo(CellState.ALIVE);
+            assertThat(grid.getCellState(Cell.of(1, -1))).isEqualTo(CellState.DEAD);
+            assertThat(grid.getCellState(Cell.of(-2, 11))).isEqualTo(CellState.ALIVE);
+            assertThat(grid.countLiveNeighbors(Cell.of(3, 0))).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Bounded grids still reject cells outside the board")
+        void boundedRejectsOutside() {
+            var grid = new Grid(4, 4);
+
+            assertThat(grid.getTopology()).isEqualTo(Topology.BOUNDED);
+            assertThat(grid.isValidCell(Cell.of(-1, 0))).isFalse();
+            assertThat(grid.getNeighbors(Cell.of(0, 0))).hasSize(3);
+        }
+
+        @Test
+        @DisplayName("Parallel evolution and neighbour counts follow the topology")
+        void otherEnginesFollowTopology() {
+            var grid = randomGrid(200, 90, 0.3, 3L).withTopology(Topology.KLEIN_BOTTLE);
+
+            assertThat(new ParallelEvolution(16).evolveParallel(grid, GameRules.conway()))
+                .isEqualTo(grid.evolveWith(GameRules.conway()));
+            assertThat(new GridAnalyzer().findChangingCells(grid, GameRules.conway()).count())
+                .isEqualTo(grid.getAllCells().stream()
+                    .filter(cell -> grid.getCellState(cell) != grid.evolveWith(GameRules.conway()).getCellState(cell))
+                    .count());
+        }
+    }
+}
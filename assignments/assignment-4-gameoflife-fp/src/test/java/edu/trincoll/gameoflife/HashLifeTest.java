@@ -0,0 +1,135 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashLifeTest {
+
+    private static final GameRules CONWAY = GameRules.conway();
+
+    /**
+     * Places a small soup in the middle of a board large enough that nothing
+     * reaches the hard edges within the tested number of generations.
+     */
+    private static Grid centredSoup(int size, int soupSize, long seed) {
+        var soup = GridTest.randomGrid(soupSize, soupSize, 0.4, seed);
+        var board = new Grid(size, size);
+        int offset = (size - soupSize) / 2;
+        soup.getLiveCells().forEach(cell -> board.setCellState(cell.translate(offset, offset), CellState.ALIVE));
+        return board;
+    }
+
+    private static Grid evolve(Grid grid, int generations) {
+        var current = grid;
+        for (int i = 0; i < generations; i++) {
+            current = current.evolveWith(CONWAY);
+        }
+        return current;
+    }
+
+    @Nested
+    @DisplayName("Agreement with Grid")
+    class AgreementTests {
+
+        @ParameterizedTest(name = "jump 2^{0} generations")
+        @ValueSource(ints = {0, 1, 3, 5, 6})
+        @DisplayName("Power-of-two jumps match step-by-step evolution")
+        void jumpMatchesGrid(int log2) {
+            var board = centredSoup(256, 16, 7L + log2);
+
+            var universe = HashLife.from(board, CONWAY).jump(log2);
+
+            assertThat(universe.toGrid(256, 256)).isEqualTo(evolve(board, 1 << log2));
+            assertThat(universe.getGeneration()).isEqualTo(1L << log2);
+        }
+
+        @Test
+        @DisplayName("Arbitrary advances combine jumps")
+        void advanceMatchesGrid() {
+            var board = centredSoup(256, 16, 99L);
+
+            var universe = HashLife.from(board, CONWAY).advance(45).advance(30);
+
+            assertThat(universe.getGeneration()).isEqualTo(75);
+            assertThat(universe.toGrid(256, 256)).isEqualTo(evolve(board, 75));
+            assertThat(universe.population()).isEqualTo(evolve(board, 75).countLiveCells());
+        }
+
+        @Test
+        @DisplayName("Other B/S rules are honoured")
+        void highLifeMatchesGrid() {
+            var board = centredSoup(128, 12, 3L);
+
+            var universe = HashLife.from(board, GameRules.highLife()).advance(20);
+
+            var expected = board;
+            for (int i = 0; i < 20; i++) {
+                expected = expected.evolveWith(GameRules.highLife());
+            }
+            assertThat(universe.toGrid(128, 128)).isEqualTo(expected);
+        }
+    }
+
+    @Nested
+    @DisplayName("Long runs")
+    class LongRunTests {
+
+        @Test
+        @DisplayName("Glider travels 2^28 cells diagonally in 2^30 generations")
+        void gliderBillionGenerations() {
+            var universe = HashLife.from(Pattern.GLIDER, CONWAY).jump(30);
+
+            assertThat(universe.population()).isEqualTo(5);
+            var box = universe.boundingBox().orElseThrow();
+            assertThat(box.minRow()).isEqualTo(1L << 28);
+            assertThat(box.minCol()).isEqualTo(1L << 28);
+            assertThat(box.height()).isEqualTo(3);
+            assertThat(box.width()).isEqualTo(3);
+            assertThat(universe.toGrid(box.minRow(), box.minCol(), 3, 3))
+                .isEqualTo(Pattern.GLIDER.toGrid());
+        }
+
+        @Test
+        @DisplayName("Oscillators are memoized rather than re-simulated")
+        void toadBillionGenerations() {
+            // Toad has period 2, so any even jump returns to the initial phase
+            var universe = HashLife.from(Pattern.TOAD, CONWAY).jump(32);
+
+            assertThat(universe.population()).isEqualTo(6);
+            assertThat(universe.toGrid(2, 4)).isEqualTo(Pattern.TOAD.toGrid());
+            assertThat(universe.cacheSize()).isLessThan(10_000);
+        }
+
+        @Test
+        @DisplayName("Garbage collection keeps results correct")
+        void smallCacheStillCorrect() {
+            var board = centredSoup(128, 12, 11L);
+
+            var universe = HashLife.from(board, CONWAY, 64).advance(40);
+
+            assertThat(universe.toGrid(128, 128)).isEqualTo(evolve(board, 40));
+        }
+    }
+
+    @Test
+    @DisplayName("Empty universe has no bounding box")
+    void emptyUniverse() {
+        var universe = HashLife.from(new Grid(10, 10), CONWAY).jump(10);
+
+        assertThat(universe.population()).isZero();
+        assertThat(universe.boundingBox()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Negative jumps are rejected")
+    void negativeJumpRejected() {
+        assertThatThrownBy(() -> HashLife.from(Pattern.BLOCK, CONWAY).jump(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,85 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncrementalUniverseTest {
+
+    private static final GameRules CONWAY = GameRules.conway();
+
+    @Test
+    @DisplayName("Matches the sparse engine on a random soup")
+    void matchesSparseUniverse() {
+        var soup = GridTest.randomGrid(40, 40, 0.35, 123L);
+        var sparse = SparseUniverse.from(soup);
+        var incremental = IncrementalUniverse.from(soup, CONWAY);
+
+        for (int generation = 1; generation <= 300; generation++) {
+            sparse = sparse.evolveWith(CONWAY);
+            incremental.step();
+
+            assertThat(incremental.countLiveCells()).isEqualTo(sparse.countLiveCells());
+        }
+        assertThat(incremental.toSparseUniverse()).isEqualTo(sparse);
+        assertThat(incremental.getGeneration()).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("Still lifes are never re-evaluated")
+    void stillLifeCostsNothing() {
+        var universe = IncrementalUniverse.from(Pattern.BEEHIVE, CONWAY);
+
+        universe.step();
+        universe.step();
+
+        assertThat(universe.lastEvaluatedCells()).isZero();
+        assertThat(universe.countLiveCells()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Period-2 tiles go to sleep and keep oscillating correctly")
+    void blinkersSleep() {
+        var field = new Grid(64, 64);
+        for (int row = 2; row < 64; row += 8) {
+            for (int col = 2; col < 64; col += 8) {
+                field.setCellState(Cell.of(row, col), CellState.ALIVE);
+                field.setCellState(Cell.of(row, col + 1), CellState.ALIVE);
+                field.setCellState(Cell.of(row, col + 2), CellState.ALIVE);
+            }
+        }
+        var universe = IncrementalUniverse.from(field, CONWAY);
+
+        universe.step(5);
+
+        assertThat(universe.lastEvaluatedCells()).isZero();
+        assertThat(universe.lastSleepingTiles()).isEqualTo(16);
+        assertThat(universe.toSparseUniverse()).isEqualTo(SparseUniverse.from(field).evolveWith(CONWAY));
+        universe.step();
+        assertThat(universe.toSparseUniverse()).isEqualTo(SparseUniverse.from(field));
+    }
+
+    @Test
+    @DisplayName("Listeners receive births and deaths for every generation")
+    void listenersReceiveDeltas() {
+        var universe = IncrementalUniverse.from(Pattern.GLIDER, CONWAY);
+        List<GenerationDelta> deltas = new ArrayList<>();
+        universe.addListener(deltas::add);
+
+        universe.step(8);
+
+        assertThat(deltas).hasSize(8);
+        assertThat(deltas).allSatisfy(delta -> {
+            assertThat(delta.birthCount()).isEqualTo(delta.deathCount());
+            assertThat(delta.population()).isEqualTo(5);
+        });
+        assertThat(deltas.getFirst().births()).containsExactlyInAnyOrder(Cell.of(1, 0), Cell.of(3, 1));
+        assertThat(deltas.getFirst().deaths()).containsExactlyInAnyOrder(Cell.of(0, 1), Cell.of(2, 0));
+        assertThat(deltas.getLast().generation()).isEqualTo(8);
+        assertThat(universe.getCellState(Cell.of(4, 3))).isEqualTo(CellState.ALIVE);
+    }
+}
@@ -0,0 +1,144 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LargerThanLifeTest {
+
+    /**
+     * Evolves a grid by counting every neighbourhood cell by cell.
+     */
+    private static Grid referenceEvolve(Grid grid, LargerThanLifeRule rule) {
+        var next = new Grid(grid.getRows(), grid.getCols(), grid.getTopology());
+        int range = rule.range();
+        for (int row = 0; row < grid.getRows(); row++) {
+            for (int col = 0; col < grid.getCols(); col++) {
+                int count = 0;
+                for (int dr = -range; dr <= range; dr++) {
+                    for (int dc = -range; dc <= range; dc++) {
+                        if ((dr != 0 || dc != 0 || rule.includeCenter())
+                                && rule.neighborhood().contains(dr, dc, range)
+                                && grid.getCellState(Cell.of(row + dr, col + dc)).isAlive()) {
+                            count++;
+                        }
+                    }
+                }
+                var cell = Cell.of(row, col);
+                if (rule.next(grid.getCellState(cell).isAlive(), count)) {
+                    next.setCellState(cell, CellState.ALIVE);
+                }
+            }
+        }
+        return next;
+    }
+
+    @Nested
+    @DisplayName("Parsing")
+    class ParsingTests {
+
+        @ParameterizedTest
+        @CsvSource(delimiter = ';', value = {
+            "R5,C0,M1,S34..58,B34..45,NM; R5,C0,M1,S34..58,B34..45,NM",
+            "r2,c2,m0,s3..5,b4,nn; R2,C0,M0,S3..5,B4..4,NN",
+            "R3,C0,M1,S14..19,B14..19,NH; R3,C0,M1,S14..19,B14..19,NH",
+            "R1,C0,M0,S2..3,B3..3; R1,C0,M0,S2..3,B3..3,NM",
+            "5,0,1,34,58,34,45; R5,C0,M1,S34..58,B34..45,NM"
+        })
+        @DisplayName("Golly and seven-number notation are read")
+        void parsesNotations(String rulestring, String expected) {
+            assertThat(LargerThanLifeRule.parse(rulestring)).hasToString(expected);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+            "R0,C0,M0,S1..2,B1..2", "R1,C3,M0,S2..3,B3..3", "R1,C0,M2,S2..3,B3..3",
+            "R1,C0,M0,S2..10,B3..3", "R1,C0,M0,S3..2,B3..3", "R1,C0,M0,S2..3", "R1,C0,M0,S2..3,B3..3,NX",
+            "R1,C0,M0,Sx,B3", "B3/S23"
+        })
+        @DisplayName("Malformed rules are rejected")
+        void rejectsMalformed(String rulestring) {
+            assertThatThrownBy(() -> LargerThanLifeRule.parse(rulestring))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @ParameterizedTest
+        @EnumSource(Neighborhood.class)
+        @DisplayName("Neighbourhood sizes match their shapes")
+        void neighborhoodSizes(Neighborhood neighborhood) {
+            for (int range = 1; range <= 6; range++) {
+                int cells = 0;
+                for (int dr = -range; dr <= range; dr++) {
+                    for (int dc = -range; dc <= range; dc++) {
+                        cells += neighborhood.contains(dr, dc, range) ? 1 : 0;
+                    }
+                }
+                assertThat(neighborhood.size(range)).isEqualTo(cells);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Evolution")
+    class EvolutionTests {
+
+        @ParameterizedTest
+        @CsvSource(delimiter = ';', value = {
+            "R5,C0,M1,S34..58,B34..45,NM; BOUNDED; 1",
+            "R3,C0,M0,S6..12,B7..9,NN; BOUNDED; 2",
+            "R2,C0,M1,S5..9,B4..7,NH; BOUNDED; 3",
+            "R4,C0,M1,S20..36,B18..24,NM; TORUS; 4",
+            "R3,C0,M0,S6..12,B7..9,NN; KLEIN_BOTTLE; 5",
+            "R2,C0,M1,S5..9,B4..7,NH; TORUS; 6",
+            "R7,C0,M0,S10..30,B10..20,NN; TORUS; 7"
+        })
+        @DisplayName("Prefix sums count the same neighbourhoods as a cell-by-cell scan")
+        void matchesReference(String rulestring, Topology topology, long seed) {
+            var rule = LargerThanLifeRule.parse(rulestring);
+            var grid = GridTest.randomGrid(37, 70, 0.45, seed).withTopology(topology);
+            var expected = grid;
+            for (int generation = 1; generation <= 5; generation++) {
+                grid = LargerThanLife.evolve(grid, rule);
+                expected = referenceEvolve(expected, rule);
+                assertThat(grid).as("generation %d", generation).isEqualTo(expected);
+                assertThat(grid.countLiveCells()).isEqualTo(expected.countLiveCells());
+            }
+            assertThat(grid.getGeneration()).isEqualTo(5);
+            assertThat(grid.getTopology()).isEqualTo(topology);
+        }
+
+        @Test
+        @DisplayName("Range-1 Moore rules evolve like the two-state grid")
+        void rangeOneMatchesLife() {
+            var rule = LargerThanLifeRule.parse("R1,C0,M0,S2..3,B3..3,NM");
+            var grid = GridTest.randomGrid(60, 90, 0.35, 23L);
+            assertThat(LargerThanLife.evolve(grid, rule, 10)).isEqualTo(evolveLife(grid, 10));
+
+            var torus = grid.withTopology(Topology.TORUS);
+            assertThat(LargerThanLife.evolve(torus, rule, 10)).isEqualTo(evolveLife(torus, 10));
+        }
+
+        @Test
+        @DisplayName("A range larger than the torus counts wrapped cells again")
+        void rangeBeyondBoard() {
+            var rule = LargerThanLifeRule.parse("R6,C0,M1,S1..169,B1..169,NM");
+            var grid = new Grid(5, 4, Topology.TORUS);
+            grid.setCellState(Cell.of(1, 1), CellState.ALIVE);
+            assertThat(LargerThanLife.evolve(grid, rule)).isEqualTo(referenceEvolve(grid, rule));
+        }
+
+        private static Grid evolveLife(Grid grid, int generations) {
+            for (int i = 0; i < generations; i++) {
+                grid = grid.evolveWith(GameRules.conway());
+            }
+            return grid;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LifeRuleTest {
+
+    @Nested
+    @DisplayName("Rulestring parsing")
+    class ParsingTests {
+
+        @ParameterizedTest(name = "\"{0}\" parses to Conway")
+        @ValueSource(strings = {"B3/S23", "b3/s23", "S23/B3", "23/3", " B3/S32 "})
+        @DisplayName("Accepts common spellings of Conway's Life")
+        void parsesConway(String rulestring) {
+            assertThat(LifeRule.parse(rulestring)).isEqualTo(LifeRule.CONWAY);
+        }
+
+        @Test
+        @DisplayName("Parses rules with empty sections")
+        void parsesEmptySections() {
+            var seeds = LifeRule.parse("B2/S");
+
+            assertThat(seeds.birthMask()).isEqualTo(0b100);
+            assertThat(seeds.survivalMask()).isZero();
+            assertThat(seeds).hasToString("B2/S");
+        }
+
+        @Test
+        @DisplayName("Round-trips through toString")
+        void roundTrips() {
+            var dayAndNight = LifeRule.parse("B3678/S34678");
+
+            assertThat(dayAndNight).hasToString("B3678/S34678");
+            assertThat(LifeRule.parse(dayAndNight.toString())).isEqualTo(dayAndNight);
+            assertThat(dayAndNight.mask()).isEqualTo(0b111001000 | 0b111011000 << 9);
+        }
+
+        @ParameterizedTest(name = "\"{0}\" is rejected")
+        @ValueSource(strings = {"B3", "B3/S23/C2", "B9/S23", "B3/X23", "B3/B23"})
+        @DisplayName("Rejects malformed rulestrings")
+        void rejectsMalformed(String rulestring) {
+            assertThatThrownBy(() -> LifeRule.parse(rulestring))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Compiling existing rules")
+    class CompileTests {
+
+        @Test
+        @DisplayName("Built-in lambdas compile to their rulestrings")
+        void builtInLambdasCompile() {
+            assertThat(LifeRule.compile(GameRules.conway())).isEqualTo(LifeRule.parse("B3/S23"));
+            assertThat(LifeRule.compile(GameRules.highLife())).isEqualTo(LifeRule.parse("B36/S23"));
+            assertThat(LifeRule.compile(GameRules.seeds())).isEqualTo(LifeRule.parse("B2/S"));
+            assertThat(LifeRule.compile(GameVariants.dayAndNight())).isEqualTo(LifeRule.parse("B3678/S34678"));
+        }
+
+        @Test
+        @DisplayName("Compiled rules are returned unchanged")
+        void compiledRulesPassThrough() {
+            var rule = LifeRule.parse("B36/S23");
+
+            assertThat(LifeRule.compile(rule)).isSameAs(rule);
+        }
+
+        @Test
+        @DisplayName("Compiled rules agree with the lambda for every input")
+        void agreesWithLambda() {
+            var lambda = GameRules.highLife();
+            var compiled = LifeRule.compile(lambda);
+
+            for (var state : CellState.values()) {
+                for (int neighbors = 0; neighbors <= 8; neighbors++) {
+                    assertThat(compiled.apply(state, neighbors)).isEqualTo(lambda.apply(state, neighbors));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Custom rules reject impossible neighbor counts")
+        void customRejectsImpossibleCounts() {
+            assertThatThrownBy(() -> GameRules.custom(Set.of(9), Set.of(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Neighborhood table matches the masks")
+    void neighborhoodTable() {
+        long[] table = LifeRule.CONWAY.neighborhoodTable();
+
+        int blinkerCentre = 0b000_111_000;
+        int deadWithThree = 0b101_000_100;
+        int crowded = 0b111_111_000;
+        assertThat(table[blinkerCentre >>> 6] & (1L << blinkerCentre)).isNotZero();
+        assertThat(table[deadWithThree >>> 6] & (1L << deadWithThree)).isNotZero();
+        assertThat(table[crowded >>> 6] & (1L << crowded)).isZero();
+    }
+}
@@ -0,0 +1,61 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongHashSetTest {
+
+    @Test
+    @DisplayName("Behaves like HashSet under random adds and removes")
+    void matchesHashSet() {
+        var random = new SplittableRandom(17);
+        var set = new LongHashSet();
+        Set<Long> reference = new HashSet<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            // A small key range forces collisions, removals and the zero key
+            long key = CellKey.pack(random.nextInt(-40, 40), random.nextInt(-40, 40));
+            if (random.nextBoolean()) {
+                assertThat(set.add(key)).isEqualTo(reference.add(key));
+            } else {
+                assertThat(set.remove(key)).isEqualTo(reference.remove(key));
+            }
+        }
+
+        assertThat(set.size()).isEqualTo(reference.size());
+        reference.forEach(key -> assertThat(set.contains(key)).isTrue());
+        assertThat(set.toArray()).containsExactlyInAnyOrder(
+            reference.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    @Test
+    @DisplayName("Content equality ignores insertion order")
+    void contentEquality() {
+        var first = new LongHashSet();
+        var second = new LongHashSet(1_000);
+        for (int i = 0; i < 100; i++) {
+            first.add(CellKey.pack(i, -i));
+            second.add(CellKey.pack(99 - i, i - 99));
+        }
+
+        assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+        second.remove(CellKey.pack(0, 0));
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("Packed keys round-trip negative coordinates")
+    void packedKeysRoundTrip() {
+        long key = CellKey.pack(-5, Integer.MIN_VALUE);
+
+        assertThat(CellKey.row(key)).isEqualTo(-5);
+        assertThat(CellKey.col(key)).isEqualTo(Integer.MIN_VALUE);
+        assertThat(CellKey.toCell(CellKey.translate(key, 6, 1))).isEqualTo(Cell.of(1, Integer.MIN_VALUE + 1));
+    }
+}
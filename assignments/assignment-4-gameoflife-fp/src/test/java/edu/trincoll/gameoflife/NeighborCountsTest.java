@@ -0,0 +1,84 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NeighborCountsTest {
+
+    @ParameterizedTest(name = "{0}x{1}")
+    @CsvSource({"1, 1", "5, 7", "70, 130", "3, 64"})
+    @DisplayName("Histogram and buckets match per-cell neighbour counts")
+    void matchesPerCellCounts(int rows, int cols) {
+        Grid grid = GridTest.randomGrid(rows, cols, 0.35, rows * cols);
+        var counts = NeighborCounts.of(grid);
+
+        int[] expected = new int[9];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                expected[grid.countLiveNeighbors(Cell.of(row, col))]++;
+            }
+        }
+
+        assertThat(counts.histogram()).containsExactly(expected);
+        IntStream.rangeClosed(0, 8).forEach(n -> assertThat(counts.cellsWith(n))
+            .hasSize(expected[n])
+            .allSatisfy(cell -> assertThat(grid.countLiveNeighbors(cell)).isEqualTo(n)));
+    }
+
+    @Test
+    @DisplayName("Changing cells are exactly where the next generation differs")
+    void changingCellsMatchEvolution() {
+        Grid grid = GridTest.randomGrid(40, 100, 0.3, 11);
+        var rules = GameRules.highLife();
+        Grid next = grid.evolveWith(rules);
+
+        List<Cell> expected = grid.getAllCells().stream()
+            .filter(cell -> grid.getCellState(cell) != next.getCellState(cell))
+            .toList();
+
+        assertThat(NeighborCounts.of(grid).changingCells(rules)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("Changing cells follow a probabilistic rule's coins")
+    void changingCellsUnderProbabilisticRule() {
+        Grid grid = GridTest.randomGrid(40, 100, 0.3, 12).evolveWith(GameRules.conway());
+        var rules = ProbabilisticRule.of(GameRules.conway(), 0.7, 0.6, 13L);
+        Grid next = grid.evolveWith(rules);
+
+        List<Cell> expected = grid.getAllCells().stream()
+            .filter(cell -> grid.getCellState(cell) != next.getCellState(cell))
+            .toList();
+
+        assertThat(NeighborCounts.of(grid).changingCells(rules)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("Grouped map has only the counts that occur")
+    void mapHasOnlyPresentCounts() {
+        Map<Integer, List<Cell>> groups = NeighborCounts.of(Pattern.BLINKER.toGrid()).asMap();
+
+        assertThat(groups.keySet()).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(groups.get(4)).isNull();
+        assertThat(groups.get(1)).contains(Cell.of(1, 0), Cell.of(1, 2));
+    }
+
+    @Test
+    @DisplayName("Counts are a snapshot of the grid")
+    void countsAreASnapshot() {
+        Grid grid = new Grid(3, 3);
+        var counts = NeighborCounts.of(grid);
+
+        grid.setCellState(Cell.of(1, 1), CellState.ALIVE);
+
+        assertThat(counts.count(0)).isEqualTo(9);
+    }
+}
@@ -0,0 +1,73 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapGridTest {
+
+    private static final GameRules CONWAY = GameRules.conway();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Evolves exactly like the on-heap grid")
+    void matchesGrid() {
+        var grid = GridTest.randomGrid(70, 150, 0.35, 4L);
+        try (var offHeap = OffHeapGrid.from(grid)) {
+            for (int generation = 0; generation < 40; generation++) {
+                grid = grid.evolveWith(CONWAY);
+                offHeap.evolveWith(CONWAY);
+            }
+
+            assertThat(offHeap.toGrid()).isEqualTo(grid);
+            assertThat(offHeap.countLiveCells()).isEqualTo(grid.countLiveCells());
+        }
+    }
+
+    @Test
+    @DisplayName("Single-row boards have no neighbours above or below")
+    void singleRow() {
+        try (var offHeap = OffHeapGrid.from(new Grid("***"))) {
+            offHeap.evolveWith(CONWAY);
+
+            assertThat(offHeap.toGrid()).isEqualTo(new Grid(".*."));
+        }
+    }
+
+    @Test
+    @DisplayName("File-backed boards page through a mapped file")
+    void mappedBoard() throws IOException {
+        var file = directory.resolve("board.bin");
+        try (var offHeap = OffHeapGrid.mapped(file, 3000, 3000)) {
+            offHeap.setCellState(Cell.of(1500, 1499), CellState.ALIVE);
+            offHeap.setCellState(Cell.of(1500, 1500), CellState.ALIVE);
+            offHeap.setCellState(Cell.of(1500, 1501), CellState.ALIVE);
+
+            offHeap.evolveWith(CONWAY);
+
+            assertThat(offHeap.getCellState(Cell.of(1499, 1500))).isEqualTo(CellState.ALIVE);
+            assertThat(offHeap.getCellState(Cell.of(1500, 1499))).isEqualTo(CellState.DEAD);
+            assertThat(offHeap.countLiveCells()).isEqualTo(3);
+        }
+        assertThat(Files.size(file)).isEqualTo(2L * 3000 * 47 * Long.BYTES);
+    }
+
+    @Test
+    @DisplayName("Closed boards can no longer be read")
+    void closeReleasesMemory() {
+        var offHeap = OffHeapGrid.allocate(10, 10);
+        offHeap.close();
+
+        assertThatThrownBy(() -> offHeap.getCellState(Cell.of(1, 1)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
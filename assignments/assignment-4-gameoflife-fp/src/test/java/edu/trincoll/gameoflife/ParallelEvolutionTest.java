@@ -0,0 +1,51 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelEvolutionTest {
+
+    @ParameterizedTest(name = "threshold {0}")
+    @ValueSource(ints = {1, 2, 7, 64, 1_000})
+    @DisplayName("Parallel evolution is bit-identical to sequential evolution")
+    void matchesSequential(int threshold) {
+        var parallel = new ParallelEvolution(threshold);
+        var grid = GridTest.randomGrid(150, 200, 0.35, threshold);
+
+        for (int generation = 0; generation < 8; generation++) {
+            var expected = grid.evolveWith(GameRules.conway());
+            var actual = parallel.evolveParallel(grid, GameRules.conway());
+
+            assertThat(actual).isEqualTo(expected);
+            assertThat(actual.countLiveCells()).isEqualTo(expected.countLiveCells());
+            grid = actual;
+        }
+    }
+
+    @Test
+    @DisplayName("Dedicated pools can be supplied")
+    void customPool() {
+        try (var pool = new ForkJoinPool(4)) {
+            var parallel = new ParallelEvolution(pool, 16);
+            var grid = GridTest.randomGrid(500, 300, 0.3, 5L);
+
+            assertThat(parallel.evolveParallel(grid, GameRules.highLife()))
+                .isEqualTo(grid.evolveWith(GameRules.highLife()));
+            assertThat(parallel.getThreshold()).isEqualTo(16);
+        }
+    }
+
+    @Test
+    @DisplayName("Threshold must be positive")
+    void rejectsNonPositiveThreshold() {
+        assertThatThrownBy(() -> new ParallelEvolution(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -150,6 +151,14 @@ class PatternDetectorTest {
                 .isEmpty();
         }
 
+        @Test
+        @DisplayName("Large generation budgets stay cheap")
+        @Timeout(10)
+        void largeBudget() {
+            assertThat(detector.findPeriod(Pattern.BLINKER.toGrid(), conwayRules, 100_000)).contains(2);
+            assertThat(detector.findPeriod(Pattern.GLIDER.toGrid(), conwayRules, 1000)).isEmpty();
+        }
+
         @Test
         @DisplayName("Pattern that dies returns empty")
         void dyingPatternHasNoPeriod() {
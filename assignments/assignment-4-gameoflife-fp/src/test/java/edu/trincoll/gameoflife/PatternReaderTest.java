@@ -0,0 +1,125 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PatternReaderTest {
+
+    @TempDir
+    Path directory;
+
+    private static PatternReader.LoadedPattern readText(String text) throws IOException {
+        var bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return PatternReader.read(Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    @DisplayName("Reads an RLE glider with comments and a rule")
+    void readsRle() throws IOException {
+        var loaded = readText("""
+            #N Glider
+            #C The smallest spaceship
+            x = 3, y = 3, rule = B36/S23
+            bob$2bo$3o!
+            """);
+
+        assertThat(loaded.grid()).isEqualTo(Pattern.GLIDER.toGrid());
+        assertThat(loaded.rule()).hasValue(LifeRule.parse("B36/S23"));
+    }
+
+    @Test
+    @DisplayName("Reads a Life 1.06 file with negative coordinates")
+    void readsLife106() throws IOException {
+        var loaded = readText("""
+            #Life 1.06
+            0 -1
+            1 0
+            -1 1
+            0 1
+            1 1
+            """);
+
+        assertThat(loaded.grid()).isEqualTo(Pattern.GLIDER.toGrid());
+        assertThat(loaded.rule()).hasValue(LifeRule.CONWAY);
+    }
+
+    @Test
+    @DisplayName("Reads a plaintext file with comments")
+    void readsPlaintext() throws IOException {
+        var loaded = readText("""
+            !Name: Beacon
+            !
+            OO..
+            OO
+            ..OO
+            ..OO
+            """);
+
+        assertThat(loaded.grid()).isEqualTo(Pattern.BEACON.toGrid());
+    }
+
+    @Test
+    @DisplayName("Round-trips a large soup through a memory-mapped file")
+    void roundTripsThroughFile() throws IOException {
+        var soup = GridTest.randomGrid(300, 250, 0.3, 99L);
+        var file = directory.resolve("soup.rle");
+
+        PatternWriter.writeRle(soup, GameRules.highLife(), file);
+        var loaded = PatternReader.read(file);
+
+        assertThat(loaded.grid()).isEqualTo(soup);
+        assertThat(loaded.rule()).hasValue(LifeRule.parse("B36/S23"));
+        assertThat(Files.readAllLines(file)).allSatisfy(line -> assertThat(line.length()).isLessThanOrEqualTo(70));
+    }
+
+    @Test
+    @DisplayName("Keeps a Larger than Life rule from the header")
+    void readsLargerThanLifeRule() throws IOException {
+        var grid = GridTest.randomGrid(20, 30, 0.4, 5L);
+        var bytes = new ByteArrayOutputStream();
+
+        PatternWriter.writeRle(grid, LargerThanLifeRule.BOSCO, Channels.newChannel(bytes));
+        var loaded = readText(bytes.toString(StandardCharsets.US_ASCII));
+
+        assertThat(loaded.grid()).isEqualTo(grid);
+        assertThat(loaded.largerThanLifeRule()).hasValue(LargerThanLifeRule.BOSCO);
+        assertThat(loaded.rule()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Writes compact RLE with merged row ends")
+    void writesCompactRle() throws IOException {
+        var grid = new Grid("""
+            ***.
+            ....
+            ....
+            .*..
+            """);
+        var bytes = new ByteArrayOutputStream();
+
+        PatternWriter.writeRle(grid, GameRules.conway(), Channels.newChannel(bytes));
+
+        assertThat(bytes.toString(StandardCharsets.US_ASCII))
+            .isEqualTo("x = 4, y = 4, rule = B3/S23\n3o3$bo!\n");
+    }
+
+    @Test
+    @DisplayName("Rejects RLE data larger than its header")
+    void rejectsOversizedRle() {
+        assertThatThrownBy(() -> readText("x = 2, y = 2\n3o!"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("exceeds");
+    }
+}
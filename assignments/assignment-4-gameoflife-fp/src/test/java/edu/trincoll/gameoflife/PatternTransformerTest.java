@@ -4,11 +4,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class PatternTransformerTest {
 
@@ -176,6 +181,97 @@ class PatternTransformerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Word-level transforms match cell-by-cell results")
+    class BitboardTests {
+
+        private static Grid referenceMap(Grid grid, int rows, int cols, UnaryOperator<Cell> move) {
+            var result = new Grid(rows, cols);
+            grid.getLiveCells().stream()
+                .map(move)
+                .filter(result::isValidCell)
+                .forEach(cell -> result.setCellState(cell, CellState.ALIVE));
+            return result;
+        }
+
+        @ParameterizedTest(name = "{0}x{1}")
+        @CsvSource({"1, 1", "3, 5", "64, 64", "65, 63", "70, 130", "129, 7"})
+        @DisplayName("Rotation and flips on grids spanning word boundaries")
+        void rotationAndFlips(int rows, int cols) {
+            Grid grid = GridTest.randomGrid(rows, cols, 0.4, rows * 31L + cols);
+
+            assertThat(transformer.rotate90(grid))
+                .isEqualTo(referenceMap(grid, cols, rows, c -> Cell.of(c.col(), rows - 1 - c.row())));
+            assertThat(transformer.flipHorizontal(grid))
+                .isEqualTo(referenceMap(grid, rows, cols, c -> Cell.of(c.row(), cols - 1 - c.col())));
+            assertThat(transformer.flipVertical(grid))
+                .isEqualTo(referenceMap(grid, rows, cols, c -> Cell.of(rows - 1 - c.row(), c.col())));
+        }
+
+        @ParameterizedTest(name = "by ({0}, {1})")
+        @CsvSource({"0, 0", "1, 1", "-3, 64", "5, -65", "-40, -1", "0, 129", "71, 0"})
+        @DisplayName("Translation clips cells moved off the grid")
+        void translation(int rowOffset, int colOffset) {
+            Grid grid = GridTest.randomGrid(70, 130, 0.4, 99);
+
+            Grid moved = transformer.translate(grid, rowOffset, colOffset);
+
+            assertThat(moved).isEqualTo(referenceMap(grid, 70, 130,
+                c -> Cell.of(c.row() + rowOffset, c.col() + colOffset)));
+            assertThat(moved.countLiveCells()).isEqualTo(moved.getLiveCells().size());
+        }
+
+        @ParameterizedTest(name = "{0} by ({1}, {2})")
+        @CsvSource({
+            "TORUS, 0, 7", "TORUS, -3, 64", "TORUS, 75, -200",
+            "KLEIN_BOTTLE, 0, 7", "KLEIN_BOTTLE, 5, -65", "KLEIN_BOTTLE, -71, 260", "KLEIN_BOTTLE, 2, 130"
+        })
+        @DisplayName("Translation wraps cells around joined edges")
+        void wrappedTranslation(Topology topology, int rowOffset, int colOffset) {
+            Grid grid = GridTest.randomGrid(70, 130, 0.4, 98).withTopology(topology);
+            var expected = new Grid(70, 130, topology);
+            grid.getLiveCells().forEach(c ->
+                expected.setCellState(Cell.of(c.row() + rowOffset, c.col() + colOffset), CellState.ALIVE));
+
+            Grid moved = transformer.translate(grid, rowOffset, colOffset);
+
+            assertThat(moved).isEqualTo(expected);
+            assertThat(moved.countLiveCells()).isEqualTo(grid.countLiveCells());
+        }
+
+        @Test
+        @DisplayName("Transforms keep the topology and generation")
+        void keepsTopology() {
+            Grid torus = new Grid(8, 8, Topology.TORUS);
+            Pattern.GLIDER.toGrid().getLiveCells().forEach(c -> torus.setCellState(c, CellState.ALIVE));
+            Grid evolved = torus.evolveWith(GameRules.conway());
+
+            for (Grid result : List.of(transformer.rotate90(evolved), transformer.flipHorizontal(evolved),
+                    transformer.flipVertical(evolved), transformer.translate(evolved, 0, 7))) {
+                assertThat(result.getTopology()).isEqualTo(Topology.TORUS);
+                assertThat(result.getGeneration()).isEqualTo(1);
+                assertThat(result.countLiveCells()).isEqualTo(5);
+            }
+
+            Grid klein = evolved.withTopology(Topology.KLEIN_BOTTLE);
+            assertThat(transformer.flipHorizontal(klein).getTopology()).isEqualTo(Topology.KLEIN_BOTTLE);
+            assertThatThrownBy(() -> transformer.rotate90(klein)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Four rotations restore the original")
+        void fourRotations() {
+            Grid grid = GridTest.randomGrid(100, 37, 0.3, 5);
+
+            Grid turned = grid;
+            for (int i = 0; i < 4; i++) {
+                turned = transformer.rotate90(turned);
+            }
+
+            assertThat(turned).isEqualTo(grid);
+        }
+    }
+
     @Nested
     @DisplayName("Valid Placement Tests")
     class ValidPlacementTests {
@@ -241,5 +337,34 @@ class PatternTransformerTest {
                 .doesNotContain(Cell.of(0, 0))
                 .contains(Cell.of(1, 0), Cell.of(2, 0)); // These should be valid
         }
+
+        @Test
+        @DisplayName("Pattern larger than the target has no placements")
+        void patternLargerThanTarget() {
+            assertThat(transformer.findValidPlacements(new Grid(2, 2), Pattern.GLIDER.toGrid())).isEmpty();
+        }
+
+        @ParameterizedTest(name = "{2}x{3} pattern in a {0}x{1} target")
+        @CsvSource({"12, 12, 3, 3", "40, 150, 2, 5", "30, 200, 4, 70"})
+        @DisplayName("Placements match a cell-by-cell overlap check")
+        void matchesBruteForce(int rows, int cols, int patternRows, int patternCols) {
+            Grid target = GridTest.randomGrid(rows, cols, 0.05, rows + cols);
+            Grid pattern = GridTest.randomGrid(patternRows, patternCols, 0.3, patternRows * patternCols);
+
+            var expected = new ArrayList<Cell>();
+            for (int row = 0; row + patternRows <= rows; row++) {
+                for (int col = 0; col + patternCols <= cols; col++) {
+                    int top = row;
+                    int left = col;
+                    boolean overlaps = pattern.getLiveCells().stream()
+                        .anyMatch(c -> target.getCellState(Cell.of(top + c.row(), left + c.col())).isAlive());
+                    if (!overlaps) {
+                        expected.add(Cell.of(row, col));
+                    }
+                }
+            }
+
+            assertThat(transformer.findValidPlacements(target, pattern).toList()).isEqualTo(expected);
+        }
     }
-}
\ No newline at end of file
+}
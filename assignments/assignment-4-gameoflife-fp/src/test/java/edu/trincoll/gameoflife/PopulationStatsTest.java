@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 class PopulationStatsTest {
 
@@ -194,4 +195,80 @@ class PopulationStatsTest {
                 assertThat(p.get().population()).isEqualTo(0);
             });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Single-pass tracking matches the per-generation population list")
+    void trackMatchesPopulationList() {
+        Grid soup = GridTest.randomGrid(32, 32, 0.4, 21L);
+
+        List<Integer> populations = stats.trackPopulation(soup, conwayRules, 60);
+        PopulationTracker tracker = stats.track(soup, conwayRules, 60);
+
+        double mean = populations.stream().mapToInt(Integer::intValue).average().orElseThrow();
+        double variance = populations.stream()
+            .mapToDouble(population -> (population - mean) * (population - mean))
+            .average().orElseThrow();
+        int peak = populations.stream().mapToInt(Integer::intValue).max().orElseThrow();
+
+        assertThat(tracker.generations()).isEqualTo(60);
+        assertThat(tracker.mean()).isCloseTo(mean, within(1e-9));
+        assertThat(tracker.variance()).isCloseTo(variance, within(1e-6));
+        assertThat(tracker.peak().population()).isEqualTo(peak);
+        assertThat(tracker.peak().generation()).isEqualTo(populations.indexOf(peak));
+        assertThat(tracker.totalBirths() - tracker.totalDeaths())
+            .isEqualTo(populations.getLast() - populations.getFirst());
+    }
+
+    @Test
+    @DisplayName("Statistics accept a seeded probabilistic rule")
+    void probabilisticRule() {
+        Grid soup = GridTest.randomGrid(32, 32, 0.4, 22L);
+        ProbabilisticRule rule = ProbabilisticRule.of(conwayRules, 0.9, 0.8, 7L);
+
+        List<Integer> populations = stats.trackPopulation(soup, rule, 30);
+        int peak = populations.stream().mapToInt(Integer::intValue).max().orElseThrow();
+
+        assertThat(stats.findPopulationPeak(soup, rule, 30))
+            .hasValue(new PopulationStats.PopulationPeak(populations.indexOf(peak), peak));
+        assertThat(stats.calculateAveragePopulation(soup, rule, 30))
+            .isCloseTo(populations.stream().mapToInt(Integer::intValue).average().orElseThrow(), within(1e-9));
+        assertThat(stats.findStabilizationPoint(soup, rule, 30))
+            .isEqualTo(stats.track(soup, rule, 30).stabilizationPoint());
+    }
+
+    @Test
+    @DisplayName("Envelope covers every cell a spaceship has visited")
+    void envelopeFollowsGlider() {
+        Grid field = new Grid(20, 20);
+        Pattern.GLIDER.toGrid().getLiveCells().forEach(cell -> field.setCellState(cell, CellState.ALIVE));
+
+        PopulationTracker tracker = stats.track(field, conwayRules, 8);
+
+        assertThat(tracker.envelope())
+            .hasValueSatisfying(box -> assertThat(box).isEqualTo(new BoundingBox(0, 0, 4, 4)));
+        assertThat(tracker.variance()).isZero();
+    }
+
+    @Test
+    @DisplayName("Tracker follows an incremental universe as a listener")
+    void trackerAsListener() {
+        Grid soup = GridTest.randomGrid(24, 24, 0.35, 5L);
+        IncrementalUniverse universe = IncrementalUniverse.from(soup, conwayRules);
+        PopulationTracker listener = PopulationTracker.startingAt(soup);
+        universe.addListener(listener);
+
+        universe.step(40);
+        PopulationTracker fromSparse = new PopulationTracker(soup.countLiveCells(), soup.boundingBox());
+        SparseUniverse sparse = SparseUniverse.from(soup);
+        for (int generation = 1; generation <= 40; generation++) {
+            SparseUniverse next = sparse.evolveWith(conwayRules);
+            fromSparse.accept(next.countLiveCells(), 0, 0, Optional.empty());
+            sparse = next;
+        }
+
+        assertThat(listener.peak()).isEqualTo(fromSparse.peak());
+        assertThat(listener.mean()).isCloseTo(fromSparse.mean(), within(1e-9));
+        assertThat(listener.totalBirths() - listener.totalDeaths())
+            .isEqualTo(universe.countLiveCells() - soup.countLiveCells());
+    }
+}
@@ -0,0 +1,134 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProbabilisticRuleTest {
+
+    private static final int SIZE = 128;
+    private static final int GENERATIONS = 20;
+
+    private Grid start;
+
+    /**
+     * A soup in the middle of a board large enough that nothing reaches the edge
+     * within {@link #GENERATIONS}, so bounded and unbounded engines must agree.
+     */
+    @BeforeEach
+    void setUp() {
+        var soup = GridTest.randomGrid(32, 32, 0.4, 21L);
+        start = new Grid(SIZE, SIZE);
+        soup.getLiveCells().forEach(cell ->
+            start.setCellState(Cell.of(cell.row() + 48, cell.col() + 48), CellState.ALIVE));
+    }
+
+    private static Grid evolve(Grid grid, GameRules rules, int generations) {
+        for (int i = 0; i < generations; i++) {
+            grid = grid.evolveWith(rules);
+        }
+        return grid;
+    }
+
+    @Test
+    @DisplayName("Every engine evolves the same cells for the same seed")
+    void enginesAgree() {
+        var rule = ProbabilisticRule.of(GameRules.conway(), 0.9, 0.8, 12345L);
+        Set<Cell> expected = evolve(start, rule, GENERATIONS).getLiveCells();
+
+        var parallel = new ParallelEvolution(new ForkJoinPool(4), 16);
+        var grid = start;
+        for (int i = 0; i < GENERATIONS; i++) {
+            grid = parallel.evolveParallel(grid, rule);
+        }
+        assertThat(grid.getLiveCells()).as("parallel").isEqualTo(expected);
+
+        var tiled = TiledUniverse.from(start, rule);
+        for (int i = 0; i < GENERATIONS; i++) {
+            if (i % 2 == 0) {
+                tiled.step();
+            } else {
+                tiled.stepParallel(ForkJoinPool.commonPool());
+            }
+        }
+        assertThat(tiled.toSparseUniverse().getLiveCells()).as("tiled").isEqualTo(expected);
+
+        for (boolean vectorized : new boolean[] {false, true}) {
+            var dense = DenseByteGrid.from(start, vectorized);
+            dense.step(rule, GENERATIONS);
+            assertThat(dense.toGrid().getLiveCells()).as("dense, vectorized=%s", vectorized).isEqualTo(expected);
+            assertThat(dense.countLiveCells()).isEqualTo(expected.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Runs are reproducible and depend on the seed")
+    void seedDeterminesRun() {
+        var first = evolve(start, ProbabilisticRule.of(GameRules.conway(), 0.95, 0.95, 1L), GENERATIONS);
+        var again = evolve(start, ProbabilisticRule.of(GameRules.conway(), 0.95, 0.95, 1L), GENERATIONS);
+        var other = evolve(start, ProbabilisticRule.of(GameRules.conway(), 0.95, 0.95, 2L), GENERATIONS);
+
+        assertThat(first.countLiveCells()).isPositive();
+        assertThat(again).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+        assertThat(first.getGeneration()).isEqualTo(GENERATIONS);
+    }
+
+    @Test
+    @DisplayName("Certain births and survivals reproduce the base rule")
+    void certainProbabilitiesMatchBaseRule() {
+        var rule = ProbabilisticRule.of(GameRules.highLife(), 1.0, 1.0, 99L);
+
+        assertThat(evolve(start, rule, GENERATIONS)).isEqualTo(evolve(start, GameRules.highLife(), GENERATIONS));
+    }
+
+    @Test
+    @DisplayName("Survival probability thins a still life at about the expected rate")
+    void survivalRate() {
+        var full = new Grid(200, 200);
+        for (int row = 0; row < 200; row += 4) {
+            for (int col = 0; col < 200; col += 4) {
+                full.setCellState(Cell.of(row, col), CellState.ALIVE);
+                full.setCellState(Cell.of(row, col + 1), CellState.ALIVE);
+                full.setCellState(Cell.of(row + 1, col), CellState.ALIVE);
+                full.setCellState(Cell.of(row + 1, col + 1), CellState.ALIVE);
+            }
+        }
+
+        var next = full.evolveWith(ProbabilisticRule.of(GameRules.conway(), 0.25, 1.0, 5L));
+
+        // Every block cell survives under the base rule, so about a quarter remain
+        assertThat(next.countLiveCells()).isBetween(full.countLiveCells() / 4 - 400, full.countLiveCells() / 4 + 400);
+    }
+
+    @Test
+    @DisplayName("Engines without probabilistic support reject the rule")
+    void unsupportedEnginesReject() {
+        var rule = ProbabilisticRule.of(GameRules.conway(), 0.5, 0.5, 0L);
+
+        assertThatThrownBy(() -> IncrementalUniverse.from(start, rule)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SparseUniverse.from(start).evolveWith(rule)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProbabilisticRule.of(GameRules.conway(), 1.5, 0.5, 0L))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Cells are decided by position; plain calls keep certain outcomes")
+    void coordinatesDecideCells() {
+        var rule = ProbabilisticRule.of(GameRules.conway(), 0.5, 0.5, 3L);
+        var certain = ProbabilisticRule.of(GameRules.conway(), 1.0, 0.0, 3L);
+
+        for (int col = 0; col < 100; col++) {
+            assertThat(rule.next(7, 4, col, CellState.DEAD, 3)).isEqualTo(rule.next(7, 4, col, CellState.DEAD, 3));
+            assertThat(rule.next(7, 4, col, CellState.ALIVE, 4)).isEqualTo(CellState.DEAD);
+            assertThat(certain.apply(CellState.ALIVE, 2)).isEqualTo(CellState.ALIVE);
+            assertThat(certain.apply(CellState.DEAD, 3)).isEqualTo(CellState.DEAD);
+        }
+    }
+}
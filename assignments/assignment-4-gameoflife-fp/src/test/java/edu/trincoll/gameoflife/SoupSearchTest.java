@@ -0,0 +1,95 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SoupSearchTest {
+
+    private final SoupSearch search = new SoupSearch(GameRules.conway(), 8, 0.5, 200, 8);
+
+    @Test
+    @DisplayName("Every soup lands in exactly one census bucket")
+    void censusAddsUp() throws InterruptedException, ExecutionException {
+        var census = search.run(0, 150);
+
+        assertThat(census.soups()).isEqualTo(150);
+        assertThat(census.died() + census.stillLifes() + census.oscillators()
+            + census.spaceships() + census.unsettled()).isEqualTo(150);
+        assertThat(census.stillLifes()).isPositive();
+        assertThat(census.oscillatorsByPeriod()).containsKey(2);
+    }
+
+    @Test
+    @DisplayName("The same seeds give the same census regardless of scheduling")
+    void deterministicSeeds() throws InterruptedException, ExecutionException {
+        var parallel = search.run(1_000, 60);
+        var sequential = new SoupSearch(GameRules.conway(), 8, 0.5, 200, 1).run(1_000, 60);
+
+        assertThat(parallel.toString()).isEqualTo(sequential.toString());
+        assertThat(search.soup(42)).isEqualTo(search.soup(42));
+    }
+
+    @Test
+    @DisplayName("Reports progress up to the total")
+    void reportsProgress() throws InterruptedException, ExecutionException {
+        var last = new AtomicLong();
+
+        search.start(0, 50, (completed, total) -> last.accumulateAndGet(completed, Math::max)).join();
+
+        assertThat(last.get()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Cancelling stops handing out seeds")
+    void cancellation() throws InterruptedException, ExecutionException {
+        var handle = search.start(0, 1_000_000, (completed, total) -> { });
+        while (handle.completed() < 10) {
+            Thread.sleep(1);
+        }
+
+        handle.cancel();
+        var census = handle.join();
+
+        assertThat(handle.isCancelled()).isTrue();
+        assertThat(handle.isDone()).isTrue();
+        assertThat(census.soups()).isBetween(10L, 999_999L);
+    }
+
+    @Test
+    @DisplayName("Soups settling after the budget stay out of the mean transient")
+    void lateCyclesHaveNoTransient() {
+        var census = new SoupCensus();
+
+        census.recordCycle(10, 1);
+        census.recordDied(20);
+        census.recordLateCycle(2);
+
+        assertThat(census.soups()).isEqualTo(3);
+        assertThat(census.stillLifes()).isEqualTo(1);
+        assertThat(census.oscillatorsByPeriod()).containsEntry(2, 1L);
+        assertThat(census.lateSettled()).isEqualTo(1);
+        assertThat(census.meanTransient()).isEqualTo(15.0);
+    }
+
+    @Test
+    @DisplayName("A failing listener stops the search and is rethrown")
+    void propagatesFailure() {
+        var handle = search.start(0, 1_000, (completed, total) -> {
+            throw new IllegalStateException("listener broke");
+        });
+
+        assertThatThrownBy(handle::join)
+            .isInstanceOf(ExecutionException.class)
+            .cause()
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("listener broke");
+        assertThat(handle.isCancelled()).isTrue();
+        assertThat(handle.completed()).isLessThan(1_000);
+    }
+}
@@ -0,0 +1,70 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SparseUniverseTest {
+
+    @Test
+    @DisplayName("Matches Grid evolution away from the edges")
+    void matchesGrid() {
+        var soup = GridTest.randomGrid(20, 20, 0.4, 21L);
+        var board = new Grid(200, 200);
+        soup.getLiveCells().forEach(cell -> board.setCellState(cell.translate(90, 90), CellState.ALIVE));
+
+        var grid = board;
+        var universe = SparseUniverse.from(board);
+        for (int generation = 0; generation < 40; generation++) {
+            grid = grid.evolveWith(GameRules.conway());
+            universe = universe.evolveWith(GameRules.conway());
+
+            assertThat(universe.countLiveCells()).isEqualTo(grid.countLiveCells());
+        }
+        assertThat(universe.toGrid(0, 0, 200, 200)).isEqualTo(grid);
+    }
+
+    @Test
+    @DisplayName("Gliders keep flying past where a Grid edge would be")
+    void gliderSurvivesLeavingTheOrigin() {
+        var universe = SparseUniverse.from(Pattern.GLIDER);
+
+        for (int generation = 0; generation < 400; generation++) {
+            universe = universe.evolveWith(GameRules.conway());
+        }
+
+        assertThat(universe.countLiveCells()).isEqualTo(5);
+        var box = universe.boundingBox().orElseThrow();
+        assertThat(box.minRow()).isEqualTo(100);
+        assertThat(box.minCol()).isEqualTo(100);
+        assertThat(universe.toGrid(100, 100, 3, 3)).isEqualTo(Pattern.GLIDER.toGrid());
+    }
+
+    @Test
+    @DisplayName("Cells at negative coordinates are supported")
+    void negativeCoordinates() {
+        var universe = new SparseUniverse();
+        universe.setCellState(Cell.of(-1, -1), CellState.ALIVE);
+        universe.setCellState(Cell.of(-1, 0), CellState.ALIVE);
+        universe.setCellState(Cell.of(-1, 1), CellState.ALIVE);
+
+        var next = universe.evolveWith(GameRules.conway());
+
+        assertThat(next.getLiveCells()).containsExactlyInAnyOrder(Cell.of(-2, 0), Cell.of(-1, 0), Cell.of(0, 0));
+        assertThat(next.evolveWith(GameRules.conway())).isEqualTo(universe);
+        assertThat(universe.toString()).isEqualTo("***");
+    }
+
+    @Test
+    @DisplayName("Survival on zero neighbors keeps isolated cells alive")
+    void survivalOnZero() {
+        var universe = new SparseUniverse();
+        universe.setCellState(Cell.of(5, 5), CellState.ALIVE);
+
+        var next = universe.evolveWith(LifeRule.parse("B3/S0"));
+
+        assertThat(next.getCellState(5, 5)).isEqualTo(CellState.ALIVE);
+        assertThat(next.countLiveCells()).isEqualTo(1);
+    }
+}
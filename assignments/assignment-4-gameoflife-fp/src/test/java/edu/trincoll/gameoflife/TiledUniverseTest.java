@@ -0,0 +1,87 @@
+package edu.trincoll.gameoflife;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TiledUniverseTest {
+
+    private static final GameRules CONWAY = GameRules.conway();
+
+    @Test
+    @DisplayName("Matches the sparse engine across tile borders")
+    void matchesSparseUniverse() {
+        var soup = GridTest.randomGrid(150, 200, 0.35, 77L);
+        var sparse = SparseUniverse.from(soup);
+        var tiled = TiledUniverse.from(soup, CONWAY);
+
+        for (int generation = 0; generation < 200; generation++) {
+            sparse = sparse.evolveWith(CONWAY);
+            tiled.step();
+        }
+
+        assertThat(tiled.toSparseUniverse()).isEqualTo(sparse);
+        assertThat(tiled.countLiveCells()).isEqualTo(sparse.countLiveCells());
+        assertThat(tiled.getGeneration()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Parallel tile tasks give the same result as sequential steps")
+    void parallelMatchesSequential() {
+        var soup = GridTest.randomGrid(300, 300, 0.3, 3L);
+        var sequential = TiledUniverse.from(soup, CONWAY);
+        var parallel = TiledUniverse.from(soup, CONWAY);
+        var evolver = new ParallelEvolution(ForkJoinPool.commonPool(), ParallelEvolution.DEFAULT_THRESHOLD);
+
+        for (int generation = 0; generation < 50; generation++) {
+            sequential.step();
+            evolver.evolveParallel(parallel);
+        }
+
+        assertThat(parallel.toSparseUniverse()).isEqualTo(sequential.toSparseUniverse());
+    }
+
+    @Test
+    @DisplayName("Tiles around a settled still life are skipped")
+    void settledTilesAreSkipped() {
+        var universe = TiledUniverse.from(Pattern.BLOCK, CONWAY);
+
+        universe.step();
+        universe.step();
+
+        assertThat(universe.lastSteppedTiles()).isZero();
+        assertThat(universe.countLiveCells()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Tiles are allocated on demand and freed when empty")
+    void tilesFollowGlider() {
+        var universe = TiledUniverse.from(Pattern.GLIDER, CONWAY);
+        assertThat(universe.tileCount()).isEqualTo(1);
+
+        universe.step(4 * 70);
+
+        assertThat(universe.countLiveCells()).isEqualTo(5);
+        assertThat(universe.getCellState(70, 71)).isEqualTo(CellState.ALIVE);
+        assertThat(universe.tileCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Negative coordinates map to their own tiles")
+    void negativeCoordinates() {
+        var universe = TiledUniverse.from(new SparseUniverse(), CONWAY);
+        universe.setCellState(Cell.of(-1, -2), CellState.ALIVE);
+        universe.setCellState(Cell.of(-1, -1), CellState.ALIVE);
+        universe.setCellState(Cell.of(-1, 0), CellState.ALIVE);
+
+        universe.step();
+
+        assertThat(universe.getCellState(-2, -1)).isEqualTo(CellState.ALIVE);
+        assertThat(universe.getCellState(0, -1)).isEqualTo(CellState.ALIVE);
+        assertThat(universe.getCellState(-1, -2)).isEqualTo(CellState.DEAD);
+        assertThat(universe.tileCount()).isEqualTo(2);
+    }
+}